@@ -0,0 +1,265 @@
+// ## Prompt: ReservationAdmission
+// Admission control for the reservation endpoints, applied before any transaction or JPA work starts.
+
+// Requirements:
+// - Annotate with `@Component`; disabled with `inventory.admission.enabled=false`.
+// - One `TokenBucket` per `storeId` and one per principal; a request needs a token from both.
+// - Limits come from tiers `inventory.admission.tiers` (`name=ratePerSecond/burst,...`). Stores and principals are
+//   mapped with `store-tiers` / `principal-tiers` (`key=tier,...`), otherwise `default-store-tier` /
+//   `default-principal-tier`. Buckets live in a bounded Caffeine cache that forgets idle keys.
+// - Global shedding: at most `max-concurrent` admitted requests in flight, and none while more than
+//   `max-pool-waiters` threads already wait for a connection of the Hikari pool.
+// - `Permit admit(String storeId, int permits)` / `admit(Map<String, Integer> permitsByStore)` → throws `AdmissionRejectedException` (429 for rate, 503 for
+//   shedding) with the seconds until a retry can succeed; the `Permit` is closed when the request finishes.
+// - Metrics: `inventory_admission_rejected_total{reason}`, gauge `inventory_admission_in_flight`.
+
+// ## Prompt: No-op permit when disabled
+// - With `inventory.admission.enabled=false`, `admit` returns a `Permit` that is not counted in flight instead of
+//   null, so callers close it unconditionally.
+package com.meli.inventory.command.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meli.inventory.command.exception.AdmissionRejectedException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+@Component
+public class ReservationAdmission {
+
+    public enum Reason { STORE_RATE, PRINCIPAL_RATE, CONCURRENCY, POOL_SATURATED }
+
+    record Limit(double ratePerSecond, int burst) {
+    }
+
+    /** Released when the admitted request completes; closing it twice is harmless. */
+    public final class Permit implements AutoCloseable {
+        private final boolean counted;
+        private boolean closed;
+
+        private Permit(boolean counted) {
+            this.counted = counted;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (counted) {
+                    inFlight.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static final String ANONYMOUS = "anonymous";
+    private static final long SHED_RETRY_AFTER_SECONDS = 1;
+
+    private final boolean enabled;
+    private final Map<String, Limit> tiers;
+    private final Map<String, String> storeTiers;
+    private final Map<String, String> principalTiers;
+    private final Limit defaultStoreLimit;
+    private final Limit defaultPrincipalLimit;
+    private final int maxConcurrent;
+    private final int maxPoolWaiters;
+    private final ObjectProvider<DataSource> dataSources;
+    private final LongSupplier clock;
+
+    private final Cache<String, TokenBucket> storeBuckets;
+    private final Cache<String, TokenBucket> principalBuckets;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Reason, Counter> rejected = new EnumMap<>(Reason.class);
+    private volatile HikariPoolMXBean pool;
+
+    @Autowired
+    public ReservationAdmission(ObjectProvider<DataSource> dataSources,
+                                MeterRegistry meterRegistry,
+                                @Value("${inventory.admission.enabled:true}") boolean enabled,
+                                @Value("${inventory.admission.tiers:standard=20/40,premium=100/200,client=500/1000}") String tiers,
+                                @Value("${inventory.admission.default-store-tier:standard}") String defaultStoreTier,
+                                @Value("${inventory.admission.default-principal-tier:client}") String defaultPrincipalTier,
+                                @Value("${inventory.admission.store-tiers:}") String storeTiers,
+                                @Value("${inventory.admission.principal-tiers:}") String principalTiers,
+                                @Value("${inventory.admission.max-concurrent:64}") int maxConcurrent,
+                                @Value("${inventory.admission.max-pool-waiters:8}") int maxPoolWaiters) {
+        this(dataSources, meterRegistry, enabled, tiers, defaultStoreTier, defaultPrincipalTier, storeTiers,
+                principalTiers, maxConcurrent, maxPoolWaiters, System::nanoTime);
+    }
+
+    ReservationAdmission(ObjectProvider<DataSource> dataSources, MeterRegistry meterRegistry, boolean enabled,
+                         String tiers, String defaultStoreTier, String defaultPrincipalTier, String storeTiers,
+                         String principalTiers, int maxConcurrent, int maxPoolWaiters, LongSupplier clock) {
+        this.dataSources = dataSources;
+        this.enabled = enabled;
+        this.tiers = new HashMap<>();
+        parsePairs(tiers).forEach((name, limit) -> this.tiers.put(name, parseLimit(name, limit)));
+        this.storeTiers = parsePairs(storeTiers);
+        this.principalTiers = parsePairs(principalTiers);
+        this.defaultStoreLimit = tier(defaultStoreTier);
+        this.defaultPrincipalLimit = tier(defaultPrincipalTier);
+        this.storeTiers.values().forEach(this::tier);
+        this.principalTiers.values().forEach(this::tier);
+        this.maxConcurrent = maxConcurrent;
+        this.maxPoolWaiters = maxPoolWaiters;
+        this.clock = clock;
+        // idle keys are forgotten; a forgotten bucket comes back full, which an idle key would have reached anyway
+        this.storeBuckets = Caffeine.newBuilder().maximumSize(100_000).expireAfterAccess(Duration.ofMinutes(10)).build();
+        this.principalBuckets = Caffeine.newBuilder().maximumSize(10_000).expireAfterAccess(Duration.ofMinutes(10)).build();
+        for (Reason reason : Reason.values()) {
+            rejected.put(reason, meterRegistry.counter("inventory_admission_rejected_total",
+                    "reason", reason.name().toLowerCase()));
+        }
+        meterRegistry.gauge("inventory_admission_in_flight", inFlight);
+    }
+
+    /** 🚦 Admite la petición o la rechaza rápido (429 por tasa, 503 por saturación) antes de tocar la BD **/
+    public Permit admit(String storeId, int permits) {
+        return admit(storeId == null ? Map.of() : Map.of(storeId, permits), permits);
+    }
+
+    /** Admits a batch: the principal pays for every reservation, each store for its own. */
+    public Permit admit(Map<String, Integer> permitsByStore) {
+        int total = permitsByStore.values().stream().mapToInt(Integer::intValue).sum();
+        return admit(permitsByStore, total);
+    }
+
+    private Permit admit(Map<String, Integer> permitsByStore, int permits) {
+        if (!enabled) {
+            return new Permit(false);
+        }
+        int concurrent = inFlight.incrementAndGet();
+        Permit permit = new Permit(true);
+        Map<TokenBucket, Integer> taken = new HashMap<>();
+        try {
+            if (maxConcurrent > 0 && concurrent > maxConcurrent) {
+                throw reject(Reason.CONCURRENCY, TimeUnit.SECONDS.toNanos(SHED_RETRY_AFTER_SECONDS));
+            }
+            if (poolSaturated()) {
+                throw reject(Reason.POOL_SATURATED, TimeUnit.SECONDS.toNanos(SHED_RETRY_AFTER_SECONDS));
+            }
+            long now = clock.getAsLong();
+            TokenBucket principalBucket = principalBuckets.get(principal(), key ->
+                    bucket(limitOf(principalTiers, key, defaultPrincipalLimit), now));
+            take(principalBucket, permits, now, Reason.PRINCIPAL_RATE, taken);
+            for (Map.Entry<String, Integer> store : permitsByStore.entrySet()) {
+                TokenBucket storeBucket = storeBuckets.get(store.getKey(), key ->
+                        bucket(limitOf(storeTiers, key, defaultStoreLimit), now));
+                take(storeBucket, store.getValue(), now, Reason.STORE_RATE, taken);
+            }
+            return permit;
+        } catch (AdmissionRejectedException e) {
+            taken.forEach(TokenBucket::refund);
+            permit.close();
+            throw e;
+        }
+    }
+
+    private void take(TokenBucket bucket, int permits, long now, Reason reason, Map<TokenBucket, Integer> taken) {
+        // a batch larger than the burst drains the bucket instead of being unadmittable forever
+        int cost = Math.min(permits, bucket.burst());
+        long wait = bucket.tryAcquire(cost, now);
+        if (wait > 0) {
+            throw reject(reason, wait);
+        }
+        taken.put(bucket, cost);
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private boolean poolSaturated() {
+        if (maxPoolWaiters <= 0) {
+            return false;
+        }
+        HikariPoolMXBean current = pool;
+        if (current == null) {
+            current = resolvePool();
+        }
+        return current != null && current.getThreadsAwaitingConnection() > maxPoolWaiters;
+    }
+
+    private HikariPoolMXBean resolvePool() {
+        DataSource dataSource = dataSources.getIfAvailable();
+        try {
+            // the primary pool; the proxies around it (timing, read/write routing) unwrap to it
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (SQLException e) {
+            return null;
+        }
+        return pool;
+    }
+
+    private AdmissionRejectedException reject(Reason reason, long waitNanos) {
+        rejected.get(reason).increment();
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        return new AdmissionRejectedException(reason, seconds);
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? ANONYMOUS : authentication.getName();
+    }
+
+    private static TokenBucket bucket(Limit limit, long now) {
+        return new TokenBucket(limit.ratePerSecond(), limit.burst(), now);
+    }
+
+    private Limit limitOf(Map<String, String> assignments, String key, Limit fallback) {
+        String tier = assignments.get(key);
+        return tier == null ? fallback : tiers.get(tier);
+    }
+
+    private Limit tier(String name) {
+        Limit limit = tiers.get(name);
+        if (limit == null) {
+            throw new IllegalArgumentException("Unknown admission tier: " + name);
+        }
+        return limit;
+    }
+
+    private static Limit parseLimit(String name, String value) {
+        int separator = value.indexOf('/');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Expected ratePerSecond/burst for admission tier " + name);
+        }
+        return new Limit(Double.parseDouble(value.substring(0, separator).trim()),
+                Integer.parseInt(value.substring(separator + 1).trim()));
+    }
+
+    private static Map<String, String> parsePairs(String value) {
+        Map<String, String> pairs = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return pairs;
+        }
+        for (String entry : value.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value in admission config: " + entry);
+            }
+            pairs.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        return pairs;
+    }
+}
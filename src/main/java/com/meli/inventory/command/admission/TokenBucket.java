@@ -0,0 +1,47 @@
+// ## Prompt: TokenBucket
+// Lock-free token bucket for admission control.
+
+// Requirements:
+// - Keep the whole bucket in one `AtomicLong`: the theoretical arrival time of the next token (GCRA form), so
+//   acquiring is a single CAS loop with no lock and no separate refill task.
+// - `long tryAcquire(int permits, long nowNanos)` → 0 when admitted, otherwise the nanos until it would be.
+// - `void refund(int permits)` → give back tokens taken for a request that was rejected by a later check.
+package com.meli.inventory.command.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    long tryAcquire(int permits, long nowNanos) {
+        long cost = intervalNanos * permits;
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + cost;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    void refund(int permits) {
+        theoreticalArrival.addAndGet(-intervalNanos * permits);
+    }
+
+    int burst() {
+        return (int) (burstNanos / intervalNanos);
+    }
+}
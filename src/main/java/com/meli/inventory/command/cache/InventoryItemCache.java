@@ -0,0 +1,89 @@
+// ## Prompt: InventoryItemCache
+// Create a bounded write-side cache of `InventoryItem` state keyed by SKU.
+
+// Requirements:
+// - Annotate with `@Component`; back it with Caffeine (W-TinyLFU eviction), `max-size` entries.
+// - Cache immutable `CachedItem` snapshots, never managed entities.
+// - `Optional<CachedItem> get(String sku, Function<String, Optional<InventoryItem>> loader)` → load on miss;
+//   unknown SKUs are not cached.
+// - `void refreshAfterCommit(InventoryItem item)` → once the surrounding transaction commits, store the item's state
+//   unless the cache already holds a higher `@Version`; on rollback drop the entry. Without a transaction apply now.
+// - `void invalidate(String sku)` for writers that bypass JPA.
+// - Expose hit ratio and evictions through `CaffeineCacheMetrics` as cache `inventory_items`.
+package com.meli.inventory.command.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meli.inventory.model.entities.InventoryItem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class InventoryItemCache {
+
+    public record CachedItem(Long id, String sku, String name, int quantity, Long version) {
+        static CachedItem from(InventoryItem item) {
+            return new CachedItem(item.getId(), item.getSku(), item.getName(), item.getQuantity(), item.getVersion());
+        }
+
+        boolean isNewerThan(CachedItem other) {
+            return other == null || other.version() == null || (version != null && version >= other.version());
+        }
+    }
+
+    private final Cache<String, CachedItem> cache;
+
+    public InventoryItemCache(MeterRegistry meterRegistry,
+                              @Value("${inventory.cache.items.max-size:10000}") long maxSize,
+                              @Value("${inventory.cache.items.expire-after-write-ms:600000}") long expireAfterWriteMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // safety net for writes that reach the table without going through this service
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "inventory_items");
+    }
+
+    public Optional<CachedItem> get(String sku, Function<String, Optional<InventoryItem>> loader) {
+        return Optional.ofNullable(cache.get(sku, key -> loader.apply(key).map(CachedItem::from).orElse(null)));
+    }
+
+    public void refreshAfterCommit(InventoryItem item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(item);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // the version was bumped by the flush, so read it only now
+                refresh(item);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    invalidate(item.getSku());
+                }
+            }
+        });
+    }
+
+    public void invalidate(String sku) {
+        cache.invalidate(sku);
+    }
+
+    private void refresh(InventoryItem item) {
+        CachedItem next = CachedItem.from(item);
+        cache.asMap().compute(item.getSku(), (sku, current) -> next.isNewerThan(current) ? next : current);
+    }
+}
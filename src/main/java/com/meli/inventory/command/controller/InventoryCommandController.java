@@ -0,0 +1,65 @@
+// ## Prompt: InventoryCommandController
+// Create a REST controller for stock commands that are not reservations.
+
+// Requirements:
+// - Annotate with `@RestController` and `@RequestMapping("/api/v1/inventory")`.
+// - Inject `InventoryService`.
+// - Endpoints:
+//   - `POST /{sku}/stores/{storeId}/allocation` → move `quantity` units of central stock into the store's partition.
+//   - `POST /import` → stream a CSV (`text/csv`) or NDJSON (`application/x-ndjson`) stock feed through
+//     `StockImportService` and return its `StockImportReport`.
+// - Return `ResponseEntity` with appropriate HTTP status; stock errors go through `GlobalExceptionHandler`.
+
+// ## Prompt: Escrow stock leases
+// - `GET /{sku}/escrow` → central stock and the lease held by each node (plus this node's in-memory remainder),
+//   to check from any instance that leased stock never exceeds real stock.
+package com.meli.inventory.command.controller;
+
+import com.meli.inventory.command.model.StockImportReport;
+import com.meli.inventory.command.service.InventoryService;
+import com.meli.inventory.command.service.StockEscrow;
+import com.meli.inventory.command.service.StockImportService;
+import com.meli.inventory.model.requests.AllocationRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+@RestController
+@RequestMapping("/api/v1/inventory")
+public class InventoryCommandController {
+    private final InventoryService inventoryService;
+    private final StockImportService stockImportService;
+    private final StockEscrow stockEscrow;
+
+    @Autowired
+    public InventoryCommandController(InventoryService inventoryService, StockImportService stockImportService,
+                                      StockEscrow stockEscrow) {
+        this.inventoryService = inventoryService;
+        this.stockImportService = stockImportService;
+        this.stockEscrow = stockEscrow;
+    }
+
+    @PostMapping("/{sku}/stores/{storeId}/allocation")
+    public ResponseEntity<Void> allocateToStore(@PathVariable String sku, @PathVariable String storeId,
+                                                @Valid @RequestBody AllocationRequest request) {
+        inventoryService.allocateToStore(sku, storeId, request.getQuantity());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<StockImportReport> importStock(@RequestHeader("Content-Type") String contentType,
+                                                         InputStream body) throws IOException {
+        StockImportService.Format format = contentType.startsWith("text/csv")
+                ? StockImportService.Format.CSV
+                : StockImportService.Format.NDJSON;
+        return ResponseEntity.ok(stockImportService.importStock(body, format));
+    }
+
+    @GetMapping("/{sku}/escrow")
+    public ResponseEntity<StockEscrow.EscrowStatus> escrowStatus(@PathVariable String sku) {
+        return ResponseEntity.ok(stockEscrow.status(sku));
+    }
+}
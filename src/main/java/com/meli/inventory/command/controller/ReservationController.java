@@ -10,46 +10,96 @@
 //   - `POST /{id}/cancel` → cancel reservation
 // - Return `ResponseEntity` with appropriate HTTP status.
 // - Handle exceptions with `@ExceptionHandler` methods.
+
+// ## Prompt: Batched reservation inserts
+// - `POST /batch` → create up to 500 reservations in one transaction (accepts `{"reservations": [...]}`).
+
+// ## Prompt: Reservation admission control
+// - Every endpoint asks `ReservationAdmission` for a permit before calling the service, so over-limit requests are
+//   rejected (429 / 503 with `Retry-After`) before any transaction starts. Batches cost one token per reservation.
+
+// ## Prompt: Non-blocking reservation API
+// - `POST /` returns `CompletableFuture<ResponseEntity<Reservation>>` from `AsyncReservationService`, so the servlet
+//   thread is released while the write waits on the write executor. The admission permit is held until the future
+//   completes, so `max-concurrent` still bounds queued plus running writes.
 package com.meli.inventory.command.controller;
 
+import com.meli.inventory.command.admission.ReservationAdmission;
+import com.meli.inventory.command.service.AsyncReservationService;
 import com.meli.inventory.command.service.ReservationService;
 import com.meli.inventory.model.entities.Reservation;
+import com.meli.inventory.model.requests.BatchReservationRequest;
 import com.meli.inventory.model.requests.ReservationRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api/v1/reservations")
 public class ReservationController {
     private final ReservationService reservationService;
+    private final AsyncReservationService asyncReservationService;
+    private final ReservationAdmission admission;
 
     @Autowired
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService,
+                                 AsyncReservationService asyncReservationService,
+                                 ReservationAdmission admission) {
         this.reservationService = reservationService;
+        this.asyncReservationService = asyncReservationService;
+        this.admission = admission;
     }
 
     @PostMapping
-    public ResponseEntity<Reservation> createReservation(
+    public CompletableFuture<ResponseEntity<Reservation>> createReservation(
             @Valid @RequestBody ReservationRequest request) {
 
-        Reservation reservation = reservationService.createReservation(
-                request.getSku(), request.getQuantity(), request.getStoreId());
-        return new ResponseEntity<>(reservation, HttpStatus.CREATED);
+        ReservationAdmission.Permit permit = admission.admit(request.getStoreId(), 1);
+        CompletableFuture<Reservation> reservation;
+        try {
+            reservation = asyncReservationService.createReservation(
+                    request.getSku(), request.getQuantity(), request.getStoreId());
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        return reservation
+                .whenComplete((created, error) -> permit.close())
+                .thenApply(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<Reservation>> createReservations(
+            @Valid @RequestBody BatchReservationRequest request) {
+
+        Map<String, Integer> permitsByStore = request.getReservations().stream()
+                .collect(Collectors.toMap(ReservationRequest::getStoreId, r -> 1, Integer::sum));
+        try (ReservationAdmission.Permit permit = admission.admit(permitsByStore)) {
+            List<Reservation> reservations = reservationService.createReservations(request.getReservations());
+            return new ResponseEntity<>(reservations, HttpStatus.CREATED);
+        }
+    }
 
 
     @PostMapping("/{id}/confirm")
     public ResponseEntity<Reservation> confirmReservation(@PathVariable Long id) {
-        Reservation reservation = reservationService.confirmReservation(id);
-        return new ResponseEntity<>(reservation, HttpStatus.OK);
+        try (ReservationAdmission.Permit permit = admission.admit(null, 1)) {
+            Reservation reservation = reservationService.confirmReservation(id);
+            return new ResponseEntity<>(reservation, HttpStatus.OK);
+        }
     }
 
     @PostMapping("/{id}/cancel")
     public ResponseEntity<Reservation> cancelReservation(@PathVariable Long id) {
-        Reservation reservation = reservationService.cancelReservation(id);
-        return new ResponseEntity<>(reservation, HttpStatus.OK);
+        try (ReservationAdmission.Permit permit = admission.admit(null, 1)) {
+            Reservation reservation = reservationService.cancelReservation(id);
+            return new ResponseEntity<>(reservation, HttpStatus.OK);
+        }
     }
 }
@@ -0,0 +1,24 @@
+// ## Prompt: Custom Exceptions
+// Create custom exception:
+// 1. `AdmissionRejectedException` extending `RuntimeException`, carrying the rejection reason and the seconds
+//    after which the client may retry (`Retry-After`).
+package com.meli.inventory.command.exception;
+
+import com.meli.inventory.command.admission.ReservationAdmission.Reason;
+import lombok.Getter;
+
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+    private final Reason reason;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(Reason reason, long retryAfterSeconds) {
+        super("Request rejected: " + reason.name().toLowerCase());
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public boolean isRateLimited() {
+        return reason == Reason.STORE_RATE || reason == Reason.PRINCIPAL_RATE;
+    }
+}
@@ -0,0 +1,14 @@
+// ## Prompt: Custom Exceptions
+// Create custom exception:
+// - `ReservationTimeoutException` extending `RuntimeException`, thrown when an asynchronous reservation write does not
+//   finish within its timeout. A write that had already started may still commit (and later expire as PENDING).
+
+// ## Prompt: Time out queued writes only
+// - Only thrown for writes that never left the queue, so the reservation is never applied.
+package com.meli.inventory.command.exception;
+
+public class ReservationTimeoutException extends RuntimeException {
+    public ReservationTimeoutException(long timeoutMs) {
+        super("Reservation not completed within " + timeoutMs + " ms");
+    }
+}
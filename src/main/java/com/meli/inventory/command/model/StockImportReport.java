@@ -0,0 +1,28 @@
+// ## Prompt: StockImportReport
+// Create a model class `StockImportReport` returned by the bulk stock import.
+
+// Fields:
+// - rowsRead (long), rowsApplied (long), rowsRejected (long)
+// - rowsSuperseded (long) → rows replaced by a later row of the same SKU in the same chunk
+// - eventsPublished (long) → conflated `StockUpdatedEvent`s, at most one per SKU and chunk
+// - errors (List<RowError>) → first rejected rows with line number and reason, capped by `max-errors`
+// - errorsTruncated (boolean) → true when more rows were rejected than reported
+package com.meli.inventory.command.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+@Data
+public class StockImportReport {
+    private long rowsRead;
+    private long rowsApplied;
+    private long rowsRejected;
+    private long rowsSuperseded;
+    private long eventsPublished;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    public record RowError(long line, String message) {
+    }
+}
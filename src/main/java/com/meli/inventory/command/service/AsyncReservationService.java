@@ -0,0 +1,172 @@
+// ## Prompt: AsyncReservationService
+// Create a Spring service that runs reservation writes off the servlet request threads.
+// Requirements:
+// - Annotate with `@Service`; delegate to `ReservationService` so transactions and events are unchanged.
+// - `CompletableFuture<Reservation> createReservation(String sku, int quantity, String storeId)` → run on a dedicated
+//   write executor: `threads` workers (sized to the primary connection pool) and a bounded queue of `queue-capacity`.
+// - A full queue fails the future with `AdmissionRejectedException(CONCURRENCY)` (503) instead of blocking the caller.
+// - Every request gets `timeout-ms` to leave the queue: a write still queued at its deadline fails with
+//   `ReservationTimeoutException` (503) and is never applied.
+// - With `enabled: false` the write runs on the calling thread (the previous blocking behaviour).
+// - Expose the executor through Micrometer `ExecutorServiceMetrics` as `reservation_writer`.
+
+// ## Prompt: Time out queued writes only
+// - `timeout-ms` only applies while a write is queued: at its deadline a write that has not started is removed from
+//   the executor queue and the future fails with `ReservationTimeoutException` (503 + `Retry-After`).
+// - A write that has started is never timed out: it runs to completion and the client gets its real outcome, so a
+//   503 never hides a reservation that committed afterwards. Its duration is bounded by the transaction and lock
+//   timeouts instead.
+// - The worker and the deadline claim a write exactly once; writes dropped at shutdown fail the same way.
+//
+// ## Prompt: Count writer statements per request
+// - A queued write captures the caller's `StatementMetrics` request counter and runs the reservation inside
+//   `countInto`, so `inventory_db_statements_per_request` includes the statements executed by the writer thread.
+package com.meli.inventory.command.service;
+
+import com.meli.inventory.command.admission.ReservationAdmission.Reason;
+import com.meli.inventory.command.exception.AdmissionRejectedException;
+import com.meli.inventory.command.exception.ReservationTimeoutException;
+import com.meli.inventory.model.entities.Reservation;
+import com.meli.inventory.observability.StatementMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class AsyncReservationService {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncReservationService.class);
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final ReservationService reservationService;
+    private final StatementMetrics statementMetrics;
+    private final boolean enabled;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor writers;
+    private final ScheduledThreadPoolExecutor deadlines;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public AsyncReservationService(ReservationService reservationService,
+                                   StatementMetrics statementMetrics,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${inventory.reservations.async.enabled:true}") boolean enabled,
+                                   @Value("${inventory.reservations.async.threads:10}") int threads,
+                                   @Value("${inventory.reservations.async.queue-capacity:200}") int queueCapacity,
+                                   @Value("${inventory.reservations.async.timeout-ms:2000}") long timeoutMs) {
+        this.reservationService = reservationService;
+        this.statementMetrics = statementMetrics;
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+        this.writers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("reservation-writer-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Bound rather than wrapped, so a queued write can still be removed from the queue by identity
+        new ExecutorServiceMetrics(writers, "reservation_writer", Tags.empty()).bindTo(meterRegistry);
+        this.deadlines = new ScheduledThreadPoolExecutor(1, daemonThreads("reservation-writer-deadline-"));
+        this.deadlines.setRemoveOnCancelPolicy(true);
+        this.rejected = meterRegistry.counter("inventory_reservation_writer_rejected_total");
+        this.timedOut = meterRegistry.counter("inventory_reservation_writer_timeouts_total");
+    }
+
+    /** ⏳ Encola la reserva en el executor de escritura; solo expira mientras sigue en cola **/
+    public CompletableFuture<Reservation> createReservation(String sku, int quantity, String storeId) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(reservationService.createReservation(sku, quantity, storeId));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        QueuedWrite write = new QueuedWrite(sku, quantity, storeId);
+        write.deadline = deadlines.schedule(write::expire, timeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            writers.execute(write);
+        } catch (RejectedExecutionException e) {
+            write.deadline.cancel(false);
+            rejected.increment();
+            return CompletableFuture.failedFuture(new AdmissionRejectedException(Reason.CONCURRENCY, RETRY_AFTER_SECONDS));
+        }
+        return write.result;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writers.shutdown();
+        if (!writers.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+            List<Runnable> dropped = writers.shutdownNow();
+            dropped.forEach(runnable -> ((QueuedWrite) runnable).expire());
+            logger.warn("⚠️ Reservation writer stopped with {} queued writes dropped", dropped.size());
+        }
+        deadlines.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** Claimed once: by the writer that starts it, or by its deadline while it is still queued. */
+    private final class QueuedWrite implements Runnable {
+        private final String sku;
+        private final int quantity;
+        private final String storeId;
+        private final AtomicInteger requestStatements = statementMetrics.currentRequest();
+        private final CompletableFuture<Reservation> result = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile ScheduledFuture<?> deadline;
+
+        private QueuedWrite(String sku, int quantity, String storeId) {
+            this.sku = sku;
+            this.quantity = quantity;
+            this.storeId = storeId;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            ScheduledFuture<?> pending = deadline;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            try {
+                result.complete(statementMetrics.countInto(requestStatements,
+                        () -> reservationService.createReservation(sku, quantity, storeId)));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void expire() {
+            if (claimed.compareAndSet(false, true)) {
+                writers.remove(this);
+                timedOut.increment();
+                result.completeExceptionally(new ReservationTimeoutException(timeoutMs));
+            }
+        }
+    }
+}
@@ -18,13 +18,51 @@
 // - Do not duplicate the class or re-append code; modify the existing methods inline
 // - Keep current logic untouched except for adding metrics
 
+// ## Prompt: Store-partitioned stock
+// Spread write contention on hot SKUs across per-store rows:
+// - `InventoryItem.quantity` is the unallocated (central) stock; `StoreStock` rows hold stock allocated per store.
+//   The aggregated quantity published in `StockUpdatedEvent` is central + all store partitions.
+// - `int reserveStock(String sku, int amount, String storeId)` → decrement the store's own partition; when it is
+//   short, rebalance into it from the central stock and then from the fullest partitions. SKUs without any
+//   partition keep the single-row `decreaseStock` path.
+// - `int releaseStock(String sku, int amount, String storeId)` → give stock back to the store's partition (or central).
+// - `void allocateToStore(String sku, String storeId, int amount)` → move central stock into a store partition.
+// - Publish `StoreStockUpdatedEvent` for every partition that changes.
+
+// ## Prompt: Write-side item cache
+// - Keep the committed state of every saved `InventoryItem` in `InventoryItemCache` (refreshed after commit,
+//   version-aware) and read the central quantity from it in `getAggregatedQuantity`.
+// - Compute the aggregated quantity from the entity already loaded in the transaction instead of re-reading it.
+
+// ## Prompt: Stock ledger mode
+// - When `StockLedger` is enabled, every central-stock change (decrease, adjust, release, allocate, rebalance)
+//   is appended to the ledger instead of updating `InventoryItem.quantity`; store partitions are unchanged.
+
+// ## Prompt: Escrow stock leases
+// - Aggregated quantities also count stock escrowed to nodes (`sumAllocatedBySku`).
+
+// ## Prompt: Bounded-cardinality SKU metrics
+// - `inventory_updates_total` is tagged by `type` only; per-SKU activity goes to `HotSkuTracker` (fixed memory).
+
+// ## Prompt: Cached item lookups
+// - `Optional<CachedItem> findCachedBySku(String sku)` → read-only lookup served from `InventoryItemCache` (loaded
+//   on a miss). `findBySku` keeps returning the managed entity for callers that modify and save it, which the
+//   cache of immutable snapshots cannot provide.
+// - Read-only callers go through it: `getAggregatedQuantity` (confirm events) and the batch reservation pre-check.
+
 package com.meli.inventory.command.service;
 
+import com.meli.inventory.command.cache.InventoryItemCache;
 import com.meli.inventory.command.exception.NotEnoughStockException;
 import com.meli.inventory.events.EventBus;
 import com.meli.inventory.events.StockUpdatedEvent;
+import com.meli.inventory.events.StoreStockUpdatedEvent;
 import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.entities.StockLedgerEntry.EntryType;
+import com.meli.inventory.model.entities.StoreStock;
 import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.repositories.StoreStockRepository;
+import com.meli.inventory.observability.HotSkuTracker;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -35,41 +73,218 @@ import java.util.Optional;
 @Service
 public class InventoryService {
     private final InventoryRepository inventoryRepository;
+    private final StoreStockRepository storeStockRepository;
+    private final InventoryItemCache itemCache;
+    private final StockLedger stockLedger;
     private final EventBus eventBus;
     private final MeterRegistry meterRegistry;
+    private final HotSkuTracker hotSkus;
 
     @Autowired
-    public InventoryService(InventoryRepository inventoryRepository, EventBus eventBus, MeterRegistry meterRegistry) {
+    public InventoryService(InventoryRepository inventoryRepository, StoreStockRepository storeStockRepository,
+                            InventoryItemCache itemCache, StockLedger stockLedger, EventBus eventBus,
+                            MeterRegistry meterRegistry, HotSkuTracker hotSkus) {
         this.inventoryRepository = inventoryRepository;
+        this.storeStockRepository = storeStockRepository;
+        this.itemCache = itemCache;
+        this.stockLedger = stockLedger;
         this.eventBus = eventBus;
         this.meterRegistry = meterRegistry;
+        this.hotSkus = hotSkus;
     }
 
+    /** Managed entity, for callers that change it; read-only callers use {@link #findCachedBySku}. */
     public Optional<InventoryItem> findBySku(String sku) {
         return inventoryRepository.findBySku(sku);
     }
 
+    /** 🔎 Estado confirmado del item desde el cache de escritura; solo lectura **/
+    public Optional<InventoryItemCache.CachedItem> findCachedBySku(String sku) {
+        return itemCache.get(sku, inventoryRepository::findBySku);
+    }
+
     @Transactional
     public void decreaseStock(String sku, int amount) {
+        decreaseCentral(sku, amount);
+    }
+
+    @Transactional
+    public void adjustStock(String sku, int newQuantity) {
+        if (stockLedger.isEnabled()) {
+            int central = stockLedger.adjustTo(sku, newQuantity);
+            countUpdate("adjust", sku);
+            eventBus.publish(new StockUpdatedEvent(sku, central + (int) storeStockRepository.sumAllocatedBySku(sku)));
+            return;
+        }
         InventoryItem item = inventoryRepository.findBySku(sku)
                 .orElseThrow(() -> new NotEnoughStockException("Item with SKU " + sku + " not found."));
-        item.decreaseStock(amount);
+        item.setQuantity(newQuantity);
         inventoryRepository.save(item);
+        itemCache.refreshAfterCommit(item);
         
-        meterRegistry.counter("inventory_updates_total", "type", "decrease", "sku", sku).increment();
+        countUpdate("adjust", sku);
         
-        eventBus.publish(new StockUpdatedEvent(sku, item.getQuantity()));
+        eventBus.publish(new StockUpdatedEvent(sku, aggregatedQuantity(item)));
     }
 
     @Transactional
-    public void adjustStock(String sku, int newQuantity) {
+    public int reserveStock(String sku, int amount, String storeId) {
+        Optional<StoreStock> local = storeStockRepository.findBySkuAndStoreId(sku, storeId);
+        if (local.isEmpty() && !storeStockRepository.existsBySku(sku)) {
+            return decreaseCentral(sku, amount);
+        }
+
+        StoreStock partition = local.orElseGet(() -> new StoreStock(sku, storeId, 0));
+        InventoryItem central = null;
+        if (partition.getQuantity() < amount) {
+            central = rebalanceInto(partition, amount - partition.getQuantity());
+        }
+        partition.decreaseStock(amount);
+        storeStockRepository.save(partition);
+
+        countUpdate("store_decrease", sku);
+
+        int aggregated = central != null ? aggregatedQuantity(central) : getAggregatedQuantity(sku);
+        eventBus.publish(new StoreStockUpdatedEvent(sku, storeId, partition.getQuantity()));
+        eventBus.publish(new StockUpdatedEvent(sku, aggregated));
+        return aggregated;
+    }
+
+    @Transactional
+    public int releaseStock(String sku, int amount, String storeId) {
+        Optional<StoreStock> local = storeStockRepository.findBySkuAndStoreId(sku, storeId);
+        int aggregated;
+        if (local.isPresent()) {
+            StoreStock partition = local.get();
+            partition.increaseStock(amount);
+            storeStockRepository.save(partition);
+            eventBus.publish(new StoreStockUpdatedEvent(sku, storeId, partition.getQuantity()));
+            aggregated = getAggregatedQuantity(sku);
+        } else if (stockLedger.isEnabled()) {
+            aggregated = stockLedger.append(sku, amount, EntryType.RELEASE, storeId)
+                    + (int) storeStockRepository.sumAllocatedBySku(sku);
+        } else {
+            InventoryItem item = inventoryRepository.findBySku(sku)
+                    .orElseThrow(() -> new NotEnoughStockException("Item with SKU " + sku + " not found."));
+            item.setQuantity(item.getQuantity() + amount);
+            inventoryRepository.save(item);
+            itemCache.refreshAfterCommit(item);
+            aggregated = aggregatedQuantity(item);
+        }
+
+        countUpdate("release", sku);
+
+        eventBus.publish(new StockUpdatedEvent(sku, aggregated));
+        return aggregated;
+    }
+
+    @Transactional
+    public void allocateToStore(String sku, String storeId, int amount) {
+        InventoryItem item = null;
+        if (stockLedger.isEnabled()) {
+            stockLedger.append(sku, -amount, EntryType.ALLOCATE, storeId);
+        } else {
+            item = inventoryRepository.findBySku(sku)
+                    .orElseThrow(() -> new NotEnoughStockException("Item with SKU " + sku + " not found."));
+            item.decreaseStock(amount);
+            inventoryRepository.save(item);
+            itemCache.refreshAfterCommit(item);
+        }
+
+        StoreStock partition = storeStockRepository.findBySkuAndStoreId(sku, storeId)
+                .orElseGet(() -> new StoreStock(sku, storeId, 0));
+        partition.increaseStock(amount);
+        storeStockRepository.save(partition);
+
+        countUpdate("allocate", sku);
+
+        eventBus.publish(new StoreStockUpdatedEvent(sku, storeId, partition.getQuantity()));
+        eventBus.publish(new StockUpdatedEvent(sku, item != null ? aggregatedQuantity(item) : getAggregatedQuantity(sku)));
+    }
+
+    private void countUpdate(String type, String sku) {
+        meterRegistry.counter("inventory_updates_total", "type", type).increment();
+        hotSkus.record(sku);
+    }
+
+    private int decreaseCentral(String sku, int amount) {
+        if (stockLedger.isEnabled()) {
+            int central = stockLedger.append(sku, -amount, EntryType.RESERVE, null);
+            countUpdate("decrease", sku);
+            int aggregated = central + (int) storeStockRepository.sumAllocatedBySku(sku);
+            eventBus.publish(new StockUpdatedEvent(sku, aggregated));
+            return aggregated;
+        }
         InventoryItem item = inventoryRepository.findBySku(sku)
                 .orElseThrow(() -> new NotEnoughStockException("Item with SKU " + sku + " not found."));
-        item.setQuantity(newQuantity);
+        item.decreaseStock(amount);
         inventoryRepository.save(item);
-        
-        meterRegistry.counter("inventory_updates_total", "type", "adjust", "sku", sku).increment();
-        
-        eventBus.publish(new StockUpdatedEvent(sku, newQuantity));
+        itemCache.refreshAfterCommit(item);
+
+        countUpdate("decrease", sku);
+
+        int aggregated = aggregatedQuantity(item);
+        eventBus.publish(new StockUpdatedEvent(sku, aggregated));
+        return aggregated;
+    }
+
+    /**
+     * Moves {@code shortfall} units into the target partition: central stock first, then the fullest stores.
+     * Returns the central item loaded for the move, or null when the SKU has no central row or ledger mode is on.
+     */
+    private InventoryItem rebalanceInto(StoreStock target, int shortfall) {
+        int remaining = shortfall;
+
+        InventoryItem central = null;
+        if (stockLedger.isEnabled()) {
+            remaining -= stockLedger.takeUpTo(target.getSku(), remaining, EntryType.ALLOCATE, target.getStoreId());
+        } else {
+            central = inventoryRepository.findBySku(target.getSku()).orElse(null);
+        }
+        if (central != null && central.getQuantity() > 0) {
+            int moved = Math.min(central.getQuantity(), remaining);
+            central.decreaseStock(moved);
+            inventoryRepository.save(central);
+            itemCache.refreshAfterCommit(central);
+            remaining -= moved;
+        }
+
+        if (remaining > 0) {
+            for (StoreStock donor : storeStockRepository.findBySkuOrderByQuantityDesc(target.getSku())) {
+                if (remaining == 0) {
+                    break;
+                }
+                if (donor.getStoreId().equals(target.getStoreId()) || donor.getQuantity() == 0) {
+                    continue;
+                }
+                int moved = Math.min(donor.getQuantity(), remaining);
+                donor.decreaseStock(moved);
+                storeStockRepository.save(donor);
+                eventBus.publish(new StoreStockUpdatedEvent(donor.getSku(), donor.getStoreId(), donor.getQuantity()));
+                remaining -= moved;
+            }
+        }
+
+        if (remaining > 0) {
+            throw new NotEnoughStockException("Not enough stock available for SKU " + target.getSku());
+        }
+        target.increaseStock(shortfall);
+        meterRegistry.counter("inventory_rebalances_total").increment();
+        return central;
+    }
+
+    private int aggregatedQuantity(InventoryItem item) {
+        return item.getQuantity() + (int) storeStockRepository.sumAllocatedBySku(item.getSku());
+    }
+
+    /** Central (unallocated) stock plus store partitions and node leases; the central part comes from the cache. */
+    public int getAggregatedQuantity(String sku) {
+        if (stockLedger.isEnabled()) {
+            return stockLedger.balance(sku) + (int) storeStockRepository.sumAllocatedBySku(sku);
+        }
+        int central = findCachedBySku(sku)
+                .map(InventoryItemCache.CachedItem::quantity)
+                .orElse(0);
+        return central + (int) storeStockRepository.sumAllocatedBySku(sku);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+// ## Prompt: ReservationArchiver
+// Create a Spring service that moves terminal reservations out of the hot `reservations` table.
+
+// Requirements:
+// - Annotate with `@Service`.
+// - A `@Scheduled` run selects CONFIRMED/CANCELLED reservations that expired more than the retention window ago,
+//   `batch-size` ids at a time, and for each batch copies them into `reservation_history` and deletes them
+//   from `reservations` in its own transaction, so locks stay short and a failure only rolls back one batch.
+// - Stop after `max-batches-per-run` batches; the next run continues where this one stopped.
+// - Metrics: `reservations_archived_total`, `reservations_archive_batch_duration` and the gauge
+//   `reservations_active_rows` (refreshed after every run, not on every scrape).
+package com.meli.inventory.command.service;
+
+import com.meli.inventory.model.entities.Reservation;
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+import com.meli.inventory.model.entities.ReservationHistory;
+import com.meli.inventory.model.repositories.ReservationHistoryRepository;
+import com.meli.inventory.model.repositories.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ReservationArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    private static final Set<ReservationStatus> TERMINAL =
+            EnumSet.of(ReservationStatus.CONFIRMED, ReservationStatus.CANCELLED);
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationHistoryRepository historyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Counter archivedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong activeRows = new AtomicLong();
+
+    public ReservationArchiver(ReservationRepository reservationRepository,
+                               ReservationHistoryRepository historyRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${inventory.reservations.archive.retention-hours:168}") long retentionHours,
+                               @Value("${inventory.reservations.archive.batch-size:500}") int batchSize,
+                               @Value("${inventory.reservations.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.reservationRepository = reservationRepository;
+        this.historyRepository = historyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofHours(retentionHours);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        this.archivedCounter = meterRegistry.counter("reservations_archived_total");
+        this.batchTimer = meterRegistry.timer("reservations_archive_batch_duration");
+        meterRegistry.gauge("reservations_active_rows", activeRows);
+    }
+
+    /** 🗄️ Mueve a histórico las reservas terminales fuera de la ventana de retención **/
+    @Scheduled(fixedDelayString = "${inventory.reservations.archive.interval-ms:60000}",
+            initialDelayString = "${inventory.reservations.archive.interval-ms:60000}")
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int archived = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = reservationRepository.findIdsForArchival(TERMINAL, cutoff, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer moved = batchTimer.record(() -> transactionTemplate.execute(status -> archiveBatch(ids)));
+            archived += moved == null ? 0 : moved;
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        activeRows.set(reservationRepository.count());
+        if (archived > 0) {
+            logger.info("Archived {} reservations expired before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    public long getActiveRows() {
+        return activeRows.get();
+    }
+
+    private int archiveBatch(List<Long> ids) {
+        LocalDateTime archivedAt = LocalDateTime.now();
+        // A row may have changed since the id scan: only move the ones that are still terminal
+        List<Reservation> reservations = reservationRepository.findAllById(ids).stream()
+                .filter(Reservation::isTerminal)
+                .toList();
+        if (reservations.isEmpty()) {
+            return 0;
+        }
+
+        historyRepository.saveAll(reservations.stream()
+                .map(reservation -> ReservationHistory.from(reservation, archivedAt))
+                .toList());
+        reservationRepository.deleteAllByIdInBatch(reservations.stream().map(Reservation::getId).toList());
+
+        archivedCounter.increment(reservations.size());
+        return reservations.size();
+    }
+}
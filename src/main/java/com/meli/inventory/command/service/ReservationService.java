@@ -10,63 +10,156 @@
 //   - `Reservation cancelReservation(Long reservationId)` → mark status `CANCELLED` and restore stock.
 // - Throw `ReservationNotFoundException` if reservation doesn't exist.
 // - Use `@Transactional`.
+
+// ## Prompt: Store-partitioned stock
+// - Reserve through `InventoryService.reserveStock(sku, quantity, storeId)` so the store's own partition absorbs the write,
+//   and give stock back through `releaseStock` on cancel. Both already publish the aggregated `StockUpdatedEvent`.
+
+// ## Prompt: Batched reservation inserts
+// - `List<Reservation> createReservations(List<ReservationRequest> requests)` → all-or-nothing: stock is reserved once
+//   per (sku, storeId) in sorted order, so concurrent batches lock rows in the same order, and the reservations are
+//   persisted with a single `saveAll` that Hibernate sends as JDBC batches.
+
+// ## Prompt: Reservation lifecycle events
+// - Publish `ReservationCreatedEvent`, `ReservationConfirmedEvent` (PENDING → CONFIRMED only) and
+//   `ReservationCancelledEvent` (PENDING → CANCELLED only) so the per-store read model can follow them.
+
+// ## Prompt: Escrow stock leases
+// - `createReservation` first tries this node's in-memory lease (`StockEscrow.tryReserve`) and falls back to
+//   `InventoryService.reserveStock` on a miss; `leaseNode` records which node's lease served it, and `createdAt`
+//   the lease timestamp of the hit.
+// - Cancelling a reservation served by this node's lease gives the units back to that lease and clears
+//   `leaseNode`; served by another node's lease, the units go to central stock and `leaseNode` is kept.
+
+// ## Prompt: Lifecycle events after commit
+// - Reservation lifecycle events carry deltas that never self-correct, so they are registered with
+//   `TransactionSynchronizationManager` and published in `afterCommit`; a rolled-back reservation publishes nothing.
+
+// ## Prompt: Cached pre-check for batches
+// - `createReservations` checks every SKU with `InventoryService.findCachedBySku` before taking stock, so a batch
+//   with an unknown SKU fails without locking or decrementing the SKUs ahead of it.
 package com.meli.inventory.command.service;
 
+import com.meli.inventory.command.exception.NotEnoughStockException;
 import com.meli.inventory.command.exception.ReservationNotFoundException;
 import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.ReservationLifecycleEvent;
+import com.meli.inventory.events.ReservationCancelledEvent;
+import com.meli.inventory.events.ReservationConfirmedEvent;
+import com.meli.inventory.events.ReservationCreatedEvent;
 import com.meli.inventory.events.StockUpdatedEvent;
 import com.meli.inventory.model.entities.Reservation;
 import com.meli.inventory.model.entities.Reservation.ReservationStatus;
 import com.meli.inventory.model.repositories.ReservationRepository;
+import com.meli.inventory.model.requests.ReservationRequest;
 import com.meli.inventory.query.service.InventoryQueryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final InventoryService inventoryService;
+    private final StockEscrow stockEscrow;
     private final EventBus eventBus;
     private static final Logger logger = LoggerFactory.getLogger(InventoryQueryService.class);
 
 
     @Autowired
-    public ReservationService(ReservationRepository reservationRepository, InventoryService inventoryService, EventBus eventBus) {
+    public ReservationService(ReservationRepository reservationRepository, InventoryService inventoryService,
+                              StockEscrow stockEscrow, EventBus eventBus) {
         this.reservationRepository = reservationRepository;
         this.inventoryService = inventoryService;
+        this.stockEscrow = stockEscrow;
         this.eventBus = eventBus;
     }
 
     @Transactional
     public Reservation createReservation(String sku, int quantity, String storeId) {
-        inventoryService.decreaseStock(sku, quantity);
+        LocalDateTime leasedAt = stockEscrow.tryReserve(sku, quantity);
+        boolean fromLease = leasedAt != null;
+        if (!fromLease) {
+            inventoryService.reserveStock(sku, quantity, storeId);
+        }
 
         Reservation reservation = new Reservation();
         reservation.setSku(sku);
         reservation.setQuantity(quantity);
         reservation.setStoreId(storeId);
         reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setLeaseNode(fromLease ? stockEscrow.getNodeId() : null);
+        if (fromLease) {
+            // Reclaim compares it with the lease row's syncedAt to tell whether the last snapshot saw this hit
+            reservation.setCreatedAt(leasedAt);
+        }
         reservation = reservationRepository.save(reservation);
-        
-        eventBus.publish(new StockUpdatedEvent(sku,
-            inventoryService.findBySku(sku).get().getQuantity()));
-            
+
+        publishAfterCommit(new ReservationCreatedEvent(reservation.getId(), sku, storeId, quantity));
+
         return reservation;
     }
 
+    @Transactional
+    public List<Reservation> createReservations(List<ReservationRequest> requests) {
+        // Sorted: stock is taken in ascending SKU order, the lock order of StockLedger heads
+        Map<String, Map<String, Integer>> quantitiesBySkuAndStore = new TreeMap<>();
+        for (ReservationRequest request : requests) {
+            quantitiesBySkuAndStore.computeIfAbsent(request.getSku(), sku -> new TreeMap<>())
+                    .merge(request.getStoreId(), request.getQuantity(), Integer::sum);
+        }
+        // Read-only pre-check from the item cache: an unknown SKU fails the batch before any stock is taken
+        for (String sku : quantitiesBySkuAndStore.keySet()) {
+            if (inventoryService.findCachedBySku(sku).isEmpty()) {
+                throw new NotEnoughStockException("Item with SKU " + sku + " not found.");
+            }
+        }
+        quantitiesBySkuAndStore.forEach((sku, stores) ->
+                stores.forEach((storeId, quantity) -> inventoryService.reserveStock(sku, quantity, storeId)));
+
+        List<Reservation> reservations = new ArrayList<>(requests.size());
+        for (ReservationRequest request : requests) {
+            Reservation reservation = new Reservation();
+            reservation.setSku(request.getSku());
+            reservation.setQuantity(request.getQuantity());
+            reservation.setStoreId(request.getStoreId());
+            reservation.setStatus(ReservationStatus.PENDING);
+            reservations.add(reservation);
+        }
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+
+        for (Reservation reservation : saved) {
+            publishAfterCommit(new ReservationCreatedEvent(reservation.getId(), reservation.getSku(),
+                    reservation.getStoreId(), reservation.getQuantity()));
+        }
+        return saved;
+    }
+
     @Transactional
     public Reservation confirmReservation(Long reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new ReservationNotFoundException("Reservation with ID " + reservationId + " not found."));
+        ReservationStatus previousStatus = reservation.getStatus();
         reservation.setStatus(ReservationStatus.CONFIRMED);
         reservation = reservationRepository.save(reservation);
         
         eventBus.publish(new StockUpdatedEvent(reservation.getSku(),
-            inventoryService.findBySku(reservation.getSku()).get().getQuantity()));
-            
+            inventoryService.getAggregatedQuantity(reservation.getSku())));
+        if (previousStatus == ReservationStatus.PENDING) {
+            publishAfterCommit(new ReservationConfirmedEvent(reservation.getId(), reservation.getSku(),
+                    reservation.getStoreId(), reservation.getQuantity()));
+        }
+
         return reservation;
     }
 
@@ -88,19 +181,35 @@ public class ReservationService {
         reservation.setStatus(ReservationStatus.CANCELLED);
 
         int reservedQty = reservation.getQuantity();
-        int newQuantity = inventoryService.findBySku(reservation.getSku())
-                .map(item -> item.getQuantity() + reservedQty)
-                .orElse(reservedQty);
-
-        inventoryService.adjustStock(reservation.getSku(), newQuantity);
+        boolean toLease = reservation.getLeaseNode() != null
+                && reservation.getLeaseNode().equals(stockEscrow.getNodeId())
+                && stockEscrow.releaseToLease(reservation.getSku(), reservedQty);
+        if (toLease) {
+            // The lease has the units again, so a reclaim of this node must not count them as served
+            reservation.setLeaseNode(null);
+        } else {
+            inventoryService.releaseStock(reservation.getSku(), reservedQty, reservation.getStoreId());
+        }
         reservation = reservationRepository.save(reservation);
 
-        eventBus.publish(new StockUpdatedEvent(reservation.getSku(), newQuantity));
+        publishAfterCommit(new ReservationCancelledEvent(reservation.getId(), reservation.getSku(),
+                reservation.getStoreId(), reservedQty));
 
         return reservation;
     }
 
-
+    private void publishAfterCommit(ReservationLifecycleEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventBus.publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventBus.publish(event);
+            }
+        });
+    }
 }
 
 
@@ -0,0 +1,552 @@
+// ## Prompt: StockEscrow
+// Create a component that lets each node reserve stock from an in-memory lease when `inventory.escrow.enabled` is true.
+
+// Requirements:
+// - Annotate with `@Component`.
+// - `LocalDateTime tryReserve(sku, amount)` → take the units from this node's lease without touching the database
+//   and return the hit's lease timestamp (stored as the reservation's `createdAt`); null on a miss (no lease yet,
+//   lease too small, SKU has store partitions) so the caller falls back to `InventoryService`. Units are given back
+//   if the surrounding transaction rolls back.
+// - `boolean releaseToLease(sku, amount)` → return cancelled units to the local lease after commit.
+// - Leases are only created for SKUs that exist (through `InventoryItemCache`) and have no store partition; known
+//   partitioned SKUs are remembered so their misses cost no query. A lease that is empty, persisted as empty and
+//   idle is evicted at the next sync, so the map and the per-SKU sync work follow the SKUs actually reserved
+//   (`inventory_escrow_leases`).
+// - A `@Scheduled` sync (`inventory.escrow.sync-interval-ms`) runs per leased SKU:
+//   - Track demand as an EWMA of units/second. The target lease is `lease-seconds` of demand, clamped to
+//     [`min-lease`, `max-lease`]; idle SKUs target 0.
+//   - Refill below `refill-threshold` of the target and return what exceeds twice the target.
+//   - In one transaction, move stock between the central row (or `StockLedger`) and this node's `stock_leases`
+//     row. The row then records the unconsumed lease and the sync time.
+//   - Publish `StockUpdatedEvent` with the aggregated quantity whenever the persisted lease row changes (units
+//     served from memory since the last sync included), so the read model follows `getAggregatedQuantity`.
+// - Leases are carved out of central stock, which never goes negative, so leased stock never exceeds real stock.
+// - Liveness: heartbeat `escrow_nodes`; leases of nodes silent for `orphan-after-ms` are reclaimed by any node.
+//   Reclaim returns the lease row minus units that node served after its last sync: reservations still carrying
+//   its `leaseNode` created strictly after the row's `syncedAt`. A reservation cancelled through another node gave
+//   its units to central stock and still counts; one cancelled back into the lease drops `leaseNode` and does
+//   not, since the row still holds those units. Hits and sync snapshots take their
+//   timestamps from one strictly increasing per-lease clock (microseconds, the column precision), so a hit is
+//   reflected in a persisted snapshot exactly when its timestamp is earlier.
+//   Rows are reclaimed in ascending SKU order, the lock order of `StockLedger` heads. Leases are returned on shutdown.
+// - Fencing: a node that finds its `escrow_nodes` row gone after registering, or a lease row gone while it had
+//   synced units into it, was reclaimed while paused. It zeroes those in-memory leases (their units are already back
+//   in central stock) instead of re-creating the rows; a rollback or sync that started before then cannot give
+//   units back to the revoked lease.
+// - Metrics: `inventory_escrow_reservations_total{result}`, `inventory_escrow_transfers_total{direction}` (units),
+//   `inventory_escrow_sync_failures_total`, `inventory_escrow_reclaimed_units_total`,
+//   `inventory_escrow_revoked_units_total`, gauge `inventory_escrow_local_units`.
+//
+// ## Prompt: Cached escrow status
+// - `status(sku)` is read-only and takes central stock from `InventoryItemCache`, like the leasability check.
+package com.meli.inventory.command.service;
+
+import com.meli.inventory.command.cache.InventoryItemCache;
+import com.meli.inventory.command.exception.NotEnoughStockException;
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.StockUpdatedEvent;
+import com.meli.inventory.model.entities.EscrowNode;
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.entities.StockLease;
+import com.meli.inventory.model.entities.StockLedgerEntry.EntryType;
+import com.meli.inventory.model.repositories.EscrowNodeRepository;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.repositories.ReservationRepository;
+import com.meli.inventory.model.repositories.StockLeaseRepository;
+import com.meli.inventory.model.repositories.StoreStockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class StockEscrow {
+    private static final Logger logger = LoggerFactory.getLogger(StockEscrow.class);
+
+    private static final double DEMAND_SMOOTHING = 0.3;
+    private static final double IDLE_RATE = 0.01;
+    private static final int REVOKED = -1;
+
+    public record LeaseStatus(String nodeId, int quantity, LocalDateTime syncedAt) {
+    }
+
+    public record EscrowStatus(String sku, int centralQuantity, int leasedQuantity, List<LeaseStatus> leases,
+                               int localRemaining) {
+    }
+
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+    private final Set<String> partitionedSkus = ConcurrentHashMap.newKeySet();
+
+    private final InventoryRepository inventoryRepository;
+    private final StoreStockRepository storeStockRepository;
+    private final StockLeaseRepository leaseRepository;
+    private final EscrowNodeRepository nodeRepository;
+    private final ReservationRepository reservationRepository;
+    private final StockLedger stockLedger;
+    private final InventoryItemCache itemCache;
+    private final TransactionTemplate transactionTemplate;
+    private final EventBus eventBus;
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final double leaseSeconds;
+    private final int minLease;
+    private final int maxLease;
+    private final double refillThreshold;
+    private final long orphanAfterMs;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter grantedUnits;
+    private final Counter returnedUnits;
+    private final Counter syncFailures;
+    private final Counter reclaimedUnits;
+    private final Counter revokedUnits;
+    private volatile boolean recovered = false;
+    private volatile boolean registered = false;
+
+    public StockEscrow(InventoryRepository inventoryRepository,
+                       StoreStockRepository storeStockRepository,
+                       StockLeaseRepository leaseRepository,
+                       EscrowNodeRepository nodeRepository,
+                       ReservationRepository reservationRepository,
+                       StockLedger stockLedger,
+                       InventoryItemCache itemCache,
+                       PlatformTransactionManager transactionManager,
+                       EventBus eventBus,
+                       MeterRegistry meterRegistry,
+                       @Value("${inventory.escrow.enabled:false}") boolean enabled,
+                       @Value("${inventory.escrow.node-id:}") String nodeId,
+                       @Value("${inventory.escrow.lease-seconds:10}") double leaseSeconds,
+                       @Value("${inventory.escrow.min-lease:5}") int minLease,
+                       @Value("${inventory.escrow.max-lease:500}") int maxLease,
+                       @Value("${inventory.escrow.refill-threshold:0.5}") double refillThreshold,
+                       @Value("${inventory.escrow.orphan-after-ms:30000}") long orphanAfterMs) {
+        this.inventoryRepository = inventoryRepository;
+        this.storeStockRepository = storeStockRepository;
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.reservationRepository = reservationRepository;
+        this.stockLedger = stockLedger;
+        this.itemCache = itemCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventBus = eventBus;
+        this.enabled = enabled;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : nodeId;
+        this.leaseSeconds = leaseSeconds;
+        this.minLease = Math.max(1, minLease);
+        this.maxLease = Math.max(this.minLease, maxLease);
+        this.refillThreshold = refillThreshold;
+        this.orphanAfterMs = orphanAfterMs;
+
+        this.hitCounter = meterRegistry.counter("inventory_escrow_reservations_total", "result", "hit");
+        this.missCounter = meterRegistry.counter("inventory_escrow_reservations_total", "result", "miss");
+        this.grantedUnits = meterRegistry.counter("inventory_escrow_transfers_total", "direction", "grant");
+        this.returnedUnits = meterRegistry.counter("inventory_escrow_transfers_total", "direction", "return");
+        this.syncFailures = meterRegistry.counter("inventory_escrow_sync_failures_total");
+        this.reclaimedUnits = meterRegistry.counter("inventory_escrow_reclaimed_units_total");
+        this.revokedUnits = meterRegistry.counter("inventory_escrow_revoked_units_total");
+        meterRegistry.gauge("inventory_escrow_local_units", leases, StockEscrow::localUnits);
+        meterRegistry.gauge("inventory_escrow_leases", leases, Map::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /** ⚡ Reserva desde el lease local, sin ir a la base; null si el lease no alcanza **/
+    public LocalDateTime tryReserve(String sku, int amount) {
+        if (!enabled) {
+            return null;
+        }
+        Lease existing = leases.get(sku);
+        if (existing == null && !isLeasable(sku)) {
+            missCounter.increment();
+            return null;
+        }
+        Lease lease = existing != null ? existing : leases.computeIfAbsent(sku, key -> new Lease());
+        int epoch;
+        LocalDateTime leasedAt;
+        synchronized (lease) {
+            lease.demand += amount;
+            if (lease.excluded || lease.remaining < amount) {
+                missCounter.increment();
+                return null;
+            }
+            lease.remaining -= amount;
+            epoch = lease.epoch;
+            leasedAt = lease.stamp();
+        }
+        hitCounter.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        lease.give(amount, epoch);
+                    }
+                }
+            });
+        }
+        return leasedAt;
+    }
+
+    private boolean isLeasable(String sku) {
+        if (partitionedSkus.contains(sku)) {
+            return false;
+        }
+        if (itemCache.get(sku, inventoryRepository::findBySku).isEmpty()) {
+            return false;
+        }
+        if (storeStockRepository.existsBySku(sku)) {
+            partitionedSkus.add(sku);
+            return false;
+        }
+        return true;
+    }
+
+    /** ↩️ Devuelve al lease local las unidades de una reserva cancelada, cuando la cancelación confirma **/
+    public boolean releaseToLease(String sku, int amount) {
+        Lease lease = enabled ? leases.get(sku) : null;
+        if (lease == null) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lease.give(amount);
+                }
+            });
+        } else {
+            lease.give(amount);
+        }
+        return true;
+    }
+
+    /** 🔄 Ajusta cada lease a la demanda del nodo y sincroniza su fila en stock_leases **/
+    @Scheduled(fixedDelayString = "${inventory.escrow.sync-interval-ms:1000}",
+            initialDelayString = "${inventory.escrow.sync-interval-ms:1000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        if (!recovered) {
+            // Rows left by a previous run with the same node id have no lease in memory any more
+            reclaim(nodeId);
+            recovered = true;
+        }
+        if (heartbeat()) {
+            revokeAll();
+            heartbeat();
+        }
+        for (Map.Entry<String, Lease> entry : leases.entrySet()) {
+            sync(entry.getKey(), entry.getValue(), false);
+            evictIfIdle(entry.getKey(), entry.getValue());
+        }
+        reclaimOrphans();
+    }
+
+    /** Returns every local lease to central stock. */
+    @PreDestroy
+    public void returnAll() {
+        if (!enabled) {
+            return;
+        }
+        for (Map.Entry<String, Lease> entry : leases.entrySet()) {
+            sync(entry.getKey(), entry.getValue(), true);
+        }
+    }
+
+    private void sync(String sku, Lease lease, boolean returnAll) {
+        int toReturn;
+        int wanted;
+        int snapshot;
+        int synced;
+        int epoch;
+        LocalDateTime snapshotAt;
+        synchronized (lease) {
+            long now = System.nanoTime();
+            double seconds = Math.max(1e-3, (now - lease.lastSyncNanos) / 1e9);
+            lease.rate = DEMAND_SMOOTHING * (lease.demand / seconds) + (1 - DEMAND_SMOOTHING) * lease.rate;
+            lease.demand = 0;
+            lease.lastSyncNanos = now;
+
+            int target = returnAll || lease.excluded || lease.rate < IDLE_RATE ? 0
+                    : (int) Math.min(maxLease, Math.max(minLease, Math.ceil(lease.rate * leaseSeconds)));
+            toReturn = target == 0 ? lease.remaining : Math.max(0, lease.remaining - 2 * target);
+            lease.remaining -= toReturn;
+            wanted = lease.remaining < target * refillThreshold ? target - lease.remaining : 0;
+            snapshot = lease.remaining;
+            synced = lease.synced;
+            epoch = lease.epoch;
+            snapshotAt = lease.stamp();
+            if (toReturn == 0 && wanted == 0 && snapshot == lease.synced) {
+                return;
+            }
+        }
+
+        try {
+            int granted = transfer(sku, lease, toReturn, wanted, snapshot, synced, snapshotAt);
+            if (granted == REVOKED) {
+                revoke(sku, lease);
+                return;
+            }
+            synchronized (lease) {
+                lease.remaining += granted;
+                lease.synced = snapshot + granted;
+            }
+            grantedUnits.increment(granted);
+            returnedUnits.increment(toReturn);
+        } catch (RuntimeException e) {
+            lease.give(toReturn, epoch);
+            syncFailures.increment();
+            logger.warn("Escrow sync failed for SKU {} on node {}: {}", sku, nodeId, e.getMessage());
+        }
+    }
+
+    private void evictIfIdle(String sku, Lease lease) {
+        synchronized (lease) {
+            if (lease.remaining != 0 || lease.synced != 0 || lease.demand != 0 || lease.rate >= IDLE_RATE) {
+                return;
+            }
+            // A late rollback of a hit taken from this lease must not refill the evicted object
+            lease.epoch++;
+        }
+        leases.remove(sku, lease);
+    }
+
+    private int transfer(String sku, Lease lease, int toReturn, int wanted, int snapshot, int synced,
+                         LocalDateTime snapshotAt) {
+        boolean[] rowChanged = new boolean[1];
+        Integer granted = transactionTemplate.execute(status -> {
+            Optional<StockLease> existing = leaseRepository.findBySkuAndNodeId(sku, nodeId);
+            if (existing.isEmpty() && synced > 0) {
+                // Reclaimed by another node: its units are back in central stock, so neither return nor re-insert
+                return REVOKED;
+            }
+            if (wanted > 0 && storeStockRepository.existsBySku(sku)) {
+                // Store-partitioned SKUs keep their own path: never lease them
+                lease.excluded = true;
+                partitionedSkus.add(sku);
+            }
+            int grant = moveCentral(sku, toReturn, lease.excluded ? 0 : wanted);
+
+            StockLease row = existing.orElseGet(() -> new StockLease(sku, nodeId, 0));
+            rowChanged[0] = row.getQuantity() != snapshot + grant;
+            row.setQuantity(snapshot + grant);
+            row.setSyncedAt(snapshotAt);
+            if (row.getQuantity() > 0) {
+                leaseRepository.save(row);
+            } else if (row.getId() != null) {
+                leaseRepository.delete(row);
+            }
+            return grant;
+        });
+        int grant = granted == null ? 0 : granted;
+        if (grant == REVOKED) {
+            return REVOKED;
+        }
+        // Hits since the last sync only reach stock_leases (and the aggregated quantity) now
+        if (grant > 0 || toReturn > 0 || rowChanged[0]) {
+            eventBus.publish(new StockUpdatedEvent(sku, aggregatedQuantity(sku)));
+        }
+        return grant;
+    }
+
+    /** Gives {@code returned} units back to central stock and takes up to {@code wanted}; returns the units taken. */
+    private int moveCentral(String sku, int returned, int wanted) {
+        String reference = "lease:" + nodeId;
+        if (stockLedger.isEnabled()) {
+            if (returned > 0) {
+                stockLedger.append(sku, returned, EntryType.RELEASE, reference);
+            }
+            return wanted > 0 ? stockLedger.takeUpTo(sku, wanted, EntryType.ALLOCATE, reference) : 0;
+        }
+        if (returned == 0 && wanted == 0) {
+            return 0;
+        }
+        InventoryItem item = inventoryRepository.findBySku(sku)
+                .orElseThrow(() -> new NotEnoughStockException("Item with SKU " + sku + " not found."));
+        item.setQuantity(item.getQuantity() + returned);
+        int grant = Math.min(item.getQuantity(), wanted);
+        item.decreaseStock(grant);
+        itemCache.refreshAfterCommit(inventoryRepository.save(item));
+        return grant;
+    }
+
+    /** Refreshes this node's heartbeat; true if its row was deleted by a reclaim since it registered. */
+    private boolean heartbeat() {
+        try {
+            boolean revoked = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                Optional<EscrowNode> existing = nodeRepository.findById(nodeId);
+                if (existing.isEmpty() && registered) {
+                    return true;
+                }
+                EscrowNode node = existing.orElseGet(() -> new EscrowNode(nodeId, now, null));
+                node.setHeartbeatAt(now);
+                nodeRepository.save(node);
+                return false;
+            }));
+            registered = !revoked;
+            return revoked;
+        } catch (RuntimeException e) {
+            logger.warn("Escrow heartbeat failed for node {}: {}", nodeId, e.getMessage());
+            return false;
+        }
+    }
+
+    /** Another node reclaimed every lease of this node while it was silent. */
+    private void revokeAll() {
+        logger.warn("Escrow node {} was reclaimed by another node; dropping its in-memory leases", nodeId);
+        for (Map.Entry<String, Lease> entry : leases.entrySet()) {
+            revoke(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void revoke(String sku, Lease lease) {
+        int dropped;
+        synchronized (lease) {
+            dropped = lease.remaining;
+            lease.remaining = 0;
+            lease.synced = 0;
+            lease.epoch++;
+        }
+        revokedUnits.increment(dropped);
+        logger.warn("Escrow lease of SKU {} on node {} was revoked; dropped {} local units", sku, nodeId, dropped);
+    }
+
+    private void reclaimOrphans() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(orphanAfterMs));
+        for (EscrowNode node : nodeRepository.findByHeartbeatAtBefore(cutoff)) {
+            if (!node.getNodeId().equals(nodeId)) {
+                reclaim(node.getNodeId());
+            }
+        }
+    }
+
+    /** ♻️ Devuelve a central los leases de un nodo caído, descontando lo que sirvió después de su último sync **/
+    void reclaim(String deadNode) {
+        try {
+            int reclaimed = transactionTemplate.execute(status -> {
+                int total = 0;
+                List<String> skus = new ArrayList<>();
+                List<StockLease> rows = new ArrayList<>(leaseRepository.findByNodeId(deadNode));
+                // Ledger heads stay locked until commit: take them in SKU order like every multi-SKU writer
+                rows.sort(Comparator.comparing(StockLease::getSku));
+                for (StockLease row : rows) {
+                    long served = row.getSyncedAt() == null ? 0
+                            : reservationRepository.sumLeasedAfter(deadNode, row.getSku(), row.getSyncedAt());
+                    int returned = (int) Math.max(0, row.getQuantity() - served);
+                    moveCentral(row.getSku(), returned, 0);
+                    leaseRepository.delete(row);
+                    skus.add(row.getSku());
+                    total += returned;
+                }
+                // Deleting the node row under its version makes concurrent reclaimers of the same node conflict
+                nodeRepository.findById(deadNode).ifPresent(nodeRepository::delete);
+                for (String sku : skus) {
+                    eventBus.publish(new StockUpdatedEvent(sku, aggregatedQuantity(sku)));
+                }
+                return total;
+            });
+            if (reclaimed > 0) {
+                reclaimedUnits.increment(reclaimed);
+                logger.warn("Reclaimed {} escrowed units from node {}", reclaimed, deadNode);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not reclaim leases of node {}: {}", deadNode, e.getMessage());
+        }
+    }
+
+    private int aggregatedQuantity(String sku) {
+        int central = stockLedger.isEnabled() ? stockLedger.balance(sku)
+                : inventoryRepository.findBySku(sku).map(InventoryItem::getQuantity).orElse(0);
+        return central + (int) storeStockRepository.sumAllocatedBySku(sku);
+    }
+
+    /** 🔍 Stock central y leases de un SKU, para verificar que lo escrowed nunca supera el stock real **/
+    public EscrowStatus status(String sku) {
+        List<LeaseStatus> rows = leaseRepository.findBySkuOrderByNodeId(sku).stream()
+                .map(row -> new LeaseStatus(row.getNodeId(), row.getQuantity(), row.getSyncedAt()))
+                .toList();
+        int central = stockLedger.isEnabled() ? stockLedger.balance(sku)
+                : itemCache.get(sku, inventoryRepository::findBySku).map(InventoryItemCache.CachedItem::quantity)
+                .orElseThrow(() -> new NotEnoughStockException("Item with SKU " + sku + " not found."));
+        Lease lease = leases.get(sku);
+        int local;
+        if (lease == null) {
+            local = 0;
+        } else {
+            synchronized (lease) {
+                local = lease.remaining;
+            }
+        }
+        return new EscrowStatus(sku, central, rows.stream().mapToInt(LeaseStatus::quantity).sum(), rows, local);
+    }
+
+    private static double localUnits(Map<String, Lease> leases) {
+        long total = 0;
+        for (Lease lease : leases.values()) {
+            synchronized (lease) {
+                total += lease.remaining;
+            }
+        }
+        return total;
+    }
+
+    /** In-memory lease of one SKU on this node; every field is guarded by the lease's monitor. */
+    private static final class Lease {
+        private int remaining;
+        private int synced;
+        private int demand;
+        private double rate;
+        private long lastSyncNanos = System.nanoTime();
+        // Bumped when the lease is revoked, so units taken before that are not given back to it
+        private int epoch;
+        private LocalDateTime lastStamp;
+        private volatile boolean excluded;
+
+        /** Strictly increasing at the microsecond precision of the timestamp columns; call under the monitor. */
+        private LocalDateTime stamp() {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            lastStamp = lastStamp != null && !now.isAfter(lastStamp) ? lastStamp.plus(1, ChronoUnit.MICROS) : now;
+            return lastStamp;
+        }
+
+        private synchronized void give(int amount) {
+            remaining += amount;
+        }
+
+        private synchronized void give(int amount, int takenInEpoch) {
+            if (epoch == takenInEpoch) {
+                remaining += amount;
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+// ## Prompt: StockImportService
+// Create a Spring service that applies a bulk stock feed (ERP sync) without loading it into memory.
+
+// Requirements:
+// - Annotate with `@Service`.
+// - `StockImportReport importStock(InputStream input, Format format)` → read CSV (`sku,quantity`, optional header)
+//   or NDJSON (`{"sku": "...", "quantity": n}`) line by line.
+// - Buffer at most `chunk-size` rows (last row wins for a SKU repeated inside a chunk) and apply each chunk with one
+//   JDBC batch `UPDATE inventory_items` in its own transaction, bumping `version` and `last_modified`.
+// - After each chunk commits, publish one `StockUpdatedEvent` per SKU with the aggregated quantity.
+// - Drop the applied SKUs from `InventoryItemCache`: these updates bypass JPA.
+// - Reject malformed rows, negative quantities and unknown SKUs into the report, keeping at most `max-errors` of them.
+
+// ## Prompt: Stock ledger mode
+// - An imported quantity replaces the ledger balance: move `ledger_position` past the SKU's existing ledger entries
+//   and drop its `StockLedger` head.
+
+// ## Prompt: Escrow stock leases
+// - Published quantities also count stock escrowed to nodes (`stock_leases`), like store partitions.
+package com.meli.inventory.command.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.inventory.command.cache.InventoryItemCache;
+import com.meli.inventory.command.model.StockImportReport;
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.StockUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class StockImportService {
+    private static final Logger logger = LoggerFactory.getLogger(StockImportService.class);
+
+    private static final String UPDATE_SQL =
+            "update inventory_items set quantity = ?, version = version + 1, last_modified = ?, " +
+            "ledger_position = coalesce((select max(l.seq) from stock_ledger l where l.sku = inventory_items.sku), ledger_position) " +
+            "where sku = ?";
+    private static final String PARTITION_SUM_SQL =
+            "select sku, sum(quantity) from (select sku, quantity from store_stock " +
+            "union all select sku, quantity from stock_leases) allocated where sku in (:skus) group by sku";
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private record PendingRow(long line, int quantity) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryItemCache itemCache;
+    private final StockLedger stockLedger;
+    private final EventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    private final Counter appliedCounter;
+    private final Counter rejectedCounter;
+
+    public StockImportService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              InventoryItemCache itemCache,
+                              StockLedger stockLedger,
+                              EventBus eventBus,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${inventory.import.chunk-size:1000}") int chunkSize,
+                              @Value("${inventory.import.max-errors:100}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.itemCache = itemCache;
+        this.stockLedger = stockLedger;
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+
+        this.appliedCounter = meterRegistry.counter("inventory_import_rows_total", "result", "applied");
+        this.rejectedCounter = meterRegistry.counter("inventory_import_rows_total", "result", "rejected");
+    }
+
+    /** 📥 Aplica un feed masivo de stock leyendo línea a línea **/
+    public StockImportReport importStock(InputStream input, Format format) throws IOException {
+        StockImportReport report = new StockImportReport();
+        Map<String, PendingRow> chunk = new LinkedHashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && isCsvHeader(line))) {
+                    continue;
+                }
+                report.setRowsRead(report.getRowsRead() + 1);
+                try {
+                    parse(line, lineNumber, format, chunk, report);
+                } catch (IllegalArgumentException e) {
+                    reject(report, lineNumber, e.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, report);
+                }
+            }
+        }
+        flush(chunk, report);
+
+        logger.info("Stock import finished: {} rows read, {} applied, {} rejected",
+                report.getRowsRead(), report.getRowsApplied(), report.getRowsRejected());
+        return report;
+    }
+
+    private void parse(String line, long lineNumber, Format format, Map<String, PendingRow> chunk,
+                       StockImportReport report) {
+        String sku;
+        int quantity;
+        if (format == Format.CSV) {
+            String[] columns = line.split(",", -1);
+            if (columns.length != 2) {
+                throw new IllegalArgumentException("Expected 2 columns (sku,quantity) but got " + columns.length);
+            }
+            sku = columns[0].trim();
+            quantity = parseQuantity(columns[1].trim());
+        } else {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON");
+            }
+            JsonNode skuNode = node.get("sku");
+            JsonNode quantityNode = node.get("quantity");
+            if (skuNode == null || !skuNode.isTextual() || quantityNode == null || !quantityNode.canConvertToInt()) {
+                throw new IllegalArgumentException("Expected {\"sku\": string, \"quantity\": integer}");
+            }
+            sku = skuNode.asText().trim();
+            quantity = quantityNode.asInt();
+        }
+
+        if (sku.isEmpty()) {
+            throw new IllegalArgumentException("SKU must not be empty");
+        }
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity must not be negative");
+        }
+        // the feed is a snapshot: the last row of a SKU inside the chunk wins
+        if (chunk.remove(sku) != null) {
+            report.setRowsSuperseded(report.getRowsSuperseded() + 1);
+        }
+        chunk.put(sku, new PendingRow(lineNumber, quantity));
+    }
+
+    private void flush(Map<String, PendingRow> chunk, StockImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<String> skus = new ArrayList<>(chunk.keySet());
+        // Row locks in SKU order, like the other multi-SKU writers
+        Collections.sort(skus);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(skus.size());
+        for (String sku : skus) {
+            args.add(new Object[]{chunk.get(sku).quantity(), now, sku});
+        }
+
+        int[] updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, args));
+
+        List<String> applied = new ArrayList<>(skus.size());
+        for (int i = 0; i < skus.size(); i++) {
+            if (updated != null && updated[i] != 0) {
+                applied.add(skus.get(i));
+            } else {
+                reject(report, chunk.get(skus.get(i)).line(), "Unknown SKU " + skus.get(i));
+            }
+        }
+        report.setRowsApplied(report.getRowsApplied() + applied.size());
+        appliedCounter.increment(applied.size());
+        applied.forEach(itemCache::invalidate);
+        applied.forEach(stockLedger::invalidate);
+
+        if (!applied.isEmpty()) {
+            Map<String, Integer> allocated = partitionSums(applied);
+            for (String sku : applied) {
+                int quantity = chunk.get(sku).quantity() + allocated.getOrDefault(sku, 0);
+                eventBus.publish(new StockUpdatedEvent(sku, quantity));
+            }
+            report.setEventsPublished(report.getEventsPublished() + applied.size());
+        }
+        chunk.clear();
+    }
+
+    private Map<String, Integer> partitionSums(List<String> skus) {
+        Map<String, Integer> sums = new HashMap<>();
+        namedJdbcTemplate.query(PARTITION_SUM_SQL, Map.of("skus", skus),
+                (RowCallbackHandler) rs -> sums.put(rs.getString(1), rs.getInt(2)));
+        return sums;
+    }
+
+    private void reject(StockImportReport report, long line, String message) {
+        report.setRowsRejected(report.getRowsRejected() + 1);
+        rejectedCounter.increment();
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(new StockImportReport.RowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static int parseQuantity(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Quantity is not an integer: " + value);
+        }
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase().startsWith("sku,");
+    }
+}
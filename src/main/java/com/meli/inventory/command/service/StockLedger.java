@@ -0,0 +1,305 @@
+// ## Prompt: StockLedger
+// Create a component that keeps central stock as an append-only ledger when `inventory.stock.ledger.enabled` is true.
+
+// Requirements:
+// - Annotate with `@Component`.
+// - Changes are inserted into `stock_ledger` as immutable deltas (reserve, release, adjust, allocate); the row in
+//   `inventory_items` is never updated on the write path.
+// - Current stock = `InventoryItem.quantity` (snapshot at `ledgerPosition`) + deltas after it. A per-SKU head
+//   keeps that balance and the last seq in memory, loaded on first use.
+// - Appends of one SKU are serialized by a lock held until the surrounding transaction completes, so the balance
+//   check never sees uncommitted stock and seqs commit in order. The (sku, seq) unique key rejects a duplicate
+//   position written by another instance; the head is reloaded after any rollback.
+// - A `@Scheduled` job compacts heads: fold their balance into `quantity` and move `ledgerPosition`, one row
+//   update per SKU per run instead of one per write. Entries are kept as the audit trail.
+// - Heads are always loaded in a read-write transaction, so read/write routing never serves them from a lagging replica.
+// - Metrics: `inventory_ledger_appends_total{type}`, `inventory_ledger_compaction_duration`,
+//   gauge `inventory_ledger_uncompacted_entries`.
+
+// ## Prompt: Ledger lock ordering
+// - A transaction may hold the heads of several SKUs until it completes. Multi-SKU writers (batch reservations,
+//   escrow reclaim) append in ascending SKU order so two of them never wait on each other's heads.
+// - As a safety net, a head is awaited for at most `lock-timeout-ms`; past that the append throws
+//   `CannotAcquireLockException` and the caller's transaction rolls back instead of hanging.
+package com.meli.inventory.command.service;
+
+import com.meli.inventory.command.cache.InventoryItemCache;
+import com.meli.inventory.command.exception.NotEnoughStockException;
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.entities.StockLedgerEntry;
+import com.meli.inventory.model.entities.StockLedgerEntry.EntryType;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.repositories.StockLedgerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+@Component
+public class StockLedger {
+    private static final Logger logger = LoggerFactory.getLogger(StockLedger.class);
+
+    private final ConcurrentHashMap<String, Head> heads = new ConcurrentHashMap<>();
+
+    private final InventoryRepository inventoryRepository;
+    private final StockLedgerRepository ledgerRepository;
+    private final InventoryItemCache itemCache;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int compactionMinEntries;
+    private final long lockTimeoutMs;
+    private final Timer compactionTimer;
+
+    public StockLedger(InventoryRepository inventoryRepository,
+                       StockLedgerRepository ledgerRepository,
+                       InventoryItemCache itemCache,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${inventory.stock.ledger.enabled:false}") boolean enabled,
+                       @Value("${inventory.stock.ledger.compaction-min-entries:1}") int compactionMinEntries,
+                       @Value("${inventory.stock.ledger.lock-timeout-ms:5000}") long lockTimeoutMs) {
+        this.inventoryRepository = inventoryRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.itemCache = itemCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.compactionMinEntries = Math.max(1, compactionMinEntries);
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.compactionTimer = meterRegistry.timer("inventory_ledger_compaction_duration");
+        meterRegistry.gauge("inventory_ledger_uncompacted_entries", heads, StockLedger::uncompactedEntries);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 📒 Agrega un delta al ledger y devuelve el nuevo stock central **/
+    public int append(String sku, int delta, EntryType type, String reference) {
+        return apply(sku, balance -> delta, type, reference)[1];
+    }
+
+    /** 📒 Agrega el delta que lleva el stock central a {@code quantity} **/
+    public int adjustTo(String sku, int quantity) {
+        return apply(sku, balance -> quantity - balance, EntryType.ADJUST, null)[1];
+    }
+
+    /** 📒 Toma hasta {@code max} unidades del stock central y devuelve cuántas tomó **/
+    public int takeUpTo(String sku, int max, EntryType type, String reference) {
+        return -apply(sku, balance -> -Math.min(Math.max(balance, 0), max), type, reference)[0];
+    }
+
+    /** Current central stock, including deltas appended earlier in the caller's transaction. */
+    public int balance(String sku) {
+        Head head = heads.computeIfAbsent(sku, key -> new Head());
+        if (head.lock.isHeldByCurrentThread()) {
+            return head.committed + head.pending;
+        }
+        if (head.loaded) {
+            return head.committed;
+        }
+        acquire(sku, head);
+        try {
+            transactionTemplate.executeWithoutResult(status -> load(sku, head));
+            return head.committed;
+        } finally {
+            head.lock.unlock();
+        }
+    }
+
+    /** Drops the in-memory head so it is reloaded; used after bulk writes that bypass the ledger. */
+    public void invalidate(String sku) {
+        Head head = heads.get(sku);
+        if (head == null) {
+            return;
+        }
+        head.lock.lock();
+        try {
+            head.loaded = false;
+        } finally {
+            head.lock.unlock();
+        }
+    }
+
+    /** Returns {applied delta, new balance}. */
+    private int[] apply(String sku, IntUnaryOperator deltaForBalance, EntryType type, String reference) {
+        Head head = heads.computeIfAbsent(sku, key -> new Head());
+        boolean joined = head.lock.isHeldByCurrentThread();
+        if (!joined) {
+            acquire(sku, head);
+        }
+        boolean handedOver = joined;
+        try {
+            load(sku, head);
+            int balance = head.committed + head.pending;
+            int delta = deltaForBalance.applyAsInt(balance);
+            if (balance + delta < 0) {
+                throw new NotEnoughStockException("Not enough stock available for SKU " + sku);
+            }
+            if (delta == 0) {
+                return new int[]{0, balance};
+            }
+
+            long seq = head.lastSeq + head.pendingEntries + 1;
+            ledgerRepository.save(new StockLedgerEntry(sku, seq, delta, type, reference));
+            head.pending += delta;
+            head.pendingEntries++;
+            meterRegistry.counter("inventory_ledger_appends_total", "type", type.name().toLowerCase()).increment();
+
+            if (!joined) {
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new HeadRelease(head));
+                } else {
+                    head.complete(true);
+                    head.lock.unlock();
+                }
+                handedOver = true;
+            }
+            return new int[]{delta, balance + delta};
+        } finally {
+            if (!handedOver) {
+                head.lock.unlock();
+            }
+        }
+    }
+
+    private void acquire(String sku, Head head) {
+        try {
+            if (head.lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new CannotAcquireLockException("Timed out waiting for the ledger head of SKU " + sku);
+    }
+
+    private void load(String sku, Head head) {
+        if (head.loaded) {
+            return;
+        }
+        InventoryItem item = inventoryRepository.findBySku(sku)
+                .orElseThrow(() -> new NotEnoughStockException("Item with SKU " + sku + " not found."));
+        Object[] tail = ledgerRepository.sumSince(sku, item.getLedgerPosition()).get(0);
+        head.committed = item.getQuantity() + ((Number) tail[0]).intValue();
+        head.lastSeq = ((Number) tail[1]).longValue();
+        head.compactedSeq = item.getLedgerPosition();
+        head.loaded = true;
+    }
+
+    /** 🗜️ Compacta el ledger: vuelca el saldo de cada SKU en su snapshot (inventory_items) **/
+    @Scheduled(fixedDelayString = "${inventory.stock.ledger.compaction-interval-ms:30000}",
+            initialDelayString = "${inventory.stock.ledger.compaction-interval-ms:30000}")
+    public int compact() {
+        if (!enabled) {
+            return 0;
+        }
+        return compactionTimer.record(() -> {
+            int compacted = 0;
+            for (Map.Entry<String, Head> entry : heads.entrySet()) {
+                Head head = entry.getValue();
+                // Busy heads are skipped rather than waited for; the next run picks them up
+                if (head.lastSeq - head.compactedSeq < compactionMinEntries || !head.lock.tryLock()) {
+                    continue;
+                }
+                try {
+                    if (head.loaded && head.lastSeq > head.compactedSeq && compact(entry.getKey(), head)) {
+                        compacted++;
+                    }
+                } catch (RuntimeException e) {
+                    head.loaded = false;
+                    logger.warn("Ledger compaction failed for SKU {}", entry.getKey(), e);
+                } finally {
+                    head.lock.unlock();
+                }
+            }
+            if (compacted > 0) {
+                logger.debug("Compacted stock ledger of {} SKUs", compacted);
+            }
+            return compacted;
+        });
+    }
+
+    private boolean compact(String sku, Head head) {
+        Boolean compacted = transactionTemplate.execute(status -> {
+            InventoryItem item = inventoryRepository.findBySku(sku).orElse(null);
+            if (item == null || item.getLedgerPosition() != head.compactedSeq) {
+                // The snapshot moved underneath us (bulk import): reload instead of overwriting it
+                head.loaded = false;
+                return false;
+            }
+            item.setQuantity(head.committed);
+            item.setLedgerPosition(head.lastSeq);
+            itemCache.refreshAfterCommit(inventoryRepository.save(item));
+            return true;
+        });
+        if (Boolean.TRUE.equals(compacted)) {
+            head.compactedSeq = head.lastSeq;
+            return true;
+        }
+        return false;
+    }
+
+    private static double uncompactedEntries(Map<String, Head> heads) {
+        long total = 0;
+        for (Head head : heads.values()) {
+            total += head.lastSeq - head.compactedSeq;
+        }
+        return total;
+    }
+
+    /** Ledger head of one SKU. Mutable fields are written only by the thread holding {@code lock}. */
+    private static final class Head {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean loaded;
+        private volatile int committed;
+        private volatile long lastSeq;
+        private volatile long compactedSeq;
+        private int pending;
+        private int pendingEntries;
+
+        private void complete(boolean committedTransaction) {
+            if (committedTransaction) {
+                committed += pending;
+                lastSeq += pendingEntries;
+            } else {
+                loaded = false;
+            }
+            pending = 0;
+            pendingEntries = 0;
+        }
+    }
+
+    /** Publishes the transaction's deltas to the head and releases its lock once the transaction is over. */
+    private static final class HeadRelease implements TransactionSynchronization {
+        private final Head head;
+
+        private HeadRelease(Head head) {
+            this.head = head;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                head.complete(status == STATUS_COMMITTED);
+            } finally {
+                head.lock.unlock();
+            }
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.meli.inventory.config;
 
 import com.meli.inventory.model.entities.InventoryItem;
 import com.meli.inventory.model.repositories.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class DataInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
     @Bean
     CommandLineRunner initDatabase(InventoryRepository inventoryRepository) {
@@ -18,7 +21,7 @@ public class DataInitializer {
                 item.setName("Demo Product");
                 item.setQuantity(50);
                 inventoryRepository.save(item);
-                System.out.println("✅ Inventory initialized with demo product SKU 9090");
+                logger.info("✅ Inventory initialized with demo product SKU 9090");
             }
         };
     }
@@ -0,0 +1,64 @@
+// ## Prompt: Read/write datasource routing
+// Send read-only transactions to a separate pool (replica) when `inventory.datasource.routing.enabled` is true.
+
+// Requirements:
+// - Two Hikari pools: `inventory-primary` from `spring.datasource.*` and `inventory-replica` from
+//   `inventory.datasource.replica.*` (defaults to the primary URL, i.e. a separate pool on the same database).
+//   Each has its own size; Spring Boot binds `hikaricp_*{pool}` metrics for both.
+// - The `@Primary` DataSource is a `LazyConnectionDataSourceProxy` over the primary pool with the replica as its
+//   read-only target: the physical connection is taken on the first statement, after the transaction manager
+//   marked it read-only, so `@Transactional(readOnly = true)` work lands on the replica.
+package com.meli.inventory.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "inventory.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties,
+                                        @Value("${inventory.datasource.primary.pool-size:10}") int poolSize) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("inventory-primary");
+        pool.setMaximumPoolSize(poolSize);
+        return pool;
+    }
+
+    @Bean
+    public DataSource replicaDataSource(DataSourceProperties properties,
+                                        @Value("${inventory.datasource.replica.url:}") String url,
+                                        @Value("${inventory.datasource.replica.username:}") String username,
+                                        @Value("${inventory.datasource.replica.password:}") String password,
+                                        @Value("${inventory.datasource.replica.pool-size:10}") int poolSize) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!url.isBlank()) {
+            pool.setJdbcUrl(url);
+            pool.setUsername(username.isBlank() ? properties.determineUsername() : username);
+            pool.setPassword(username.isBlank() ? properties.determinePassword() : password);
+        }
+        pool.setPoolName("inventory-replica");
+        pool.setMaximumPoolSize(poolSize);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replica);
+        return routing;
+    }
+}
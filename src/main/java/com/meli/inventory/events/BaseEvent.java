@@ -5,21 +5,58 @@
 // - Fields: `eventId (UUID)`, `timestamp (LocalDateTime)`.
 // - Constructor initializes both automatically.
 // - Add Lombok annotations: `@Getter`, `@ToString`.
+
+// ## Prompt: Event sequence
+// - Add a `sequence (long)` assigned by `EventBus.publish` so consumers can track the last applied event.
+
+// ## Prompt: Propagation lag
+// - `timestamp` is an `Instant`; monotonic `System.nanoTime()` stamps (created, published, committed) are kept
+//   for latency measurement by `EventLagMetrics` and excluded from `toString`.
 package com.meli.inventory.events;
 
 import lombok.Getter;
 import lombok.ToString;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 @Getter
 @ToString
 public abstract class BaseEvent {
     private final UUID eventId;
-    private final LocalDateTime timestamp;
+    private final Instant timestamp;
+    private volatile long sequence;
+    @ToString.Exclude
+    private final long createdNanos;
+    @ToString.Exclude
+    private volatile long publishedNanos;
+    @ToString.Exclude
+    private volatile long committedNanos;
+    // COMMITTED / APPLIED bits, so whichever of commit and apply happens second sees the other
+    @ToString.Exclude
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicInteger progress = new AtomicInteger();
 
     public BaseEvent() {
         this.eventId = UUID.randomUUID();
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = Instant.now();
+        this.createdNanos = System.nanoTime();
+    }
+
+    void assignSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    void markPublished(long nanos) {
+        this.publishedNanos = nanos;
+    }
+
+    void markCommitted(long nanos) {
+        this.committedNanos = nanos;
+    }
+
+    /** Sets {@code flag} and returns the flags set before. */
+    int advance(int flag) {
+        return progress.getAndUpdate(current -> current | flag);
     }
-}
\ No newline at end of file
+}
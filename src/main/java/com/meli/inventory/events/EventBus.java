@@ -7,6 +7,16 @@
 // - Method `publish(BaseEvent event)` → asynchronously notifies all subscribers using `ExecutorService`.
 // - Annotate with `@Component`.
 // - Log every published event (use SLF4J logger).
+
+// ## Prompt: Event sequence
+// - Assign a monotonically increasing sequence to every published event.
+// - `advanceSequenceTo(long)` lets a restored read-model snapshot keep sequences monotonic across restarts.
+
+// ## Prompt: Propagation lag
+// - Report publish and the start/end of every listener dispatch to `EventLagMetrics`.
+
+// ## Prompt: Sampled event logging
+// - Log published events at DEBUG; INFO output per event comes sampled from `EventLogSummary`.
 package com.meli.inventory.events;
 
 import org.slf4j.Logger;
@@ -17,20 +27,44 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 @Component
 public class EventBus {
     private static final Logger logger = LoggerFactory.getLogger(EventBus.class);
     private final List<EventListener> listeners = new ArrayList<>();
     private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final AtomicLong sequence = new AtomicLong();
+    private final EventLagMetrics lagMetrics;
+
+    public EventBus(EventLagMetrics lagMetrics) {
+        this.lagMetrics = lagMetrics;
+    }
 
     public void subscribe(EventListener listener) {
         listeners.add(listener);
     }
 
     public void publish(BaseEvent event) {
-        logger.info("Publishing event: {}", event);
+        event.assignSequence(sequence.incrementAndGet());
+        lagMetrics.published(event);
+        logger.debug("Publishing event: {}", event);
         for (EventListener listener : listeners) {
-            executorService.submit(() -> listener.onEvent(event));
+            executorService.submit(() -> {
+                lagMetrics.beginDispatch(event);
+                try {
+                    listener.onEvent(event);
+                } finally {
+                    lagMetrics.endDispatch();
+                }
+            });
         }
     }
-}
\ No newline at end of file
+
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    public void advanceSequenceTo(long value) {
+        sequence.accumulateAndGet(value, Math::max);
+    }
+}
@@ -5,10 +5,21 @@
 // - Inject `EventBus`.
 // - In a `@PostConstruct` method, subscribe a simple listener that logs every received event.
 // - Use SLF4J logger to print event details.
+// - Feed every `StockUpdatedEvent` to the read model and then to the `LowStockAlertEngine`.
+// - Feed every `ReservationLifecycleEvent` to the `StoreReservationQueryService`.
+// - Feed every `StoreStockUpdatedEvent` to the `StoreStockQueryService`.
+//
+// ## Prompt: Sampled event logging
+// - The catch-all listener reports to `EventLogSummary` (sampled full lines + periodic per-type counts) instead of
+//   logging every event at INFO.
 
 package com.meli.inventory.events;
 
+import com.meli.inventory.observability.EventLogSummary;
+import com.meli.inventory.query.alert.LowStockAlertEngine;
 import com.meli.inventory.query.service.InventoryQueryService;
+import com.meli.inventory.query.service.StoreReservationQueryService;
+import com.meli.inventory.query.service.StoreStockQueryService;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,21 +32,46 @@ public class EventBusSimulatorConfig {
 
     private final EventBus eventBus;
     private final InventoryQueryService queryService;
+    private final LowStockAlertEngine lowStockAlertEngine;
+    private final StoreReservationQueryService storeReservationQueryService;
+    private final StoreStockQueryService storeStockQueryService;
+    private final EventLogSummary eventLogSummary;
 
     @Autowired
-    public EventBusSimulatorConfig(EventBus eventBus, InventoryQueryService queryService) {
+    public EventBusSimulatorConfig(EventBus eventBus, InventoryQueryService queryService,
+                                   LowStockAlertEngine lowStockAlertEngine,
+                                   StoreReservationQueryService storeReservationQueryService,
+                                   StoreStockQueryService storeStockQueryService,
+                                   EventLogSummary eventLogSummary) {
         this.eventBus = eventBus;
         this.queryService = queryService;
+        this.lowStockAlertEngine = lowStockAlertEngine;
+        this.storeReservationQueryService = storeReservationQueryService;
+        this.storeStockQueryService = storeStockQueryService;
+        this.eventLogSummary = eventLogSummary;
     }
 
     @PostConstruct
     public void init() {
-        eventBus.subscribe(event -> logger.info("Received event: {}", event));
+        eventBus.subscribe(eventLogSummary::onEvent);
         
         eventBus.subscribe(event -> {
             if (event instanceof StockUpdatedEvent stockEvent) {
                 logger.debug("Processing stock update event for SKU: {}", stockEvent.getSku());
                 queryService.handleStockUpdated(stockEvent);
+                lowStockAlertEngine.onStockUpdated(stockEvent);
+            }
+        });
+
+        eventBus.subscribe(event -> {
+            if (event instanceof ReservationLifecycleEvent reservationEvent) {
+                storeReservationQueryService.handleReservationEvent(reservationEvent);
+            }
+        });
+
+        eventBus.subscribe(event -> {
+            if (event instanceof StoreStockUpdatedEvent storeStockEvent) {
+                storeStockQueryService.handleStoreStockUpdated(storeStockEvent);
             }
         });
     }
@@ -0,0 +1,38 @@
+// ## Prompt: EventLagEndpoint
+// Expose read-model staleness as the actuator endpoint `/actuator/eventlag`.
+
+// Requirements:
+// - `@ReadOperation` → the SKUs with the oldest committed-but-unapplied stock events (up to `limit`, default 10).
+// - `@ReadOperation` with `@Selector sku` → staleness of one SKU.
+package com.meli.inventory.events;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "eventlag")
+public class EventLagEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final EventLagMetrics lagMetrics;
+
+    public EventLagEndpoint(EventLagMetrics lagMetrics) {
+        this.lagMetrics = lagMetrics;
+    }
+
+    @ReadOperation
+    public List<EventLagMetrics.SkuStaleness> stalest(@Nullable Integer limit) {
+        return lagMetrics.stalest(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit);
+    }
+
+    @ReadOperation
+    public EventLagMetrics.SkuStaleness sku(@Selector String sku) {
+        return lagMetrics.stalenessOf(sku);
+    }
+}
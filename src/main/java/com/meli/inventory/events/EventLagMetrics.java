@@ -0,0 +1,165 @@
+// ## Prompt: EventLagMetrics
+// Measure how eventual the read model is, end to end.
+
+// Requirements:
+// - Annotate with `@Component`; `EventBus` and `InventoryQueryService` report to it.
+// - Timers with percentiles and histogram buckets, tagged by event type only:
+//   - `inventory_event_dispatch_lag{event}`: publish → a listener starts handling the event.
+//   - `inventory_event_apply_lag{event}`: dispatch → applied to the read model.
+//   - `inventory_event_commit_to_applied{event}`: the publishing transaction commits → applied. Events applied before
+//     their transaction committed are counted in `inventory_event_applied_before_commit_total` instead.
+// - Staleness of `StockUpdatedEvent`s committed but not applied yet: gauges `inventory_readmodel_pending_events` and
+//   `inventory_readmodel_staleness_max_seconds`; per SKU through `stalenessOf(sku)` (no per-SKU meters).
+//   Events still unapplied after `inventory.read-model.lag.pending-timeout-ms` are dropped from tracking and counted
+//   in `inventory_event_never_applied_total` (reconciliation repairs their entries).
+// - Dispatch start is thread-bound (`beginDispatch`/`endDispatch`), like request statement counting.
+package com.meli.inventory.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class EventLagMetrics {
+
+    public record SkuStaleness(String sku, int pendingEvents, long stalenessMs) {
+    }
+
+    private record Pending(String sku, long committedNanos) {
+    }
+
+    private static final int COMMITTED = 1;
+    private static final int APPLIED = 2;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter appliedBeforeCommit;
+    private final Counter neverApplied;
+    private final long pendingTimeoutNanos;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> dispatchStart = new ThreadLocal<>();
+
+    public EventLagMetrics(MeterRegistry meterRegistry,
+                           @Value("${inventory.read-model.lag.pending-timeout-ms:600000}") long pendingTimeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.pendingTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(pendingTimeoutMs);
+        this.appliedBeforeCommit = meterRegistry.counter("inventory_event_applied_before_commit_total");
+        this.neverApplied = meterRegistry.counter("inventory_event_never_applied_total");
+        meterRegistry.gauge("inventory_readmodel_pending_events", pending, Map::size);
+        meterRegistry.gauge("inventory_readmodel_staleness_max_seconds", this,
+                metrics -> metrics.maxStalenessNanos(System.nanoTime()) / 1e9);
+    }
+
+    /** ⏱️ Marca la publicación y, si hay transacción, el commit cuando ocurra **/
+    void published(BaseEvent event) {
+        long now = System.nanoTime();
+        event.markPublished(now);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(event, now);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(event, System.nanoTime());
+            }
+        });
+    }
+
+    void beginDispatch(BaseEvent event) {
+        long now = System.nanoTime();
+        dispatchStart.set(now);
+        record("inventory_event_dispatch_lag", event, now - event.getPublishedNanos());
+    }
+
+    void endDispatch() {
+        dispatchStart.remove();
+    }
+
+    /** ✅ El evento quedó aplicado en el read model **/
+    public void applied(BaseEvent event) {
+        long now = System.nanoTime();
+        Long dispatched = dispatchStart.get();
+        if (dispatched != null) {
+            record("inventory_event_apply_lag", event, now - dispatched);
+        }
+        if ((event.advance(APPLIED) & COMMITTED) != 0) {
+            pending.remove(event.getSequence());
+            record("inventory_event_commit_to_applied", event, now - event.getCommittedNanos());
+        }
+    }
+
+    public SkuStaleness stalenessOf(String sku) {
+        long now = System.nanoTime();
+        int count = 0;
+        long oldest = now;
+        for (Pending entry : pending.values()) {
+            if (entry.sku().equals(sku)) {
+                count++;
+                oldest = Math.min(oldest, entry.committedNanos());
+            }
+        }
+        return new SkuStaleness(sku, count, TimeUnit.NANOSECONDS.toMillis(now - oldest));
+    }
+
+    public List<SkuStaleness> stalest(int limit) {
+        return pending.values().stream()
+                .map(Pending::sku)
+                .distinct()
+                .map(this::stalenessOf)
+                .sorted(Comparator.comparingLong(SkuStaleness::stalenessMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private void committed(BaseEvent event, long now) {
+        event.markCommitted(now);
+        if (!(event instanceof StockUpdatedEvent stockEvent)) {
+            return;
+        }
+        // registered before the flag flips, so a concurrent apply always finds the entry to remove
+        pending.put(event.getSequence(), new Pending(stockEvent.getSku(), now));
+        if ((event.advance(COMMITTED) & APPLIED) != 0) {
+            pending.remove(event.getSequence());
+            appliedBeforeCommit.increment();
+        }
+    }
+
+    private long maxStalenessNanos(long now) {
+        long oldest = now;
+        for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+            long committedNanos = entry.getValue().committedNanos();
+            if (now - committedNanos > pendingTimeoutNanos) {
+                if (pending.remove(entry.getKey()) != null) {
+                    neverApplied.increment();
+                }
+            } else {
+                oldest = Math.min(oldest, committedNanos);
+            }
+        }
+        return now - oldest;
+    }
+
+    private void record(String name, BaseEvent event, long nanos) {
+        String type = event.getClass().getSimpleName();
+        timers.computeIfAbsent(name + '|' + type, key -> Timer.builder(name)
+                        .tag("event", type)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(10_000))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry))
+                .record(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,34 @@
+// ## Prompt: LowStockAlertEvent
+// Create a class `LowStockAlertEvent` extending `BaseEvent`.
+
+// Requirements:
+// - Fields: `sku (String)`, `threshold (Integer)`, `quantity (Integer)`, `state (State)`.
+// - Enum `State { TRIGGERED, RESOLVED }`.
+// - Add Lombok annotations: `@Getter`, `@ToString`, `@EqualsAndHashCode(callSuper = true)`.
+package com.meli.inventory.events;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+@Getter
+@ToString
+@EqualsAndHashCode(callSuper = true)
+public class LowStockAlertEvent extends BaseEvent {
+    private final String sku;
+    private final Integer threshold;
+    private final Integer quantity;
+    private final State state;
+
+    public LowStockAlertEvent(String sku, Integer threshold, Integer quantity, State state) {
+        super();
+        this.sku = sku;
+        this.threshold = threshold;
+        this.quantity = quantity;
+        this.state = state;
+    }
+
+    public enum State {
+        TRIGGERED,
+        RESOLVED
+    }
+}
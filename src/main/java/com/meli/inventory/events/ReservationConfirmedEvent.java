@@ -0,0 +1,12 @@
+package com.meli.inventory.events;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class ReservationConfirmedEvent extends ReservationLifecycleEvent {
+
+    public ReservationConfirmedEvent(Long reservationId, String sku, String storeId, Integer quantity) {
+        super(reservationId, sku, storeId, quantity);
+    }
+}
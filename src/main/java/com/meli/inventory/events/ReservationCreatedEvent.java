@@ -0,0 +1,12 @@
+package com.meli.inventory.events;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class ReservationCreatedEvent extends ReservationLifecycleEvent {
+
+    public ReservationCreatedEvent(Long reservationId, String sku, String storeId, Integer quantity) {
+        super(reservationId, sku, storeId, quantity);
+    }
+}
@@ -0,0 +1,29 @@
+// ## Prompt: ReservationLifecycleEvent
+// Create an abstract class `ReservationLifecycleEvent` extending `BaseEvent` for reservation state changes.
+
+// Requirements:
+// - Fields: `reservationId (Long)`, `sku (String)`, `storeId (String)`, `quantity (Integer)`.
+// - Subclasses: `ReservationCreatedEvent`, `ReservationConfirmedEvent`, `ReservationCancelledEvent`.
+// - Add Lombok annotations: `@Getter`, `@ToString`, `@EqualsAndHashCode(callSuper = true)`.
+package com.meli.inventory.events;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+@Getter
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public abstract class ReservationLifecycleEvent extends BaseEvent {
+    private final Long reservationId;
+    private final String sku;
+    private final String storeId;
+    private final Integer quantity;
+
+    protected ReservationLifecycleEvent(Long reservationId, String sku, String storeId, Integer quantity) {
+        super();
+        this.reservationId = reservationId;
+        this.sku = sku;
+        this.storeId = storeId;
+        this.quantity = quantity;
+    }
+}
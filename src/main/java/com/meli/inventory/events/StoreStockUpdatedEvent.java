@@ -0,0 +1,26 @@
+// ## Prompt: StoreStockUpdatedEvent
+// Create a class `StoreStockUpdatedEvent` extending `BaseEvent`.
+
+// Requirements:
+// - Fields: `sku (String)`, `storeId (String)`, `newQuantity (Integer)` → stock left in that store's partition.
+// - Add Lombok annotations: `@Getter`, `@ToString`, `@EqualsAndHashCode(callSuper = true)`.
+package com.meli.inventory.events;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+@Getter
+@ToString
+@EqualsAndHashCode(callSuper = true)
+public class StoreStockUpdatedEvent extends BaseEvent {
+    private final String sku;
+    private final String storeId;
+    private final Integer newQuantity;
+
+    public StoreStockUpdatedEvent(String sku, String storeId, Integer newQuantity) {
+        super();
+        this.sku = sku;
+        this.storeId = storeId;
+        this.newQuantity = newQuantity;
+    }
+}
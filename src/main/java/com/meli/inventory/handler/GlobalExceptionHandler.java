@@ -1,7 +1,11 @@
 package com.meli.inventory.handler;
 
+import com.meli.inventory.command.exception.AdmissionRejectedException;
 import com.meli.inventory.command.exception.NotEnoughStockException;
 import com.meli.inventory.command.exception.ReservationNotFoundException;
+import com.meli.inventory.command.exception.ReservationTimeoutException;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -26,4 +30,26 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleNotFound(ReservationNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<String> handleAdmissionRejected(AdmissionRejectedException ex) {
+        HttpStatus status = ex.isRateLimited() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ReservationTimeoutException.class)
+    public ResponseEntity<String> handleReservationTimeout(ReservationTimeoutException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(CannotAcquireLockException.class)
+    public ResponseEntity<String> handleLockTimeout(CannotAcquireLockException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
 }
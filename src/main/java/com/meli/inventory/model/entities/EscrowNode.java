@@ -0,0 +1,33 @@
+// Prompt: EscrowNode Entity
+// Create a JPA entity class EscrowNode inside com.meli.inventory.model.entities: liveness of a node holding leases.
+// Requirements:
+// - Fields: nodeId (String, id), heartbeatAt (LocalDateTime), version (Long)
+// - Annotate with @Entity, @Table(name="escrow_nodes"), index on heartbeat_at
+// - Use @Version so two nodes never reclaim the same dead node
+package com.meli.inventory.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "escrow_nodes", indexes = @Index(name = "idx_escrow_nodes_heartbeat_at", columnList = "heartbeat_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EscrowNode {
+    @Id
+    @Column(name = "node_id")
+    private String nodeId;
+
+    @NonNull
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Version
+    private Long version;
+}
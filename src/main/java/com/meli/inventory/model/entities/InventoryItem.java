@@ -7,23 +7,44 @@
 // - Add Lombok annotations: @Data, @NoArgsConstructor, @AllArgsConstructor
 // - Include @GeneratedValue for id
 // - Add a helper method decreaseStock(int amount) that throws if amount > quantity.
+
+// ## Prompt: Track last modification
+// - Add `lastModified (LocalDateTime)` maintained by `@PrePersist`/`@PreUpdate` and indexed,
+//   so the read model can catch up only rows changed since its last snapshot.
+//
+// ## Prompt: Batch-friendly ids
+// - Replace IDENTITY with `@PooledSequence` (sequence `inventory_items_seq`) so inserts can be JDBC-batched.
+//
+// ## Prompt: Stock ledger mode
+// - Add `ledgerPosition (Long)`: last `stock_ledger` seq folded into `quantity`. In ledger mode `quantity` is the
+//   snapshot and the current stock is `quantity` plus the deltas appended after this position.
+//
+// ## Prompt: Reconciliation hashes
+// - Add indexed `skuHash` and `nameHash` (Integer) maintained with `lastModified`, so the read-model reconciler can
+//   split the SKU keyspace into hash ranges the database filters on and checksum each range in SQL.
+// - Keep the 7-argument constructor; the hashes are derived, never passed in.
 package com.meli.inventory.model.entities;
 
 import com.meli.inventory.command.exception.NotEnoughStockException;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory_items")
+@Table(name = "inventory_items",
+        indexes = {
+                @Index(name = "idx_inventory_items_last_modified", columnList = "last_modified"),
+                @Index(name = "idx_inventory_items_sku_hash", columnList = "sku_hash")
+        })
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class InventoryItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence
     private Long id;
 
     @NonNull
@@ -38,6 +59,49 @@ public class InventoryItem {
     @Version
     private Long version;
 
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+
+    @ColumnDefault("0")
+    @Column(name = "ledger_position", nullable = false)
+    private Long ledgerPosition = 0L;
+
+    @Column(name = "sku_hash")
+    private Integer skuHash;
+
+    @Column(name = "name_hash")
+    private Integer nameHash;
+
+    public InventoryItem(Long id, @NonNull String sku, @NonNull String name, @NonNull Integer quantity,
+                         Long version, LocalDateTime lastModified, Long ledgerPosition) {
+        this.id = id;
+        this.sku = sku;
+        this.name = name;
+        this.quantity = quantity;
+        this.version = version;
+        this.lastModified = lastModified;
+        this.ledgerPosition = ledgerPosition;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touchLastModified() {
+        this.lastModified = LocalDateTime.now();
+        this.skuHash = hashOf(sku);
+        this.nameHash = hashOf(name);
+    }
+
+    /** 🔑 Hash estable de sku/name: misma función en la base (columnas) y en el read model **/
+    public static int hashOf(String value) {
+        // murmur3 fmix32 over String.hashCode, so neighbouring SKUs spread over the whole int range
+        int h = value.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
     public void decreaseStock(int amount) {
         if (amount > this.quantity) {
             throw new NotEnoughStockException("Not enough stock available for SKU " + this.sku);
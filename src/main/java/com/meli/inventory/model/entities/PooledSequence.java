@@ -0,0 +1,20 @@
+// ## Prompt: PooledSequence
+// Create an id generator annotation so entities can use a pooled sequence instead of IDENTITY.
+// - Meta-annotate with `@IdGeneratorType(PooledSequenceGenerator.class)`.
+// - The backing sequence is `<table>_seq`.
+package com.meli.inventory.model.entities;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledSequence {
+}
@@ -0,0 +1,35 @@
+// ## Prompt: PooledSequenceGenerator
+// Create a sequence generator that lets Hibernate batch INSERTs.
+// - Extend `SequenceStyleGenerator` with the `pooled-lo` optimizer: one sequence call hands out
+//   `allocation-size` ids, so ids are known before the INSERT and JDBC batching stays enabled.
+// - Read the allocation size from the Hibernate setting `inventory.id.allocation-size`
+//   (`spring.jpa.properties.inventory.id.allocation-size`), default 50.
+// - Name the sequence after the entity table (`<table>_seq`). Hibernate creates generators through the Spring
+//   bean container, so the generator keeps a no-arg constructor.
+package com.meli.inventory.model.entities;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String ALLOCATION_SIZE_SETTING = "inventory.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings()
+                .get(ALLOCATION_SIZE_SETTING);
+
+        parameters.put(SEQUENCE_PARAM, parameters.getProperty(PersistentIdentifierGenerator.TABLE) + "_seq");
+        parameters.put(INCREMENT_PARAM, allocationSize == null ? String.valueOf(DEFAULT_ALLOCATION_SIZE) : allocationSize.toString());
+        parameters.put(OPT_PARAM, "pooled-lo");
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -8,6 +8,19 @@
 // - Use `@Enumerated(EnumType.STRING)` for status
 // - Create enum `ReservationStatus { PENDING, CONFIRMED, CANCELLED }`
 // - Add helper method `isExpired()` returning true if now is after `expiresAt`
+//
+// ## Prompt: Hot/cold reservation split
+// - Index (status, expires_at) for expiry/archival scans and (sku) for per-SKU lookups.
+// - Add `isTerminal()`: CONFIRMED and CANCELLED rows are eligible for archival into `reservation_history`.
+//
+// ## Prompt: Batch-friendly ids
+// - Replace IDENTITY with `@PooledSequence` (sequence `reservations_seq`) so inserts can be JDBC-batched.
+//
+// ## Prompt: Escrow stock leases
+// - Add nullable `leaseNode`: the node whose in-memory stock lease served the reservation (null when the
+//   reservation went through `InventoryService`). Used to return the units to that lease on cancel and to
+//   account for unsynced consumption when a dead node's leases are reclaimed. Cleared when a cancellation gives
+//   the units back to that lease.
 package com.meli.inventory.model.entities;
 
 import jakarta.persistence.*;
@@ -18,13 +31,16 @@ import lombok.NonNull;
 
 import java.time.LocalDateTime;
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_status_expires_at", columnList = "status, expires_at"),
+        @Index(name = "idx_reservations_sku", columnList = "sku")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence
     private Long id;
 
     @NonNull
@@ -46,10 +62,17 @@ public class Reservation {
     @NonNull
     private LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(10);
 
+    @Column(name = "lease_node")
+    private String leaseNode;
+
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(this.expiresAt);
     }
 
+    public boolean isTerminal() {
+        return this.status == ReservationStatus.CONFIRMED || this.status == ReservationStatus.CANCELLED;
+    }
+
     public enum ReservationStatus {
         PENDING,
         CONFIRMED,
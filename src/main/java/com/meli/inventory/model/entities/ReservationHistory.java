@@ -0,0 +1,51 @@
+// Prompt: ReservationHistory Entity
+// Create a JPA entity class ReservationHistory inside com.meli.inventory.model.entities for archived reservations.
+// Requirements:
+// - Same fields as Reservation plus archivedAt (LocalDateTime); the id is copied from the original reservation.
+// - Annotate with @Entity, @Table(name="reservation_history") with indexes on (sku) and (store_id, status)
+// - Add Lombok annotations: @Data, @NoArgsConstructor, @AllArgsConstructor
+// - Add a static factory from(Reservation, archivedAt).
+package com.meli.inventory.model.entities;
+
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reservation_history", indexes = {
+        @Index(name = "idx_reservation_history_sku", columnList = "sku"),
+        @Index(name = "idx_reservation_history_store_status", columnList = "store_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationHistory {
+    @Id
+    private Long id;
+
+    private String sku;
+
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    @Column(name = "store_id")
+    private String storeId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime archivedAt;
+
+    public static ReservationHistory from(Reservation reservation, LocalDateTime archivedAt) {
+        return new ReservationHistory(reservation.getId(), reservation.getSku(), reservation.getQuantity(),
+                reservation.getStatus(), reservation.getStoreId(), reservation.getCreatedAt(),
+                reservation.getExpiresAt(), archivedAt);
+    }
+}
@@ -0,0 +1,50 @@
+// Prompt: StockLease Entity
+// Create a JPA entity class StockLease inside com.meli.inventory.model.entities holding stock escrowed to one node.
+// Requirements:
+// - Fields: id (Long), sku (String), nodeId (String), quantity (Integer), version (Long), syncedAt (LocalDateTime)
+// - Annotate with @Entity, @Table(name="stock_leases") with a unique constraint on (sku, node_id)
+// - `quantity` is the node's unconsumed lease as of `syncedAt`; units it served later are only in memory
+// - Use @Version for optimistic locking on version
+package com.meli.inventory.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_leases",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_leases_sku_node", columnNames = {"sku", "node_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLease {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NonNull
+    private String sku;
+
+    @NonNull
+    @Column(name = "node_id")
+    private String nodeId;
+
+    @NonNull
+    private Integer quantity;
+
+    @Version
+    private Long version;
+
+    @Column(name = "synced_at")
+    private LocalDateTime syncedAt;
+
+    public StockLease(@NonNull String sku, @NonNull String nodeId, @NonNull Integer quantity) {
+        this.sku = sku;
+        this.nodeId = nodeId;
+        this.quantity = quantity;
+    }
+}
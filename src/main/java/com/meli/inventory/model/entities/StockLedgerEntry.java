@@ -0,0 +1,62 @@
+// Prompt: StockLedgerEntry Entity
+// Create an immutable JPA entity for the append-only stock ledger (`stock_ledger`).
+// Requirements:
+// - Fields: id (Long), sku (String), seq (Long, per-SKU sequence), delta (Integer), type (Enum), reference (String),
+//   createdAt (LocalDateTime)
+// - Unique constraint on (sku, seq): two writers can never append the same position of a SKU's ledger
+// - `@Immutable`: rows are only ever inserted
+// - Create enum `EntryType { RESERVE, RELEASE, ADJUST, ALLOCATE }`
+package com.meli.inventory.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable
+@Table(name = "stock_ledger",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_ledger_sku_seq", columnNames = {"sku", "seq"}),
+        indexes = @Index(name = "idx_stock_ledger_created_at", columnList = "created_at"))
+@Getter
+@NoArgsConstructor
+public class StockLedgerEntry {
+    @Id
+    @PooledSequence
+    private Long id;
+
+    @NonNull
+    private String sku;
+
+    @NonNull
+    private Long seq;
+
+    @NonNull
+    private Integer delta;
+
+    @NonNull
+    @Enumerated(EnumType.STRING)
+    private EntryType type;
+
+    private String reference;
+
+    @NonNull
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public StockLedgerEntry(@NonNull String sku, long seq, int delta, @NonNull EntryType type, String reference) {
+        this.sku = sku;
+        this.seq = seq;
+        this.delta = delta;
+        this.type = type;
+        this.reference = reference;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum EntryType {
+        RESERVE, RELEASE, ADJUST, ALLOCATE
+    }
+}
@@ -0,0 +1,70 @@
+// Prompt: StoreStock Entity
+// Create a JPA entity class StoreStock inside com.meli.inventory.model.entities holding the stock allocated to one store.
+// Requirements:
+// - Fields: id (Long), sku (String), storeId (String), quantity (Integer), version (Long), lastModified (LocalDateTime)
+// - Annotate with @Entity, @Table(name="store_stock") with a unique constraint on (sku, store_id)
+// - Use @Version for optimistic locking on version
+// - Add Lombok annotations: @Data, @NoArgsConstructor, @AllArgsConstructor
+// - Add helper methods decreaseStock(int amount) (throws if amount > quantity) and increaseStock(int amount).
+package com.meli.inventory.model.entities;
+
+import com.meli.inventory.command.exception.NotEnoughStockException;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "store_stock",
+        uniqueConstraints = @UniqueConstraint(name = "uk_store_stock_sku_store", columnNames = {"sku", "store_id"}),
+        indexes = @Index(name = "idx_store_stock_last_modified", columnList = "last_modified"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreStock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NonNull
+    private String sku;
+
+    @NonNull
+    @Column(name = "store_id")
+    private String storeId;
+
+    @NonNull
+    private Integer quantity;
+
+    @Version
+    private Long version;
+
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+
+    public StoreStock(@NonNull String sku, @NonNull String storeId, @NonNull Integer quantity) {
+        this.sku = sku;
+        this.storeId = storeId;
+        this.quantity = quantity;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touchLastModified() {
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public void decreaseStock(int amount) {
+        if (amount > this.quantity) {
+            throw new NotEnoughStockException("Not enough stock available for SKU " + this.sku + " in store " + this.storeId);
+        }
+        this.quantity -= amount;
+    }
+
+    public void increaseStock(int amount) {
+        this.quantity += amount;
+    }
+}
@@ -0,0 +1,15 @@
+// ## Prompt: InventoryProjection
+// Create a read-only Spring Data projection over `InventoryItem` with only the columns the read model needs.
+
+// Requirements:
+// - Interface-based projection with `getSku()`, `getName()`, `getQuantity()`.
+// - Used by streaming queries so no managed `InventoryItem` entities are created.
+package com.meli.inventory.model.projections;
+
+public interface InventoryProjection {
+    String getSku();
+
+    String getName();
+
+    Integer getQuantity();
+}
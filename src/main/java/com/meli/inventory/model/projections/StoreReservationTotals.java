@@ -0,0 +1,15 @@
+// ## Prompt: StoreReservationTotals
+// Create a Spring Data projection with reservation quantities aggregated per (store, SKU, status).
+package com.meli.inventory.model.projections;
+
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+
+public interface StoreReservationTotals {
+    String getStoreId();
+
+    String getSku();
+
+    ReservationStatus getStatus();
+
+    Long getQuantity();
+}
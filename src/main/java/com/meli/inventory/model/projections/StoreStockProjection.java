@@ -0,0 +1,11 @@
+// ## Prompt: StoreStockProjection
+// Create a read-only Spring Data projection over `StoreStock` with sku, storeId and quantity.
+package com.meli.inventory.model.projections;
+
+public interface StoreStockProjection {
+    String getSku();
+
+    String getStoreId();
+
+    Integer getQuantity();
+}
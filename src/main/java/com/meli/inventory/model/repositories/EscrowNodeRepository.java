@@ -0,0 +1,17 @@
+// ## Prompt: Repositories
+// Create interface extending JpaRepository:
+// - `EscrowNodeRepository extends JpaRepository<EscrowNode, String>` with:
+//   - `List<EscrowNode> findByHeartbeatAtBefore(LocalDateTime cutoff)` → nodes presumed dead
+package com.meli.inventory.model.repositories;
+
+import com.meli.inventory.model.entities.EscrowNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EscrowNodeRepository extends JpaRepository<EscrowNode, String> {
+    List<EscrowNode> findByHeartbeatAtBefore(LocalDateTime cutoff);
+}
@@ -1,14 +1,115 @@
 // ## Prompt: Repositories
 // Create interface extending JpaRepository:
 // - `InventoryRepository extends JpaRepository<InventoryItem, Long>` with a method `Optional<InventoryItem> findBySku(String sku)`
+//
+// ## Prompt: Streamed read-model warm-up
+// - Add `findIdBounds()` returning min/max id so the keyspace can be split into ranges.
+// - Add `streamProjectionByIdRange(from, to)` returning a read-only `Stream<InventoryProjection>` with a JDBC fetch size.
+// - Add `streamProjectionModifiedSince(since)` for snapshot catch-up.
+//
+// ## Prompt: Store-partitioned stock
+// - Projections report the aggregated quantity: central stock plus every `StoreStock` partition of the SKU.
+// - A row counts as modified when the item or any of its partitions changed.
+//
+// ## Prompt: Read-model reconciliation
+// - Add `findProjectionsBySkuIn(skus)` so the reconciler re-reads only the SKUs it is about to repair.
+//
+// ## Prompt: Stock ledger mode
+// - The aggregated quantity also adds `stock_ledger` deltas appended after the item's ledger position, and a row
+//   counts as modified when it got new ledger entries. Without ledger entries both are unchanged.
+//
+// ## Prompt: Escrow stock leases
+// - Stock escrowed to nodes (`stock_leases`) is part of the aggregated quantity, like store partitions.
+//
+// ## Prompt: Range checksums in SQL
+// - Add `sumRangeChecksums(ranges)`: one grouped query returning, per SKU-hash range, the row count, the sum of
+//   aggregated quantities, the sum of name hashes and the sum of quantities weighted by the low SKU-hash bits.
+//   Only these aggregates leave the database.
+// - Add `streamProjectionBySkuHashRange(lo, hi)` so the reconciler reads only the rows of a differing range
+//   through `idx_inventory_items_sku_hash`.
+// - Add `findRowsWithoutHashes(limit)`/`updateHashes(...)` to backfill rows written before the hash columns existed.
 package com.meli.inventory.model.repositories;
 
 import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.projections.InventoryProjection;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface InventoryRepository extends JpaRepository<InventoryItem, Long> {
+    String AGGREGATED_QUANTITY =
+            "(i.quantity" +
+            " + coalesce((select sum(l.delta) from StockLedgerEntry l where l.sku = i.sku and l.seq > i.ledgerPosition), 0)" +
+            " + coalesce((select sum(s.quantity) from StoreStock s where s.sku = i.sku), 0)" +
+            " + coalesce((select sum(e.quantity) from StockLease e where e.sku = i.sku), 0))";
+
+    // Unsigned position of the SKU hash; range = offset * ranges / 2^32, weight = its low 16 bits
+    String SKU_HASH_OFFSET = "(cast(i.skuHash as Long) + 2147483648L)";
+
     Optional<InventoryItem> findBySku(String sku);
-}
\ No newline at end of file
+
+    @Query("select min(i.id), max(i.id) from InventoryItem i")
+    List<Object[]> findIdBounds();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i.sku as sku, i.name as name, " + AGGREGATED_QUANTITY + " as quantity from InventoryItem i " +
+            "where i.id between :fromId and :toId")
+    Stream<InventoryProjection> streamProjectionByIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i.sku as sku, i.name as name, " + AGGREGATED_QUANTITY + " as quantity from InventoryItem i " +
+            "where i.lastModified >= :since " +
+            "or exists (select 1 from StoreStock s where s.sku = i.sku and s.lastModified >= :since) " +
+            "or exists (select 1 from StockLedgerEntry l where l.sku = i.sku and l.createdAt >= :since) " +
+            "or exists (select 1 from StockLease e where e.sku = i.sku and e.syncedAt >= :since)")
+    Stream<InventoryProjection> streamProjectionModifiedSince(@Param("since") LocalDateTime since);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("select t.rangeIndex, count(*), sum(t.quantity), sum(t.nameHash), sum(t.weight * t.quantity) from (" +
+            "select " + SKU_HASH_OFFSET + " * :ranges / 4294967296L as rangeIndex, " +
+            "cast(i.nameHash as Long) as nameHash, mod(" + SKU_HASH_OFFSET + ", 65536L) as weight, " +
+            "cast(" + AGGREGATED_QUANTITY + " as Long) as quantity from InventoryItem i) t " +
+            "group by t.rangeIndex")
+    List<Object[]> sumRangeChecksums(@Param("ranges") long ranges);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i.sku as sku, i.name as name, " + AGGREGATED_QUANTITY + " as quantity from InventoryItem i " +
+            "where i.skuHash between :lo and :hi")
+    Stream<InventoryProjection> streamProjectionBySkuHashRange(@Param("lo") Integer lo, @Param("hi") Integer hi);
+
+    @Query("select i.id, i.sku, i.name from InventoryItem i where i.skuHash is null or i.nameHash is null")
+    List<Object[]> findRowsWithoutHashes(Limit limit);
+
+    @Modifying
+    @Query("update InventoryItem i set i.skuHash = :skuHash, i.nameHash = :nameHash where i.id = :id")
+    int updateHashes(@Param("id") Long id, @Param("skuHash") Integer skuHash, @Param("nameHash") Integer nameHash);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("select i.sku as sku, i.name as name, " + AGGREGATED_QUANTITY + " as quantity from InventoryItem i " +
+            "where i.sku in :skus")
+    List<InventoryProjection> findProjectionsBySkuIn(@Param("skus") Collection<String> skus);
+}
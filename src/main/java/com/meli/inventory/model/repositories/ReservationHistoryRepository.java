@@ -0,0 +1,24 @@
+// ## Prompt: Repositories
+// Create interface extending JpaRepository:
+// - `ReservationHistoryRepository extends JpaRepository<ReservationHistory, Long>`
+// - Add `sumQuantitiesByStoreAndSku(statuses)` with the same shape as `ReservationRepository` so archived
+//   reservations still count towards per-store totals.
+package com.meli.inventory.model.repositories;
+
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+import com.meli.inventory.model.entities.ReservationHistory;
+import com.meli.inventory.model.projections.StoreReservationTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+@Repository
+public interface ReservationHistoryRepository extends JpaRepository<ReservationHistory, Long> {
+
+    @Query("select h.storeId as storeId, h.sku as sku, h.status as status, sum(h.quantity) as quantity " +
+            "from ReservationHistory h where h.status in :statuses group by h.storeId, h.sku, h.status")
+    List<StoreReservationTotals> sumQuantitiesByStoreAndSku(@Param("statuses") Collection<ReservationStatus> statuses);
+}
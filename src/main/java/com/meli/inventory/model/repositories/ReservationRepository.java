@@ -1,11 +1,46 @@
 // ## Prompt: Repositories
 // Create interface extending JpaRepository:
 // - `ReservationRepository extends JpaRepository<Reservation, Long>`
+//
+// ## Prompt: Per-store reservation totals
+// - Add `sumQuantitiesByStoreAndSku(statuses)` aggregating quantities per (storeId, sku, status).
+//
+// ## Prompt: Hot/cold reservation split
+// - Add `findIdsForArchival(statuses, cutoff, pageable)` → ids of terminal rows expired before the cutoff,
+//   oldest first, served by the (status, expires_at) index.
+//
+// ## Prompt: Escrow stock leases
+// - Add `sumLeasedAfter(leaseNode, sku, syncedAt)` → units a node served from its lease after the persisted
+//   snapshot (strictly later `createdAt`) that did not go back into that lease.
 package com.meli.inventory.model.repositories;
 
 import com.meli.inventory.model.entities.Reservation;
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+import com.meli.inventory.model.projections.StoreReservationTotals;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    @Query("select r.storeId as storeId, r.sku as sku, r.status as status, sum(r.quantity) as quantity " +
+            "from Reservation r where r.status in :statuses group by r.storeId, r.sku, r.status")
+    List<StoreReservationTotals> sumQuantitiesByStoreAndSku(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    @Query("select r.id from Reservation r where r.status in :statuses and r.expiresAt < :cutoff order by r.expiresAt")
+    List<Long> findIdsForArchival(@Param("statuses") Collection<ReservationStatus> statuses,
+                                  @Param("cutoff") LocalDateTime cutoff,
+                                  Pageable pageable);
+
+    @Query("select coalesce(sum(r.quantity), 0) from Reservation r " +
+            "where r.leaseNode = :leaseNode and r.sku = :sku and r.createdAt > :syncedAt")
+    long sumLeasedAfter(@Param("leaseNode") String leaseNode,
+                        @Param("sku") String sku,
+                        @Param("syncedAt") LocalDateTime syncedAt);
 }
@@ -0,0 +1,23 @@
+// ## Prompt: Repositories
+// Create interface extending JpaRepository:
+// - `StockLeaseRepository extends JpaRepository<StockLease, Long>` with:
+//   - `Optional<StockLease> findBySkuAndNodeId(String sku, String nodeId)`
+//   - `List<StockLease> findByNodeId(String nodeId)` → leases to reclaim from a dead node
+//   - `List<StockLease> findBySkuOrderByNodeId(String sku)` → escrow status of a SKU
+package com.meli.inventory.model.repositories;
+
+import com.meli.inventory.model.entities.StockLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockLeaseRepository extends JpaRepository<StockLease, Long> {
+    Optional<StockLease> findBySkuAndNodeId(String sku, String nodeId);
+
+    List<StockLease> findByNodeId(String nodeId);
+
+    List<StockLease> findBySkuOrderByNodeId(String sku);
+}
@@ -0,0 +1,21 @@
+// ## Prompt: Repositories
+// Create interface extending JpaRepository:
+// - `StockLedgerRepository extends JpaRepository<StockLedgerEntry, Long>` with:
+//   - `List<Object[]> sumSince(String sku, long position)` → sum of deltas and last seq after a snapshot position
+package com.meli.inventory.model.repositories;
+
+import com.meli.inventory.model.entities.StockLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockLedgerRepository extends JpaRepository<StockLedgerEntry, Long> {
+
+    @Query("select coalesce(sum(l.delta), 0), coalesce(max(l.seq), :position) from StockLedgerEntry l " +
+            "where l.sku = :sku and l.seq > :position")
+    List<Object[]> sumSince(@Param("sku") String sku, @Param("position") long position);
+}
@@ -0,0 +1,50 @@
+// ## Prompt: Repositories
+// Create interface extending JpaRepository:
+// - `StoreStockRepository extends JpaRepository<StoreStock, Long>` with:
+//   - `Optional<StoreStock> findBySkuAndStoreId(String sku, String storeId)`
+//   - `boolean existsBySku(String sku)`
+//   - `List<StoreStock> findBySkuOrderByQuantityDesc(String sku)` → rebalancing donors, fullest first
+//   - `long sumQuantityBySku(String sku)` → stock allocated to stores for a SKU
+//   - `Stream<StoreStockProjection> streamAllProjections()` → read-model warm-up
+//
+// ## Prompt: Escrow stock leases
+// - Replace `sumQuantityBySku` with `sumAllocatedBySku`: stock outside the central row, i.e. store partitions plus
+//   leases escrowed to nodes, in one round trip.
+package com.meli.inventory.model.repositories;
+
+import com.meli.inventory.model.entities.StoreStock;
+import com.meli.inventory.model.projections.StoreStockProjection;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@Repository
+public interface StoreStockRepository extends JpaRepository<StoreStock, Long> {
+    Optional<StoreStock> findBySkuAndStoreId(String sku, String storeId);
+
+    boolean existsBySku(String sku);
+
+    List<StoreStock> findBySkuOrderByQuantityDesc(String sku);
+
+    @Query("select coalesce(sum(s.quantity), 0) " +
+            "+ (select coalesce(sum(e.quantity), 0) from StockLease e where e.sku = :sku) " +
+            "from StoreStock s where s.sku = :sku")
+    long sumAllocatedBySku(@Param("sku") String sku);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s.sku as sku, s.storeId as storeId, s.quantity as quantity from StoreStock s")
+    Stream<StoreStockProjection> streamAllProjections();
+}
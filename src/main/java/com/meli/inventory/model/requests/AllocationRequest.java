@@ -0,0 +1,16 @@
+package com.meli.inventory.model.requests;
+
+import jakarta.validation.constraints.Positive;
+
+public class AllocationRequest {
+    @Positive(message = "Quantity must be positive")
+    private int quantity;
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
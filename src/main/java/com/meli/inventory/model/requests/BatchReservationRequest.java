@@ -0,0 +1,21 @@
+package com.meli.inventory.model.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchReservationRequest {
+    @NotEmpty(message = "Reservations must not be empty")
+    @Size(max = 500, message = "At most 500 reservations per batch")
+    private List<@Valid ReservationRequest> reservations;
+
+    public List<ReservationRequest> getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(List<ReservationRequest> reservations) {
+        this.reservations = reservations;
+    }
+}
@@ -0,0 +1,16 @@
+package com.meli.inventory.model.requests;
+
+import jakarta.validation.constraints.PositiveOrZero;
+
+public class ThresholdRequest {
+    @PositiveOrZero(message = "Threshold must not be negative")
+    private int threshold;
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+}
@@ -0,0 +1,98 @@
+// ## Prompt: EventLogSummary
+// Replace per-event INFO lines with sampled lines and periodic aggregates.
+
+// Requirements:
+// - Annotate with `@Component`; the catch-all `EventBus` listener calls `onEvent` for every event.
+// - Log at most `inventory.logging.events.sampled-per-second` events per second in full (0 disables them);
+//   the rest are only counted.
+// - Every `inventory.logging.events.summary-interval-ms` log one line with the events per type in that interval
+//   and how many full lines were suppressed; nothing is logged for an idle interval.
+// - No lock on the hot path: per-type `LongAdder`s and a CAS-based per-second budget.
+package com.meli.inventory.observability;
+
+import com.meli.inventory.events.BaseEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class EventLogSummary {
+    private static final Logger logger = LoggerFactory.getLogger(EventLogSummary.class);
+
+    private final int sampledPerSecond;
+    private final Map<Class<?>, LongAdder> counts = new ConcurrentHashMap<>();
+    private final LongAdder suppressed = new LongAdder();
+    // high 32 bits: second of the budget, low 32 bits: lines logged in that second
+    private final AtomicLong budget = new AtomicLong();
+    private volatile long intervalStartNanos = System.nanoTime();
+
+    public EventLogSummary(@Value("${inventory.logging.events.sampled-per-second:5}") int sampledPerSecond) {
+        this.sampledPerSecond = sampledPerSecond;
+    }
+
+    /** 📝 Cuenta el evento y lo registra completo solo si queda presupuesto en este segundo **/
+    public void onEvent(BaseEvent event) {
+        counts.computeIfAbsent(event.getClass(), type -> new LongAdder()).increment();
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        if (trySample(System.nanoTime())) {
+            logger.info("Received event: {}", event);
+        } else {
+            suppressed.increment();
+        }
+    }
+
+    boolean trySample(long nowNanos) {
+        if (sampledPerSecond <= 0) {
+            return false;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(nowNanos);
+        while (true) {
+            long current = budget.get();
+            long currentSecond = current >>> 32;
+            long used = currentSecond == (second & 0xFFFFFFFFL) ? current & 0xFFFFFFFFL : 0;
+            if (used >= sampledPerSecond) {
+                return false;
+            }
+            if (budget.compareAndSet(current, ((second & 0xFFFFFFFFL) << 32) | (used + 1))) {
+                return true;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.logging.events.summary-interval-ms:10000}",
+            initialDelayString = "${inventory.logging.events.summary-interval-ms:10000}")
+    public void logSummary() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-3, (now - intervalStartNanos) / 1e9);
+        intervalStartNanos = now;
+        Map<String, Long> perType = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<Class<?>, LongAdder> entry : counts.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                perType.put(entry.getKey().getSimpleName(), count);
+                total += count;
+            }
+        }
+        long suppressedLines = suppressed.sumThenReset();
+        if (total == 0) {
+            return;
+        }
+        StringJoiner types = new StringJoiner(", ");
+        perType.forEach((type, count) -> types.add(type + "=" + count));
+        logger.info("Events in the last {}s: {} ({}/s) [{}], {} per-event lines suppressed",
+                Math.round(seconds), total, Math.round(total / seconds), types, suppressedLines);
+    }
+}
@@ -0,0 +1,30 @@
+// ## Prompt: HotSkuEndpoint
+// Expose `HotSkuTracker` as the actuator endpoint `/actuator/hotskus`.
+
+// Requirements:
+// - `@Endpoint(id = "hotskus")` with a `@ReadOperation` taking an optional `limit` (default 10, at most `capacity`).
+// - Return the top SKUs of the current and the previous window with their rates.
+package com.meli.inventory.observability;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "hotskus")
+public class HotSkuEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final HotSkuTracker tracker;
+
+    public HotSkuEndpoint(HotSkuTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public HotSkuTracker.Report hotSkus(@Nullable Integer limit) {
+        return tracker.report(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit);
+    }
+}
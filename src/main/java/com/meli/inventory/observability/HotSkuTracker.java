@@ -0,0 +1,139 @@
+// ## Prompt: HotSkuTracker
+// Track the hottest SKUs in fixed memory instead of one Micrometer meter per SKU.
+
+// Requirements:
+// - Annotate with `@Component`; `void record(String sku)` is called for every inventory update.
+// - Estimate per-SKU counts with a count-min sketch (`width` x `depth` counters, lock-free increments).
+// - Keep at most `capacity` heavy-hitter candidates; a SKU only enters when its estimate beats the smallest one.
+// - Tumbling windows of `window-ms`: the finished window keeps its top list with rates, a new sketch starts.
+// - `Report report(int limit)` → top SKUs of the current and the previous window with counts, rates per second
+//   and the sketch's error bound (counts are overestimated by at most `errorBound` with high probability).
+// - Config `inventory.metrics.hot-skus.{capacity,width,depth,window-ms}`.
+package com.meli.inventory.observability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class HotSkuTracker {
+
+    public record HotSku(String sku, long count, double ratePerSecond) {
+    }
+
+    public record WindowReport(LocalDateTime startedAt, double seconds, long totalUpdates, long errorBound,
+                               List<HotSku> top) {
+    }
+
+    public record Report(WindowReport current, WindowReport previous) {
+    }
+
+    private final int capacity;
+    private final int width;
+    private final int depth;
+
+    private volatile Window current;
+    private volatile WindowReport previous;
+
+    public HotSkuTracker(@Value("${inventory.metrics.hot-skus.capacity:100}") int capacity,
+                         @Value("${inventory.metrics.hot-skus.width:2048}") int width,
+                         @Value("${inventory.metrics.hot-skus.depth:4}") int depth) {
+        this.capacity = capacity;
+        // a power of two, so a column is picked with a mask
+        this.width = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.current = new Window();
+        this.previous = current.report(0);
+    }
+
+    /** 🔥 Cuenta una actualización del SKU en el sketch; sin locks salvo para SKUs candidatos a top **/
+    public void record(String sku) {
+        Window window = current;
+        window.total.increment();
+        long hash = spread(sku.hashCode());
+        long step = spread(hash) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (int) ((hash + row * step) & (width - 1));
+            estimate = Math.min(estimate, window.counts.incrementAndGet(row * width + column));
+        }
+        if (estimate > window.threshold) {
+            window.offer(sku, estimate);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.metrics.hot-skus.window-ms:60000}",
+            initialDelayString = "${inventory.metrics.hot-skus.window-ms:60000}")
+    public void rotate() {
+        Window finished = current;
+        current = new Window();
+        previous = finished.report(Integer.MAX_VALUE);
+    }
+
+    public Report report(int limit) {
+        WindowReport last = previous;
+        return new Report(current.report(limit),
+                new WindowReport(last.startedAt(), last.seconds(), last.totalUpdates(), last.errorBound(),
+                        last.top().subList(0, Math.min(limit, last.top().size()))));
+    }
+
+    private static long spread(long value) {
+        // SplitMix64 finalizer
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private final class Window {
+        private final AtomicLongArray counts = new AtomicLongArray(width * depth);
+        private final LongAdder total = new LongAdder();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private final Map<String, Long> candidates = new HashMap<>(capacity * 2);
+        // smallest candidate count once the candidate set is full; estimates at or below it cannot enter
+        private volatile long threshold;
+
+        private synchronized void offer(String sku, long estimate) {
+            candidates.put(sku, estimate);
+            if (candidates.size() <= capacity) {
+                return;
+            }
+            String smallest = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+                if (candidate.getValue() < min) {
+                    min = candidate.getValue();
+                    smallest = candidate.getKey();
+                }
+            }
+            candidates.remove(smallest);
+            threshold = min;
+        }
+
+        private WindowReport report(int limit) {
+            double seconds = Math.max(1e-3, (System.nanoTime() - startedNanos) / 1e9);
+            List<Map.Entry<String, Long>> entries;
+            synchronized (this) {
+                entries = new ArrayList<>(candidates.entrySet());
+            }
+            entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+            List<HotSku> top = entries.stream().limit(limit)
+                    .map(entry -> new HotSku(entry.getKey(), entry.getValue(), entry.getValue() / seconds))
+                    .toList();
+            long updates = total.sum();
+            // count-min: each estimate exceeds the true count by at most e * N / width with probability 1 - e^-depth
+            long errorBound = (long) Math.ceil(Math.E * updates / width);
+            return new WindowReport(startedAt, seconds, updates, errorBound, top);
+        }
+    }
+}
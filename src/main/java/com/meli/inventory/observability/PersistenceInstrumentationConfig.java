@@ -0,0 +1,36 @@
+// ## Prompt: PersistenceInstrumentationConfig
+// Register the persistence instrumentation.
+// - A `BeanPostProcessor` wraps every `DataSource` bean in `TimedDataSource` when
+//   `inventory.persistence.instrumentation.enabled` is true (default).
+// - `StatementMetrics` is resolved lazily: the DataSource is created before the meter registry is ready.
+// - With read/write routing, only the pools are wrapped, not the `LazyConnectionDataSourceProxy` in front of them,
+//   so every statement is timed once.
+package com.meli.inventory.observability;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "inventory.persistence.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class PersistenceInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor timedDataSourcePostProcessor(ObjectProvider<StatementMetrics> statementMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)
+                        && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new TimedDataSource(dataSource, statementMetrics::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+// ## Prompt: RequestStatementCountFilter
+// Count the JDBC statements each HTTP request executes.
+// - Extend `OncePerRequestFilter`, annotate with `@Component`.
+// - Tag by the matched route pattern (not the raw URI) to keep cardinality bounded.
+//
+// ## Prompt: Count statements of async requests
+// - Also filter async dispatches. A request that goes async keeps its counter in a request attribute and is
+//   recorded when its last dispatch ends, after the statements run on other threads (e.g. reservation writers).
+package com.meli.inventory.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class RequestStatementCountFilter extends OncePerRequestFilter {
+    private static final String COUNTER_ATTRIBUTE = RequestStatementCountFilter.class.getName() + ".COUNTER";
+
+    private final StatementMetrics statementMetrics;
+
+    public RequestStatementCountFilter(StatementMetrics statementMetrics) {
+        this.statementMetrics = statementMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filter)
+            throws ServletException, IOException {
+        AtomicInteger counter = (AtomicInteger) request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter == null) {
+            request.setAttribute(COUNTER_ATTRIBUTE, statementMetrics.beginRequest());
+        } else {
+            statementMetrics.resumeRequest(counter);
+        }
+        try {
+            filter.doFilter(request, response);
+        } finally {
+            if (isAsyncStarted(request)) {
+                statementMetrics.suspendRequest();
+            } else {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                statementMetrics.endRequest(pattern != null ? pattern.toString() : "UNKNOWN");
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
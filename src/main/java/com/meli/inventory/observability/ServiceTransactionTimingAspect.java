@@ -0,0 +1,47 @@
+// ## Prompt: ServiceTransactionTimingAspect
+// Time the public methods of `InventoryService` and `ReservationService`, commit included.
+// - `@Aspect` + `@Component`, ordered before the transaction interceptor so the timer wraps the whole transaction.
+// - Timer `inventory_service_transaction_duration{service, method, outcome}` with outcome success/error.
+package com.meli.inventory.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceTransactionTimingAspect {
+    private final MeterRegistry meterRegistry;
+
+    public ServiceTransactionTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.meli.inventory.command.service.InventoryService.*(..)) || " +
+            "execution(public * com.meli.inventory.command.service.ReservationService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            Timer.builder("inventory_service_transaction_duration")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
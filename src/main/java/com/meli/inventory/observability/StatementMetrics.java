@@ -0,0 +1,133 @@
+// ## Prompt: StatementMetrics
+// Create a component that records JDBC statement executions reported by `TimedDataSource`.
+
+// Requirements:
+// - Timer `inventory_db_statement_duration{operation, table}` and summary `inventory_db_statement_rows{operation, table}`
+//   (update counts; SELECT rows are not counted).
+// - Count statements of the current HTTP request (`beginRequest`/`endRequest`, thread-bound) into the summary
+//   `inventory_db_statements_per_request{uri}`.
+// - Log statements slower than `inventory.persistence.slow-query-ms` (logger `inventory.slow-query`).
+// - Cache parsed shapes per SQL string, up to a fixed number of entries.
+//
+// ## Prompt: Count statements of async requests
+// - The per-request counter is an `AtomicInteger` that can follow the request off its thread: `currentRequest()`
+//   captures it and `countInto(counter, work)` binds it while `work` runs on another thread.
+// - `suspendRequest()`/`resumeRequest(counter)` keep one count across the dispatches of an async request; it is
+//   recorded once, when the last dispatch ends.
+package com.meli.inventory.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class StatementMetrics {
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("inventory.slow-query");
+
+    private static final int MAX_CACHED_SHAPES = 1_000;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final ConcurrentHashMap<String, StatementShape> shapes = new ConcurrentHashMap<>();
+    private final ThreadLocal<AtomicInteger> requestStatements = new ThreadLocal<>();
+
+    public StatementMetrics(MeterRegistry meterRegistry,
+                            @Value("${inventory.persistence.slow-query-ms:200}") long slowQueryMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+    }
+
+    void record(String sql, long elapsedNanos, long rows) {
+        StatementShape shape = shape(sql);
+        Timer.builder("inventory_db_statement_duration")
+                .tag("operation", shape.operation())
+                .tag("table", shape.table())
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            DistributionSummary.builder("inventory_db_statement_rows")
+                    .tag("operation", shape.operation())
+                    .tag("table", shape.table())
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+
+        AtomicInteger counter = requestStatements.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+
+        if (elapsedNanos >= slowQueryNanos) {
+            slowQueryLogger.warn("Slow statement ({} ms, {} rows): {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, shape.sql());
+        }
+    }
+
+    AtomicInteger beginRequest() {
+        AtomicInteger counter = new AtomicInteger();
+        requestStatements.set(counter);
+        return counter;
+    }
+
+    void resumeRequest(AtomicInteger counter) {
+        requestStatements.set(counter);
+    }
+
+    void suspendRequest() {
+        requestStatements.remove();
+    }
+
+    void endRequest(String uri) {
+        AtomicInteger counter = requestStatements.get();
+        requestStatements.remove();
+        if (counter != null) {
+            DistributionSummary.builder("inventory_db_statements_per_request")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(counter.get());
+        }
+    }
+
+    /** Statement counter of the request running on this thread, or null outside a request. **/
+    public AtomicInteger currentRequest() {
+        return requestStatements.get();
+    }
+
+    /** 🧮 Ejecuta `work` contando sus sentencias en el contador de la request que lo encoló **/
+    public <T> T countInto(AtomicInteger counter, Supplier<T> work) {
+        if (counter == null) {
+            return work.get();
+        }
+        AtomicInteger previous = requestStatements.get();
+        requestStatements.set(counter);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                requestStatements.set(previous);
+            } else {
+                requestStatements.remove();
+            }
+        }
+    }
+
+    private StatementShape shape(String sql) {
+        StatementShape shape = shapes.get(sql);
+        if (shape == null) {
+            shape = StatementShape.of(sql);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.putIfAbsent(sql, shape);
+            }
+        }
+        return shape;
+    }
+}
@@ -0,0 +1,108 @@
+// ## Prompt: StatementShape
+// Reduce a SQL statement to a low-cardinality shape for metrics.
+// - `operation` → select, insert, update, delete, sequence or other.
+// - `table` → table the statement reads or writes (the sequence name for `next value for`).
+// - `sql` → statement with literals replaced by `?` and whitespace collapsed, for the slow-query log.
+
+// ## Prompt: Outermost table
+// - `table` is the target of the outermost FROM (select, delete) or INTO (insert): keywords inside parentheses
+//   (scalar or correlated subqueries, `exists (...)`) are skipped. A derived table `from (select ...)` is resolved
+//   the same way inside its parentheses.
+package com.meli.inventory.observability;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+record StatementShape(String operation, String table, String sql) {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern SEQUENCE = Pattern.compile("next value for\\s+([\\w.]+)");
+    private static final Pattern IDENTIFIER = Pattern.compile("[\\w.]+");
+    private static final Pattern UPDATE = Pattern.compile("^update\\s+([\\w.]+)");
+
+    static StatementShape of(String rawSql) {
+        String sql = WHITESPACE.matcher(rawSql.trim()).replaceAll(" ");
+        sql = STRING_LITERAL.matcher(sql).replaceAll("?");
+        sql = NUMBER_LITERAL.matcher(sql).replaceAll("?");
+        sql = IN_LIST.matcher(sql).replaceAll("(?...)");
+
+        String lower = sql.toLowerCase(Locale.ROOT);
+        String operation;
+        String table;
+        Matcher sequence = SEQUENCE.matcher(lower);
+        if (sequence.find()) {
+            operation = "sequence";
+            table = sequence.group(1);
+        } else if (lower.startsWith("select") || lower.startsWith("with")) {
+            operation = "select";
+            table = outermostTarget("from", lower);
+        } else if (lower.startsWith("insert")) {
+            operation = "insert";
+            table = outermostTarget("into", lower);
+        } else if (lower.startsWith("update")) {
+            operation = "update";
+            table = firstGroup(UPDATE, lower);
+        } else if (lower.startsWith("delete")) {
+            operation = "delete";
+            table = outermostTarget("from", lower);
+        } else {
+            operation = "other";
+            table = "none";
+        }
+        return new StatementShape(operation, table, sql);
+    }
+
+    /** Identifier after the first {@code keyword} outside parentheses, descending into a derived table. */
+    private static String outermostTarget(String keyword, String sql) {
+        int depth = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && sql.startsWith(keyword, i)
+                    && !isWordChar(sql, i - 1) && !isWordChar(sql, i + keyword.length())) {
+                int start = i + keyword.length();
+                while (start < sql.length() && sql.charAt(start) == ' ') {
+                    start++;
+                }
+                if (start < sql.length() && sql.charAt(start) == '(') {
+                    return outermostTarget(keyword, sql.substring(start + 1, closingParenthesis(sql, start)));
+                }
+                Matcher identifier = IDENTIFIER.matcher(sql).region(start, sql.length());
+                return identifier.lookingAt() ? identifier.group() : "unknown";
+            }
+        }
+        return "unknown";
+    }
+
+    private static int closingParenthesis(String sql, int open) {
+        int depth = 0;
+        for (int i = open; i < sql.length(); i++) {
+            if (sql.charAt(i) == '(') {
+                depth++;
+            } else if (sql.charAt(i) == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return sql.length();
+    }
+
+    private static boolean isWordChar(String sql, int index) {
+        if (index < 0 || index >= sql.length()) {
+            return false;
+        }
+        char c = sql.charAt(index);
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static String firstGroup(Pattern pattern, String sql) {
+        Matcher matcher = pattern.matcher(sql);
+        return matcher.find() ? matcher.group(1) : "unknown";
+    }
+}
@@ -0,0 +1,138 @@
+// ## Prompt: TimedDataSource
+// Wrap the application DataSource so every JDBC statement is timed.
+// - Extend `DelegatingDataSource`; connections and statements are JDK proxies.
+// - Time `execute*` calls on Statement/PreparedStatement/CallableStatement and report SQL, elapsed time and
+//   rows touched (update counts, summed for batches) to `StatementMetrics`.
+package com.meli.inventory.observability;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class TimedDataSource extends DelegatingDataSource {
+    private final Supplier<StatementMetrics> metrics;
+
+    public TimedDataSource(DataSource target, Supplier<StatementMetrics> metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimedDataSource.invoke(target, method, args);
+            String name = method.getName();
+            if (result instanceof Statement statement
+                    && (name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final List<String> batchSql = new ArrayList<>();
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql.add((String) args[0]);
+            }
+            if (!name.startsWith("execute")) {
+                return TimedDataSource.invoke(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                    : preparedSql != null ? preparedSql
+                    : !batchSql.isEmpty() ? batchSql.get(0)
+                    : "unknown";
+            long start = System.nanoTime();
+            Object result = TimedDataSource.invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+
+            metrics.get().record(sql, elapsed, rows(result));
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                batchSql.clear();
+            }
+            return result;
+        }
+
+        private long rows(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof Long count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            if (result instanceof long[] counts) {
+                long total = 0;
+                for (long count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// ## Prompt: LowStockAlertEngine
+// Create a service that raises "SKU X dropped below threshold T" alerts incrementally.
+
+// Requirements:
+// - Annotate with `@Service`.
+// - Per-SKU thresholds in a `ConcurrentHashMap`, falling back to `inventory.alerts.low-stock.default-threshold`
+//   (0 disables the default).
+// - `void onStockUpdated(StockUpdatedEvent event)` → called from the `StockUpdatedEvent` listener; O(1) per event:
+//   two map lookups and one `compute` on the active-alert entry of that SKU, no catalog scan.
+// - Hysteresis: an alert is TRIGGERED when quantity < threshold and only RESOLVED once quantity reaches
+//   threshold + `inventory.alerts.low-stock.hysteresis`, so it doesn't flap around the threshold.
+// - Publish a `LowStockAlertEvent` through `EventBus` on each transition and keep a bounded list of recent transitions.
+package com.meli.inventory.query.alert;
+
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.LowStockAlertEvent;
+import com.meli.inventory.events.StockUpdatedEvent;
+import com.meli.inventory.query.model.LowStockAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class LowStockAlertEngine {
+    private static final Logger logger = LoggerFactory.getLogger(LowStockAlertEngine.class);
+    private static final int RECENT_CAPACITY = 100;
+
+    private final EventBus eventBus;
+    private final int hysteresis;
+    private volatile int defaultThreshold;
+
+    private final ConcurrentHashMap<String, Integer> skuThresholds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LowStockAlert> activeAlerts = new ConcurrentHashMap<>();
+    private final Deque<LowStockAlertEvent> recentTransitions = new ArrayDeque<>(RECENT_CAPACITY);
+
+    public LowStockAlertEngine(EventBus eventBus,
+                               @Value("${inventory.alerts.low-stock.default-threshold:0}") int defaultThreshold,
+                               @Value("${inventory.alerts.low-stock.hysteresis:1}") int hysteresis) {
+        this.eventBus = eventBus;
+        this.defaultThreshold = defaultThreshold;
+        this.hysteresis = Math.max(0, hysteresis);
+    }
+
+    public void onStockUpdated(StockUpdatedEvent event) {
+        Integer quantity = event.getNewQuantity();
+        if (quantity == null) {
+            return;
+        }
+        int threshold = skuThresholds.getOrDefault(event.getSku(), defaultThreshold);
+        LowStockAlertEvent[] transition = new LowStockAlertEvent[1];
+
+        activeAlerts.compute(event.getSku(), (sku, active) -> {
+            if (active == null) {
+                if (threshold > 0 && quantity < threshold) {
+                    transition[0] = new LowStockAlertEvent(sku, threshold, quantity, LowStockAlertEvent.State.TRIGGERED);
+                    return new LowStockAlert(sku, threshold, quantity, LocalDateTime.now());
+                }
+                return null;
+            }
+            if (quantity >= active.getThreshold() + hysteresis) {
+                transition[0] = new LowStockAlertEvent(sku, active.getThreshold(), quantity, LowStockAlertEvent.State.RESOLVED);
+                return null;
+            }
+            active.setQuantity(quantity);
+            return active;
+        });
+
+        if (transition[0] != null) {
+            record(transition[0]);
+        }
+    }
+
+    private void record(LowStockAlertEvent transition) {
+        logger.warn("Low stock alert {} for SKU {}: quantity {} (threshold {})",
+                transition.getState(), transition.getSku(), transition.getQuantity(), transition.getThreshold());
+        synchronized (recentTransitions) {
+            if (recentTransitions.size() == RECENT_CAPACITY) {
+                recentTransitions.removeFirst();
+            }
+            recentTransitions.addLast(transition);
+        }
+        eventBus.publish(transition);
+    }
+
+    public void setThreshold(String sku, int threshold) {
+        skuThresholds.put(sku, threshold);
+    }
+
+    public void removeThreshold(String sku) {
+        skuThresholds.remove(sku);
+    }
+
+    public void setDefaultThreshold(int threshold) {
+        this.defaultThreshold = threshold;
+    }
+
+    public int getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    public Map<String, Integer> getThresholds() {
+        return Map.copyOf(skuThresholds);
+    }
+
+    public List<LowStockAlert> getActiveAlerts() {
+        return List.copyOf(activeAlerts.values());
+    }
+
+    public List<LowStockAlertEvent> getRecentTransitions() {
+        synchronized (recentTransitions) {
+            return new ArrayList<>(recentTransitions);
+        }
+    }
+}
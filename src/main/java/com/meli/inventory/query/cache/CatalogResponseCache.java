@@ -0,0 +1,192 @@
+// ## Prompt: CatalogResponseCache
+// Create a cache of the encoded `GET /api/v1/inventory` response, so concurrent catalogue polls do not each
+// re-serialize the same read model.
+// Requirements:
+// - Annotate with `@Component`; one entry per `Format` (JSON with the application `ObjectMapper`, columnar with
+//   `InventoryColumnarCodec`), holding the body bytes and, when `gzip` is on, a gzip-compressed copy.
+// - An entry is tagged with `InventoryQueryService.getVersion()` read before encoding. It is served while the
+//   version is unchanged, and for at most `min-rebuild-interval-ms` after it was built when changes arrive, so the
+//   catalogue is rebuilt at most once per interval. `/{sku}` and `/changes` are not cached and stay live.
+// - Only one thread rebuilds a format; others keep getting the previous entry meanwhile (they only wait when
+//   there is none yet).
+// - ETags combine the format, content coding, an id of this process and the version.
+// - Metrics: `inventory_catalog_cache_requests_total{format, result=hit|stale|rebuild}`,
+//   `inventory_catalog_cache_rebuild_duration{format}` and `inventory_catalog_cache_bytes{format, encoding}`.
+package com.meli.inventory.query.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.inventory.query.codec.InventoryColumnarCodec;
+import com.meli.inventory.query.codec.InventoryColumnarHttpMessageConverter;
+import com.meli.inventory.query.model.InventoryView;
+import com.meli.inventory.query.service.InventoryQueryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class CatalogResponseCache {
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        COLUMNAR(InventoryColumnarHttpMessageConverter.MEDIA_TYPE);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        /** First format the {@code Accept} header allows, by quality; JSON for a missing header or wildcards. */
+        public static Optional<Format> negotiate(String accept) {
+            if (accept == null || accept.isBlank()) {
+                return Optional.of(JSON);
+            }
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType mediaType : accepted) {
+                if (mediaType.equalsTypeAndSubtype(COLUMNAR.mediaType)) {
+                    return Optional.of(COLUMNAR);
+                }
+                if (mediaType.includes(JSON.mediaType)) {
+                    return Optional.of(JSON);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    public record Encoded(Format format, long version, byte[] body, byte[] gzipped, String etag, long builtAtNanos) {
+        public String etag(boolean gzip) {
+            return gzip ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+        }
+    }
+
+    private final InventoryQueryService queryService;
+    private final ObjectMapper objectMapper;
+    private final long minRebuildIntervalNanos;
+    private final boolean gzip;
+    private final String instanceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Map<Format, Slot> slots = new EnumMap<>(Format.class);
+
+    public CatalogResponseCache(InventoryQueryService queryService,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${inventory.read-model.catalog-cache.min-rebuild-interval-ms:1000}")
+                                long minRebuildIntervalMs,
+                                @Value("${inventory.read-model.catalog-cache.gzip:true}") boolean gzip) {
+        this.queryService = queryService;
+        this.objectMapper = objectMapper;
+        this.minRebuildIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minRebuildIntervalMs);
+        this.gzip = gzip;
+        for (Format format : Format.values()) {
+            slots.put(format, new Slot(format, meterRegistry));
+        }
+    }
+
+    /** 📦 Devuelve el catálogo ya serializado; lo reconstruye como máximo una vez por intervalo **/
+    public Encoded get(Format format) {
+        Slot slot = slots.get(format);
+        Encoded current = slot.current;
+        if (current != null && current.version() == queryService.getVersion()) {
+            slot.hits.increment();
+            return current;
+        }
+        // Changed, but rebuilt too recently or being rebuilt by another thread: serve the previous version
+        if (current != null && (System.nanoTime() - current.builtAtNanos() < minRebuildIntervalNanos
+                || !slot.lock.tryLock())) {
+            slot.stale.increment();
+            return current;
+        }
+        if (current == null) {
+            slot.lock.lock();
+        }
+        try {
+            current = slot.current;
+            if (current != null && current.version() == queryService.getVersion()) {
+                slot.hits.increment();
+                return current;
+            }
+            long start = System.nanoTime();
+            Encoded rebuilt = encode(format, queryService.getVersion());
+            slot.rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            slot.rebuilds.increment();
+            slot.current = rebuilt;
+            return rebuilt;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    private Encoded encode(Format format, long version) {
+        List<InventoryView> views = queryService.getAll();
+        try {
+            byte[] body;
+            if (format == Format.JSON) {
+                body = objectMapper.writeValueAsBytes(views);
+            } else {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(views.size() * 32 + 16);
+                InventoryColumnarCodec.encode(views, out);
+                body = out.toByteArray();
+            }
+            String etag = "\"" + format.name().toLowerCase() + "-" + instanceId + "-" + version + "\"";
+            return new Encoded(format, version, body, gzip ? gzip(body) : null, etag, System.nanoTime());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode inventory catalogue as " + format, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Slot {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Encoded current;
+        private final Counter hits;
+        private final Counter stale;
+        private final Counter rebuilds;
+        private final Timer rebuildTimer;
+
+        Slot(Format format, MeterRegistry meterRegistry) {
+            String name = format.name().toLowerCase();
+            this.hits = requests(meterRegistry, name, "hit");
+            this.stale = requests(meterRegistry, name, "stale");
+            this.rebuilds = requests(meterRegistry, name, "rebuild");
+            this.rebuildTimer = meterRegistry.timer("inventory_catalog_cache_rebuild_duration", "format", name);
+            meterRegistry.gauge("inventory_catalog_cache_bytes", Tags.of("format", name, "encoding", "identity"),
+                    this, slot -> slot.current == null ? 0 : slot.current.body().length);
+            meterRegistry.gauge("inventory_catalog_cache_bytes", Tags.of("format", name, "encoding", "gzip"),
+                    this, slot -> slot.current == null || slot.current.gzipped() == null
+                            ? 0 : slot.current.gzipped().length);
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String format, String result) {
+            return meterRegistry.counter("inventory_catalog_cache_requests_total", "format", format, "result", result);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+// ## Prompt: InventoryCodecConfig
+// - Register `InventoryColumnarHttpMessageConverter` after the default converters, so a request has to ask for the
+//   columnar media type in `Accept` to get it and `*/*` keeps returning JSON.
+package com.meli.inventory.query.codec;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class InventoryCodecConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new InventoryColumnarHttpMessageConverter());
+    }
+}
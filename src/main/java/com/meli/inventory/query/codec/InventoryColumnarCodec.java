@@ -0,0 +1,273 @@
+// ## Prompt: InventoryColumnarCodec
+// Create a compact binary encoding of `InventoryView` rows for service-to-service catalogue reads.
+// Requirements:
+// - Columnar: all SKUs, then all names, quantities and timestamps, so each column compresses well and no field names
+//   are repeated per row. Integers are LEB128 varints (zig-zag for signed values).
+// - `lastUpdated` is kept exactly (epoch second + nano at UTC, like the snapshot file) and delta-encoded against the
+//   previous present row, so the next `/changes?since=` cursor survives a round trip.
+// - Nullable columns (`quantity`, `lastUpdated`) are preceded by a presence bitmap; a null `name` is length 0.
+// - `encode(List<InventoryView>, OutputStream)` / `decode(byte[])` are dependency-free so clients can copy this
+//   class as their decoder. Malformed input fails with `IllegalArgumentException`.
+//
+// Layout (MEDIA_TYPE, big-endian magic):
+//   int magic "INVC" | byte version | varint count
+//   count x { varint skuLength, sku UTF-8 }
+//   count x { varint nameLength + 1 (0 = null), name UTF-8 }
+//   presence bitmap (ceil(count / 8) bytes, bit i of byte i / 8 = row i), present rows x { zig-zag varint quantity }
+//   presence bitmap, present rows x { zig-zag varint epochSecond - previous epochSecond, varint nano }
+//
+// ## Prompt: Out-of-range fields
+// - Well-formed varints whose values do not fit their field (a quantity or nano beyond int, a nano or epoch second
+//   `LocalDateTime` rejects) also fail with `IllegalArgumentException`, so the converter answers 400 instead of 500.
+package com.meli.inventory.query.codec;
+
+import com.meli.inventory.query.model.InventoryView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class InventoryColumnarCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.meli.inventory+columnar";
+
+    static final int MAGIC = 0x494E5643; // "INVC"
+    static final byte FORMAT_VERSION = 1;
+
+    private InventoryColumnarCodec() {
+    }
+
+    /** 📦 Codifica las vistas en columnas (SKU, nombre, cantidad, fecha) con varints **/
+    public static void encode(List<InventoryView> views, OutputStream out) throws IOException {
+        int count = views.size();
+        Buffer buffer = new Buffer(16 + count * 24);
+        buffer.putInt(MAGIC);
+        buffer.put(FORMAT_VERSION);
+        buffer.putVarint(count);
+
+        for (InventoryView view : views) {
+            byte[] sku = view.getSku().getBytes(StandardCharsets.UTF_8);
+            buffer.putVarint(sku.length);
+            buffer.put(sku);
+        }
+        for (InventoryView view : views) {
+            if (view.getName() == null) {
+                buffer.putVarint(0);
+            } else {
+                byte[] name = view.getName().getBytes(StandardCharsets.UTF_8);
+                buffer.putVarint(name.length + 1L);
+                buffer.put(name);
+            }
+        }
+
+        byte[] present = new byte[(count + 7) / 8];
+        for (int i = 0; i < count; i++) {
+            if (views.get(i).getQuantity() != null) {
+                present[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        buffer.put(present);
+        for (InventoryView view : views) {
+            if (view.getQuantity() != null) {
+                buffer.putVarint(zigZag(view.getQuantity()));
+            }
+        }
+
+        Arrays.fill(present, (byte) 0);
+        for (int i = 0; i < count; i++) {
+            if (views.get(i).getLastUpdated() != null) {
+                present[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        buffer.put(present);
+        long previousSecond = 0;
+        for (InventoryView view : views) {
+            LocalDateTime lastUpdated = view.getLastUpdated();
+            if (lastUpdated != null) {
+                long second = lastUpdated.toEpochSecond(ZoneOffset.UTC);
+                buffer.putVarint(zigZag(second - previousSecond));
+                buffer.putVarint(lastUpdated.getNano());
+                previousSecond = second;
+            }
+        }
+        out.write(buffer.bytes, 0, buffer.size);
+    }
+
+    /** 📭 Decodifica un payload columnar; lanza IllegalArgumentException si está corrupto **/
+    public static List<InventoryView> decode(byte[] payload) {
+        try {
+            return decodeRows(payload);
+        } catch (ArithmeticException | DateTimeException e) {
+            throw new IllegalArgumentException("Field out of range: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<InventoryView> decodeRows(byte[] payload) {
+        Reader reader = new Reader(payload);
+        if (reader.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not an inventory columnar payload");
+        }
+        byte version = reader.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported inventory columnar version " + version);
+        }
+        long declared = reader.getVarint();
+        // Every row takes at least two bytes (sku and name lengths), which bounds a bogus count
+        if (declared < 0 || declared > payload.length / 2) {
+            throw new IllegalArgumentException("Invalid row count " + declared);
+        }
+        int count = (int) declared;
+
+        List<InventoryView> views = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            InventoryView view = new InventoryView();
+            view.setSku(reader.getString(reader.getLength()));
+            views.add(view);
+        }
+        for (InventoryView view : views) {
+            int length = reader.getLength();
+            view.setName(length == 0 ? null : reader.getString(length - 1));
+        }
+
+        byte[] present = reader.getBytes((count + 7) / 8);
+        for (int i = 0; i < count; i++) {
+            if ((present[i >>> 3] & (1 << (i & 7))) != 0) {
+                views.get(i).setQuantity(Math.toIntExact(unZigZag(reader.getVarint())));
+            }
+        }
+
+        present = reader.getBytes((count + 7) / 8);
+        long second = 0;
+        for (int i = 0; i < count; i++) {
+            if ((present[i >>> 3] & (1 << (i & 7))) != 0) {
+                second += unZigZag(reader.getVarint());
+                int nano = Math.toIntExact(reader.getVarint());
+                views.get(i).setLastUpdated(LocalDateTime.ofEpochSecond(second, nano, ZoneOffset.UTC));
+            }
+        }
+        if (reader.position != payload.length) {
+            throw new IllegalArgumentException("Trailing bytes after " + count + " rows");
+        }
+        return views;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Growable byte array; avoids the synchronization of {@code ByteArrayOutputStream}. */
+    private static final class Buffer {
+        private byte[] bytes;
+        private int size;
+
+        Buffer(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        void put(byte value) {
+            ensure(1);
+            bytes[size++] = value;
+        }
+
+        void put(byte[] values) {
+            ensure(values.length);
+            System.arraycopy(values, 0, bytes, size, values.length);
+            size += values.length;
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void putVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte get() {
+            require(1);
+            return bytes[position++];
+        }
+
+        int getInt() {
+            require(Integer.BYTES);
+            int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+                    | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        long getVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint longer than 10 bytes at " + position);
+        }
+
+        int getLength() {
+            long length = getVarint();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("Invalid length " + length + " at " + position);
+            }
+            return (int) length;
+        }
+
+        byte[] getBytes(int length) {
+            require(length);
+            byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        String getString(int length) {
+            require(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void require(int length) {
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated payload at " + position);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+// ## Prompt: InventoryColumnarHttpMessageConverter
+// Create an `HttpMessageConverter` for `InventoryColumnarCodec.MEDIA_TYPE`.
+// Requirements:
+// - Writes and reads `InventoryView` (a one-row payload) and `List<InventoryView>`, so the same class serves the
+//   controllers and a `RestClient`/`RestTemplate` on the client side.
+// - Only used when the `Accept` (or `Content-Type`) header asks for the columnar media type; JSON stays the default.
+// - A payload the codec rejects is reported as `HttpMessageNotReadableException`.
+package com.meli.inventory.query.codec;
+
+import com.meli.inventory.query.model.InventoryView;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+public class InventoryColumnarHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(InventoryColumnarCodec.MEDIA_TYPE);
+
+    public InventoryColumnarHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return InventoryView.class.equals(clazz);
+    }
+
+    /**
+     * Content negotiation asks with the raw value class (e.g. an {@code ArrayList}); the element type is checked by
+     * {@link #canWrite(Type, Class, MediaType)}.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return InventoryView.class.equals(clazz) || List.class.isAssignableFrom(clazz)
+                ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isViewOrViewList(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (isViewOrViewList(type) || type == null && InventoryView.class.equals(clazz)) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        List<InventoryView> views = decode(inputMessage);
+        if (InventoryView.class.equals(type)) {
+            if (views.size() != 1) {
+                throw new HttpMessageNotReadableException("Expected one inventory row, got " + views.size(),
+                        inputMessage);
+            }
+            return views.get(0);
+        }
+        return views;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        List<InventoryView> views = body instanceof InventoryView view ? List.of(view) : (List<InventoryView>) body;
+        InventoryColumnarCodec.encode(views, outputMessage.getBody());
+    }
+
+    private static List<InventoryView> decode(HttpInputMessage inputMessage) throws IOException {
+        try {
+            return InventoryColumnarCodec.decode(inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid inventory columnar payload: " + e.getMessage(), e,
+                    inputMessage);
+        }
+    }
+
+    private static boolean isViewOrViewList(Type type) {
+        if (InventoryView.class.equals(type)) {
+            return true;
+        }
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && InventoryView.class.equals(parameterized.getActualTypeArguments()[0]);
+    }
+}
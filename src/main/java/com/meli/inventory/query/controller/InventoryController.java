@@ -7,11 +7,25 @@
 
 // Inject `InventoryQueryService`.
 // Return `ResponseEntity` responses.
+
+// ## Prompt: Paginated index queries
+// - `GET /api/v1/inventory/search?prefix=X&after=&limit=` → SKUs starting with X, ordered by SKU.
+// - `GET /api/v1/inventory/low-stock?below=N&after=&limit=` → SKUs with quantity below N, ordered by quantity.
+// - `limit` defaults to 50 and must be between 1 and 500; invalid input returns 400.
+
+// ## Prompt: Pre-serialized catalogue cache
+// - `GET /api/v1/inventory` writes the bytes cached by `CatalogResponseCache` as they are, in the format picked from
+//   `Accept` (JSON or columnar, 406 otherwise) and gzipped when `Accept-Encoding` allows it.
+// - Send the entry's `ETag` with `Vary: Accept, Accept-Encoding`, and answer a matching `If-None-Match` with 304.
 package com.meli.inventory.query.controller;
 
+import com.meli.inventory.query.cache.CatalogResponseCache;
+import com.meli.inventory.query.cache.CatalogResponseCache.Format;
+import com.meli.inventory.query.model.InventoryPage;
 import com.meli.inventory.query.model.InventoryView;
 import com.meli.inventory.query.service.InventoryQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,14 +33,19 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
 @RestController
 @RequestMapping("/api/v1/inventory")
 public class InventoryController {
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final InventoryQueryService inventoryQueryService;
+    private final CatalogResponseCache catalogCache;
 
     @Autowired
-    public InventoryController(InventoryQueryService inventoryQueryService) {
+    public InventoryController(InventoryQueryService inventoryQueryService, CatalogResponseCache catalogCache) {
         this.inventoryQueryService = inventoryQueryService;
+        this.catalogCache = catalogCache;
     }
 
     @GetMapping("/{sku}")
@@ -40,9 +59,32 @@ public class InventoryController {
     }
 
     @GetMapping()
-    public ResponseEntity<List<InventoryView>> getAllInventory() {
-        List<InventoryView> allInventory = inventoryQueryService.getAll();
-        return ResponseEntity.ok(allInventory);
+    public ResponseEntity<byte[]> getAllInventory(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Format> format = Format.negotiate(accept);
+        if (format.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        CatalogResponseCache.Encoded catalog = catalogCache.get(format.get());
+        boolean gzip = catalog.gzipped() != null && acceptsGzip(acceptEncoding);
+        String etag = catalog.etag(gzip);
+
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(catalog.format().mediaType())
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? catalog.gzipped() : catalog.body());
     }
 
     @GetMapping("/changes")
@@ -55,4 +97,41 @@ public class InventoryController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
+
+    @GetMapping("/search")
+    public ResponseEntity<InventoryPage> searchBySkuPrefix(@RequestParam("prefix") String prefix,
+                                                           @RequestParam(value = "after", required = false) String after,
+                                                           @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok(inventoryQueryService.findBySkuPrefix(prefix, after, limit));
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<InventoryPage> getLowStock(@RequestParam("below") int below,
+                                                     @RequestParam(value = "after", required = false) String after,
+                                                     @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            return ResponseEntity.ok(inventoryQueryService.findLowStock(below, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,68 @@
+// ## Prompt: LowStockAlertController
+// Create a REST controller `LowStockAlertController` to manage and read low-stock alerts.
+
+// - `GET /api/v1/alerts/low-stock` → active alerts.
+// - `GET /api/v1/alerts/low-stock/recent` → latest TRIGGERED/RESOLVED transitions.
+// - `GET /api/v1/alerts/low-stock/thresholds` → default and per-SKU thresholds.
+// - `PUT /api/v1/alerts/low-stock/thresholds/default` → set the default threshold.
+// - `PUT /api/v1/alerts/low-stock/thresholds/{sku}` → set a per-SKU threshold.
+// - `DELETE /api/v1/alerts/low-stock/thresholds/{sku}` → fall back to the default.
+// Inject `LowStockAlertEngine`. Return `ResponseEntity` responses.
+package com.meli.inventory.query.controller;
+
+import com.meli.inventory.events.LowStockAlertEvent;
+import com.meli.inventory.model.requests.ThresholdRequest;
+import com.meli.inventory.query.alert.LowStockAlertEngine;
+import com.meli.inventory.query.model.LowStockAlert;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+@RestController
+@RequestMapping("/api/v1/alerts/low-stock")
+public class LowStockAlertController {
+    private final LowStockAlertEngine alertEngine;
+
+    @Autowired
+    public LowStockAlertController(LowStockAlertEngine alertEngine) {
+        this.alertEngine = alertEngine;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<LowStockAlert>> getActiveAlerts() {
+        return ResponseEntity.ok(alertEngine.getActiveAlerts());
+    }
+
+    @GetMapping("/recent")
+    public ResponseEntity<List<LowStockAlertEvent>> getRecentTransitions() {
+        return ResponseEntity.ok(alertEngine.getRecentTransitions());
+    }
+
+    @GetMapping("/thresholds")
+    public ResponseEntity<Map<String, Object>> getThresholds() {
+        return ResponseEntity.ok(Map.of(
+                "default", alertEngine.getDefaultThreshold(),
+                "skus", alertEngine.getThresholds()));
+    }
+
+    @PutMapping("/thresholds/default")
+    public ResponseEntity<Void> setDefaultThreshold(@Valid @RequestBody ThresholdRequest request) {
+        alertEngine.setDefaultThreshold(request.getThreshold());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/thresholds/{sku}")
+    public ResponseEntity<Void> setThreshold(@PathVariable String sku, @Valid @RequestBody ThresholdRequest request) {
+        alertEngine.setThreshold(sku, request.getThreshold());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/thresholds/{sku}")
+    public ResponseEntity<Void> removeThreshold(@PathVariable String sku) {
+        alertEngine.removeThreshold(sku);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,50 @@
+// ## Prompt: StoreReservationController
+// Create a REST controller `StoreReservationController` serving the per-store reservation read model from memory.
+
+// - `GET /api/v1/stores/{storeId}/reservations` → reserved/confirmed quantity per SKU held by the store.
+// - `GET /api/v1/stores/reservations?sku=X` → reserved/confirmed quantity of SKU X per store.
+// Inject `StoreReservationQueryService`. Return `ResponseEntity` responses.
+
+// ## Prompt: Store view warm-up
+// - Answer 503 with `Retry-After` until the view has been loaded from the database.
+package com.meli.inventory.query.controller;
+
+import com.meli.inventory.query.model.StoreReservationView;
+import com.meli.inventory.query.service.StoreReservationQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+@RestController
+@RequestMapping("/api/v1/stores")
+public class StoreReservationController {
+    private final StoreReservationQueryService storeReservationQueryService;
+
+    @Autowired
+    public StoreReservationController(StoreReservationQueryService storeReservationQueryService) {
+        this.storeReservationQueryService = storeReservationQueryService;
+    }
+
+    @GetMapping("/{storeId}/reservations")
+    public ResponseEntity<List<StoreReservationView>> getByStore(@PathVariable String storeId) {
+        if (!storeReservationQueryService.isLoaded()) {
+            return warmingUp();
+        }
+        return ResponseEntity.ok(storeReservationQueryService.getByStore(storeId));
+    }
+
+    @GetMapping("/reservations")
+    public ResponseEntity<List<StoreReservationView>> getBySku(@RequestParam("sku") String sku) {
+        if (!storeReservationQueryService.isLoaded()) {
+            return warmingUp();
+        }
+        return ResponseEntity.ok(storeReservationQueryService.getBySku(sku));
+    }
+
+    private static ResponseEntity<List<StoreReservationView>> warmingUp() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+}
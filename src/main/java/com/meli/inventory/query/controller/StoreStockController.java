@@ -0,0 +1,33 @@
+// ## Prompt: StoreStockController
+// Create a REST controller exposing the per-store split of a SKU.
+
+// - `GET /api/v1/inventory/{sku}/stores` → aggregated quantity, unallocated quantity and quantity per store.
+// Inject `StoreStockQueryService`. Return `ResponseEntity` responses.
+package com.meli.inventory.query.controller;
+
+import com.meli.inventory.query.model.StoreStockView;
+import com.meli.inventory.query.service.StoreStockQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+@RestController
+@RequestMapping("/api/v1/inventory")
+public class StoreStockController {
+    private final StoreStockQueryService storeStockQueryService;
+
+    @Autowired
+    public StoreStockController(StoreStockQueryService storeStockQueryService) {
+        this.storeStockQueryService = storeStockQueryService;
+    }
+
+    @GetMapping("/{sku}/stores")
+    public ResponseEntity<StoreStockView> getStoreStock(@PathVariable String sku) {
+        StoreStockView view = storeStockQueryService.getBySku(sku);
+        if (view != null) {
+            return ResponseEntity.ok(view);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+}
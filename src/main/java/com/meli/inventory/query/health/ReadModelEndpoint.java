@@ -0,0 +1,31 @@
+// ## Prompt: ReadModelEndpoint
+// Expose the in-memory read model of `InventoryQueryService` as the actuator endpoint `/actuator/readmodel`.
+
+// Requirements:
+// - `@Endpoint(id = "readmodel")` with a `@ReadOperation` returning `InventoryQueryService.getStats()`: entry count,
+//   estimated retained bytes, oldest/newest `lastUpdated`, last applied event sequence, events applied per second
+//   and the percentage of "Unknown"-name placeholder views.
+// - The figures are maintained incrementally, so a scrape never walks the map.
+package com.meli.inventory.query.health;
+
+import com.meli.inventory.query.service.InventoryQueryService;
+import com.meli.inventory.query.service.ReadModelStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "readmodel")
+public class ReadModelEndpoint {
+
+    private final InventoryQueryService inventoryQueryService;
+
+    public ReadModelEndpoint(InventoryQueryService inventoryQueryService) {
+        this.inventoryQueryService = inventoryQueryService;
+    }
+
+    @ReadOperation
+    public ReadModelStats.Report stats() {
+        return inventoryQueryService.getStats();
+    }
+}
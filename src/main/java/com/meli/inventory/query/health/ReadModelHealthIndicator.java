@@ -0,0 +1,36 @@
+// ## Prompt: ReadModelHealthIndicator
+// Create a `HealthIndicator` that keeps the readiness probe DOWN until the read model is warmed up.
+
+// Requirements:
+// - Annotate with `@Component("readModel")` so it can be added to the `readiness` health group.
+// - Report DOWN with a `status: warming-up` detail until `InventoryQueryService.isWarmedUp()` is true.
+
+// ## Prompt: Store view warm-up
+// - Also stay DOWN until `StoreReservationQueryService.isLoaded()`.
+package com.meli.inventory.query.health;
+
+import com.meli.inventory.query.service.InventoryQueryService;
+import com.meli.inventory.query.service.StoreReservationQueryService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component("readModel")
+public class ReadModelHealthIndicator implements HealthIndicator {
+    private final InventoryQueryService inventoryQueryService;
+    private final StoreReservationQueryService storeReservationQueryService;
+
+    public ReadModelHealthIndicator(InventoryQueryService inventoryQueryService,
+                                    StoreReservationQueryService storeReservationQueryService) {
+        this.inventoryQueryService = inventoryQueryService;
+        this.storeReservationQueryService = storeReservationQueryService;
+    }
+
+    @Override
+    public Health health() {
+        if (!inventoryQueryService.isWarmedUp() || !storeReservationQueryService.isLoaded()) {
+            return Health.down().withDetail("status", "warming-up").build();
+        }
+        return Health.up().build();
+    }
+}
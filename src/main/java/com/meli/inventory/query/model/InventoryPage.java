@@ -0,0 +1,21 @@
+// ## Prompt: InventoryPage
+// Create a model class `InventoryPage` for cursor-paginated read-model queries.
+
+// Fields:
+// - items (List<InventoryView>)
+// - nextCursor (String) → pass it back as `after` to get the next page; null when there are no more results.
+// Add Lombok annotations `@Data`, `@AllArgsConstructor`, `@NoArgsConstructor`.
+package com.meli.inventory.query.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryPage {
+    private List<InventoryView> items;
+    private String nextCursor;
+}
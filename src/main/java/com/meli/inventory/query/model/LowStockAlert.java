@@ -0,0 +1,25 @@
+// ## Prompt: LowStockAlert
+// Create a simple model class `LowStockAlert` for an active low-stock alert.
+
+// Fields:
+// - sku (String)
+// - threshold (Integer) → threshold that was crossed
+// - quantity (Integer) → latest known quantity
+// - triggeredAt (LocalDateTime)
+// Add Lombok annotations `@Data`, `@AllArgsConstructor`, `@NoArgsConstructor`.
+package com.meli.inventory.query.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LowStockAlert {
+    private String sku;
+    private Integer threshold;
+    private Integer quantity;
+    private LocalDateTime triggeredAt;
+}
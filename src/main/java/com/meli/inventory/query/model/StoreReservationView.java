@@ -0,0 +1,27 @@
+// ## Prompt: StoreReservationView
+// Create a simple model class `StoreReservationView` for the per-store reservation read model.
+
+// Fields:
+// - storeId (String)
+// - sku (String)
+// - reservedQuantity (Integer) → quantity held by PENDING reservations
+// - confirmedQuantity (Integer) → quantity of CONFIRMED reservations
+// - lastUpdated (LocalDateTime)
+// Add Lombok annotations `@Data`, `@AllArgsConstructor`, `@NoArgsConstructor`.
+package com.meli.inventory.query.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoreReservationView {
+    private String storeId;
+    private String sku;
+    private Integer reservedQuantity;
+    private Integer confirmedQuantity;
+    private LocalDateTime lastUpdated;
+}
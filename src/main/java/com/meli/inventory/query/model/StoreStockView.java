@@ -0,0 +1,25 @@
+// ## Prompt: StoreStockView
+// Create a simple model class `StoreStockView` exposing how a SKU's stock is spread across stores.
+
+// Fields:
+// - sku (String)
+// - totalQuantity (Integer) → aggregated quantity, central + every store partition
+// - unallocatedQuantity (Integer) → central stock not yet assigned to a store
+// - stores (Map<String, Integer>) → quantity per storeId
+// Add Lombok annotations `@Data`, `@AllArgsConstructor`, `@NoArgsConstructor`.
+package com.meli.inventory.query.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoreStockView {
+    private String sku;
+    private Integer totalQuantity;
+    private Integer unallocatedQuantity;
+    private Map<String, Integer> stores;
+}
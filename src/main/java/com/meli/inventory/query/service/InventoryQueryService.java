@@ -10,21 +10,79 @@
 //   - `List<InventoryView> getAll()`
 //   - `List<InventoryView> getChangesSince(LocalDateTime timestamp)`
 // - Use SLF4J for logging updates.
+
+// ## Prompt: Parallel streamed warm-up
+// Refactor `loadInitialData` so it no longer calls `findAll()`:
+// - Split the id keyspace into `inventory.read-model.warmup.partitions` ranges and load them in parallel
+//   through `ReadModelLoader` (read-only streaming projection: sku, name, quantity).
+// - Rows loaded during warm-up must not overwrite fresher values already applied from events.
+// - Expose `isWarmedUp()` for the readiness probe and publish progress gauges and a duration timer.
+
+// ## Prompt: Persistent read-model snapshots
+// - Track the last applied event sequence.
+// - Periodically (and on shutdown) write the map through `ReadModelSnapshotStore` when something changed.
+// - On boot restore the snapshot, advance the `EventBus` sequence past it and catch up only rows modified since
+//   it was taken; fall back to the full warm-up when there is no valid snapshot.
+
+// ## Prompt: Sorted secondary indexes
+// - Keep an `InventorySortedIndex` in sync with every map mutation (warm-up, snapshot, catch-up, events).
+// - `InventoryPage findBySkuPrefix(String prefix, String after, int limit)`
+// - `InventoryPage findLowStock(int below, String after, int limit)` → cursor is `quantity:sku`.
+
+// ## Prompt: Read-model reconciliation
+// - `repair(row, repairableBefore)` and `evict(sku, repairableBefore)` let `ReadModelReconciler` fix drifted
+//   entries; entries touched by events after `repairableBefore` are left alone (their events may be in flight).
+
+// ## Prompt: Propagation lag
+// - Report every applied `StockUpdatedEvent` to `EventLagMetrics` (dispatch → applied, commit → applied, staleness).
+
+// ## Prompt: Sampled event logging
+// - Per-event "Stock updated" lines are DEBUG; event volume is summarized by `EventLogSummary`.
+
+// ## Prompt: Pre-serialized catalogue cache
+// - `long getVersion()` → bumped after every change to the map (warm-up, snapshot, catch-up, events, repair, evict),
+//   so `CatalogResponseCache` can tell whether its encoded catalogue is still current.
+
+// ## Prompt: Read-model introspection
+// - Keep a `ReadModelStats` in sync with every map mutation, like the sorted index, and count applied events.
+// - `ReadModelStats.Report getStats()` for `ReadModelEndpoint`, plus gauges for each figure; none walks the map.
 package com.meli.inventory.query.service;
 
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.EventLagMetrics;
 import com.meli.inventory.events.StockUpdatedEvent;
-import com.meli.inventory.model.entities.InventoryItem;
-import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.projections.InventoryProjection;
+import com.meli.inventory.query.model.InventoryPage;
 import com.meli.inventory.query.model.InventoryView;
+import com.meli.inventory.query.service.InventorySortedIndex.QuantityKey;
+import com.meli.inventory.query.snapshot.ReadModelSnapshot;
+import com.meli.inventory.query.snapshot.ReadModelSnapshotStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,38 +90,299 @@ public class InventoryQueryService {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryQueryService.class);
     private final ConcurrentHashMap<String, InventoryView> inventoryMap = new ConcurrentHashMap<>();
+    private final InventorySortedIndex sortedIndex = new InventorySortedIndex();
+    private final ReadModelStats stats = new ReadModelStats();
+
+    private final ReadModelLoader readModelLoader;
+    private final ReadModelSnapshotStore snapshotStore;
+    private final EventBus eventBus;
+    private final EventLagMetrics lagMetrics;
+    private final int warmupPartitions;
+    private final long catchUpSkewMs;
+
+    private final AtomicLong warmupRowsLoaded = new AtomicLong();
+    private final AtomicLong warmupRangesTotal = new AtomicLong();
+    private final AtomicLong warmupRangesCompleted = new AtomicLong();
+    private final Timer warmupTimer;
+    private volatile boolean warmedUp = false;
+
+    private final AtomicLong lastAppliedSequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastSnapshotSequence = -1;
+    private final Timer snapshotWriteTimer;
+    private final Counter snapshotFailures;
 
-    private final InventoryRepository inventoryRepository;
+    public InventoryQueryService(ReadModelLoader readModelLoader,
+                                 ReadModelSnapshotStore snapshotStore,
+                                 EventBus eventBus,
+                                 EventLagMetrics lagMetrics,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${inventory.read-model.warmup.partitions:4}") int warmupPartitions,
+                                 @Value("${inventory.read-model.snapshot.catch-up-skew-ms:5000}") long catchUpSkewMs) {
+        this.readModelLoader = readModelLoader;
+        this.snapshotStore = snapshotStore;
+        this.eventBus = eventBus;
+        this.lagMetrics = lagMetrics;
+        this.warmupPartitions = Math.max(1, warmupPartitions);
+        this.catchUpSkewMs = catchUpSkewMs;
 
-    public InventoryQueryService(InventoryRepository inventoryRepository) {
-        this.inventoryRepository = inventoryRepository;
-        System.out.println("🧩 InventoryRepository injected: " + (inventoryRepository != null));
+        meterRegistry.gauge("inventory_readmodel_warmup_rows", warmupRowsLoaded);
+        meterRegistry.gauge("inventory_readmodel_warmup_ranges_total", warmupRangesTotal);
+        meterRegistry.gauge("inventory_readmodel_warmup_ranges_completed", warmupRangesCompleted);
+        meterRegistry.gauge("inventory_readmodel_ready", this, service -> service.isWarmedUp() ? 1 : 0);
+        this.warmupTimer = meterRegistry.timer("inventory_readmodel_warmup_duration");
+        this.snapshotWriteTimer = meterRegistry.timer("inventory_readmodel_snapshot_write_duration");
+        this.snapshotFailures = meterRegistry.counter("inventory_readmodel_snapshot_failures_total");
+
+        meterRegistry.gauge("inventory_readmodel_entries", this, service -> service.getStats().entries());
+        meterRegistry.gauge("inventory_readmodel_estimated_bytes", this,
+                service -> service.getStats().estimatedBytes());
+        meterRegistry.gauge("inventory_readmodel_oldest_update_timestamp_seconds", this,
+                service -> epochSeconds(service.getStats().oldestLastUpdated()));
+        meterRegistry.gauge("inventory_readmodel_newest_update_timestamp_seconds", this,
+                service -> epochSeconds(service.getStats().newestLastUpdated()));
+        meterRegistry.gauge("inventory_readmodel_last_applied_sequence", lastAppliedSequence);
+        meterRegistry.gauge("inventory_readmodel_events_applied_per_second", this,
+                service -> service.getStats().eventsAppliedPerSecond());
+        meterRegistry.gauge("inventory_readmodel_placeholder_percent", this,
+                service -> service.getStats().placeholderPercent());
     }
 
-    /** 🔄 Carga inicial desde la base de datos **/
+    /** 🔄 Carga inicial: snapshot local + cambios desde entonces, o la base completa por rangos en paralelo **/
     @EventListener(ApplicationReadyEvent.class)
     public void loadInitialData() {
-        System.out.println("🚀 Loading initial inventory from DB...");
-        List<InventoryItem> items = inventoryRepository.findAll();
-        for (InventoryItem item : items) {
-            inventoryMap.put(item.getSku(),
-                    new InventoryView(item.getSku(), item.getName(), item.getQuantity(), LocalDateTime.now()));
+        long start = System.nanoTime();
+
+        Optional<ReadModelSnapshot> snapshot = snapshotStore.isEnabled() ? snapshotStore.read() : Optional.empty();
+        if (snapshot.isPresent()) {
+            restoreSnapshot(snapshot.get());
+        } else {
+            loadFromDatabase();
+        }
+
+        warmupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        warmedUp = true;
+        version.incrementAndGet();
+    }
+
+    private void restoreSnapshot(ReadModelSnapshot snapshot) {
+        for (InventoryView view : snapshot.views()) {
+            inventoryMap.computeIfAbsent(view.getSku(), sku -> {
+                sortedIndex.onQuantityChanged(sku, null, view.getQuantity());
+                stats.onAdded(view);
+                return view;
+            });
+        }
+        version.incrementAndGet();
+        eventBus.advanceSequenceTo(snapshot.lastSequence());
+        lastAppliedSequence.accumulateAndGet(snapshot.lastSequence(), Math::max);
+        lastSnapshotSequence = snapshot.lastSequence();
+
+        LocalDateTime since = LocalDateTime.ofInstant(snapshot.takenAt().minusMillis(catchUpSkewMs), ZoneId.systemDefault());
+        int changed = readModelLoader.loadModifiedSince(since, this::applyCatchUpRow);
+        warmupRowsLoaded.set(snapshot.views().size());
+        logger.info("✅ InventoryQueryService restored {} items from snapshot (sequence {}) and caught up {} changed rows",
+                snapshot.views().size(), snapshot.lastSequence(), changed);
+    }
+
+    private void applyCatchUpRow(InventoryProjection row) {
+        inventoryMap.compute(row.getSku(), (sku, existingView) -> {
+            sortedIndex.onQuantityChanged(sku, existingView == null ? null : existingView.getQuantity(), row.getQuantity());
+            if (existingView == null) {
+                InventoryView view = new InventoryView(sku, row.getName(), row.getQuantity(), LocalDateTime.now());
+                stats.onAdded(view);
+                return view;
+            }
+            String oldName = existingView.getName();
+            LocalDateTime oldLastUpdated = existingView.getLastUpdated();
+            existingView.setName(row.getName());
+            existingView.setQuantity(row.getQuantity());
+            existingView.setLastUpdated(LocalDateTime.now());
+            stats.onChanged(oldName, oldLastUpdated, existingView);
+            return existingView;
+        });
+        version.incrementAndGet();
+    }
+
+    private void loadFromDatabase() {
+        logger.info("🚀 Loading initial inventory from DB...");
+        long[] bounds = readModelLoader.idBounds();
+        if (bounds != null) {
+            List<long[]> ranges = splitRange(bounds[0], bounds[1], warmupPartitions);
+            warmupRangesTotal.set(ranges.size());
+
+            ExecutorService executor = Executors.newFixedThreadPool(ranges.size());
+            try {
+                CompletableFuture.allOf(ranges.stream()
+                                .map(range -> CompletableFuture.runAsync(() -> loadRange(range), executor))
+                                .toArray(CompletableFuture[]::new))
+                        .join();
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        logger.info("✅ InventoryQueryService initialized with {} items from DB in {} ranges",
+                warmupRowsLoaded.get(), warmupRangesTotal.get());
+    }
+
+    private void loadRange(long[] range) {
+        readModelLoader.loadRange(range[0], range[1], this::applyWarmupRow);
+        warmupRangesCompleted.incrementAndGet();
+        logger.debug("Read model range [{}, {}] loaded", range[0], range[1]);
+    }
+
+    private void applyWarmupRow(InventoryProjection row) {
+        inventoryMap.compute(row.getSku(), (sku, existing) -> {
+            if (existing == null) {
+                sortedIndex.onQuantityChanged(sku, null, row.getQuantity());
+                InventoryView view = new InventoryView(sku, row.getName(), row.getQuantity(), LocalDateTime.now());
+                stats.onAdded(view);
+                return view;
+            }
+            // A StockUpdatedEvent arrived while warming up: keep its quantity, only fill in the name
+            if (ReadModelStats.PLACEHOLDER_NAME.equals(existing.getName())) {
+                existing.setName(row.getName());
+                stats.onChanged(ReadModelStats.PLACEHOLDER_NAME, existing.getLastUpdated(), existing);
+            }
+            return existing;
+        });
+        version.incrementAndGet();
+        warmupRowsLoaded.incrementAndGet();
+    }
+
+    static List<long[]> splitRange(long minId, long maxId, int partitions) {
+        long span = maxId - minId + 1;
+        int count = (int) Math.max(1, Math.min(partitions, span));
+        long step = span / count;
+        List<long[]> ranges = new ArrayList<>(count);
+        long from = minId;
+        for (int i = 0; i < count; i++) {
+            long to = (i == count - 1) ? maxId : from + step - 1;
+            ranges.add(new long[]{from, to});
+            from = to + 1;
+        }
+        return ranges;
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    public long getLastAppliedSequence() {
+        return lastAppliedSequence.get();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** 📊 Estadísticas del read model, mantenidas de forma incremental **/
+    public ReadModelStats.Report getStats() {
+        return stats.report(lastAppliedSequence.get(), System.nanoTime());
+    }
+
+    private static double epochSeconds(LocalDateTime timestamp) {
+        return timestamp == null ? Double.NaN : timestamp.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    /** 💾 Escribe un snapshot del read model si hubo cambios desde el último **/
+    @Scheduled(fixedDelayString = "${inventory.read-model.snapshot.interval-ms:60000}",
+            initialDelayString = "${inventory.read-model.snapshot.interval-ms:60000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!snapshotStore.isEnabled() || !warmedUp) {
+            return;
+        }
+        long sequence = lastAppliedSequence.get();
+        if (sequence == lastSnapshotSequence) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            snapshotStore.write(inventoryMap.values(), sequence, Instant.now());
+            lastSnapshotSequence = sequence;
+            snapshotWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.debug("Read model snapshot written at sequence {}", sequence);
+        } catch (IOException | RuntimeException e) {
+            snapshotFailures.increment();
+            logger.error("Failed to write read model snapshot", e);
         }
-        logger.info("✅ InventoryQueryService initialized with {} items from DB", items.size());
     }
 
     /** 🔔 Se invoca cuando llega un StockUpdatedEvent **/
     public void handleStockUpdated(StockUpdatedEvent event) {
         inventoryMap.compute(event.getSku(), (sku, existingView) -> {
+            sortedIndex.onQuantityChanged(sku, existingView == null ? null : existingView.getQuantity(), event.getNewQuantity());
             if (existingView == null) {
-                existingView = new InventoryView(sku, "Unknown", event.getNewQuantity(), LocalDateTime.now());
+                existingView = new InventoryView(sku, ReadModelStats.PLACEHOLDER_NAME, event.getNewQuantity(),
+                        LocalDateTime.now());
+                stats.onAdded(existingView);
             } else {
+                LocalDateTime oldLastUpdated = existingView.getLastUpdated();
                 existingView.setQuantity(event.getNewQuantity());
                 existingView.setLastUpdated(LocalDateTime.now());
+                stats.onChanged(existingView.getName(), oldLastUpdated, existingView);
             }
-            logger.info("Stock updated for SKU {}: new quantity {}", sku, event.getNewQuantity());
+            logger.debug("Stock updated for SKU {}: new quantity {}", sku, event.getNewQuantity());
             return existingView;
         });
+        version.incrementAndGet();
+        lastAppliedSequence.accumulateAndGet(event.getSequence(), Math::max);
+        stats.onEventApplied(System.nanoTime());
+        lagMetrics.applied(event);
+    }
+
+    /** 🩹 Corrige una entrada que difiere de la base, salvo que un evento la haya tocado recientemente **/
+    boolean repair(InventoryProjection row, LocalDateTime repairableBefore) {
+        boolean[] repaired = new boolean[1];
+        inventoryMap.compute(row.getSku(), (sku, existingView) -> {
+            if (existingView == null) {
+                sortedIndex.onQuantityChanged(sku, null, row.getQuantity());
+                repaired[0] = true;
+                InventoryView view = new InventoryView(sku, row.getName(), row.getQuantity(), LocalDateTime.now());
+                stats.onAdded(view);
+                return view;
+            }
+            if (Objects.equals(existingView.getQuantity(), row.getQuantity())
+                    && Objects.equals(existingView.getName(), row.getName())) {
+                return existingView;
+            }
+            if (existingView.getLastUpdated() != null && existingView.getLastUpdated().isAfter(repairableBefore)) {
+                return existingView;
+            }
+            sortedIndex.onQuantityChanged(sku, existingView.getQuantity(), row.getQuantity());
+            String oldName = existingView.getName();
+            LocalDateTime oldLastUpdated = existingView.getLastUpdated();
+            existingView.setName(row.getName());
+            existingView.setQuantity(row.getQuantity());
+            existingView.setLastUpdated(LocalDateTime.now());
+            stats.onChanged(oldName, oldLastUpdated, existingView);
+            repaired[0] = true;
+            return existingView;
+        });
+        if (repaired[0]) {
+            version.incrementAndGet();
+        }
+        return repaired[0];
+    }
+
+    /** 🧹 Elimina una entrada que ya no existe en la base **/
+    boolean evict(String sku, LocalDateTime repairableBefore) {
+        boolean[] evicted = new boolean[1];
+        inventoryMap.computeIfPresent(sku, (key, existingView) -> {
+            if (existingView.getLastUpdated() != null && existingView.getLastUpdated().isAfter(repairableBefore)) {
+                return existingView;
+            }
+            sortedIndex.onRemoved(key, existingView.getQuantity());
+            stats.onRemoved(existingView);
+            evicted[0] = true;
+            return null;
+        });
+        if (evicted[0]) {
+            version.incrementAndGet();
+        }
+        return evicted[0];
     }
 
     public InventoryView getBySku(String sku) {
@@ -79,5 +398,46 @@ public class InventoryQueryService {
                 .filter(view -> view.getLastUpdated().isAfter(timestamp))
                 .collect(Collectors.toList());
     }
-}
 
+    public InventoryPage findBySkuPrefix(String prefix, String after, int limit) {
+        List<String> skus = sortedIndex.skusWithPrefix(prefix, after, limit);
+        List<InventoryView> items = new ArrayList<>(Math.min(skus.size(), limit));
+        for (String sku : skus.subList(0, Math.min(skus.size(), limit))) {
+            InventoryView view = inventoryMap.get(sku);
+            if (view != null) {
+                items.add(view);
+            }
+        }
+        String nextCursor = skus.size() > limit ? skus.get(limit - 1) : null;
+        return new InventoryPage(items, nextCursor);
+    }
+
+    public InventoryPage findLowStock(int below, String after, int limit) {
+        List<QuantityKey> keys = sortedIndex.quantityBelow(below, parseQuantityCursor(after), limit);
+        List<InventoryView> items = new ArrayList<>(Math.min(keys.size(), limit));
+        for (QuantityKey key : keys.subList(0, Math.min(keys.size(), limit))) {
+            InventoryView view = inventoryMap.get(key.sku());
+            // Skip keys whose SKU changed quantity between the index scan and this lookup
+            if (view != null && view.getQuantity() != null && view.getQuantity() == key.quantity()) {
+                items.add(view);
+            }
+        }
+        String nextCursor = null;
+        if (keys.size() > limit) {
+            QuantityKey last = keys.get(limit - 1);
+            nextCursor = last.quantity() + ":" + last.sku();
+        }
+        return new InventoryPage(items, nextCursor);
+    }
+
+    private static QuantityKey parseQuantityCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        int separator = cursor.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new QuantityKey(Integer.parseInt(cursor.substring(0, separator)), cursor.substring(separator + 1));
+    }
+}
@@ -0,0 +1,73 @@
+// ## Prompt: InventorySortedIndex
+// Create incremental sorted secondary indexes over the read model.
+
+// Requirements:
+// - A navigable SKU index (`ConcurrentSkipListSet<String>`) for prefix queries.
+// - A quantity index ordered by (quantity, sku) for "quantity below N" queries.
+// - `onQuantityChanged(sku, oldQuantity, newQuantity)` is called by `InventoryQueryService` while it holds the
+//   map entry for that SKU, so updates for one SKU never interleave.
+// - Range scans are O(log n + k): seek to the start key, then walk at most `limit + 1` entries.
+
+// ## Prompt: Read-model reconciliation
+// - `onRemoved(sku, quantity)` drops a SKU the reconciler found in the read model but not in the database.
+package com.meli.inventory.query.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+class InventorySortedIndex {
+
+    record QuantityKey(int quantity, String sku) {
+        static final Comparator<QuantityKey> ORDER =
+                Comparator.comparingInt(QuantityKey::quantity).thenComparing(QuantityKey::sku);
+    }
+
+    private final ConcurrentSkipListSet<String> skuIndex = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<QuantityKey> quantityIndex = new ConcurrentSkipListSet<>(QuantityKey.ORDER);
+
+    void onQuantityChanged(String sku, Integer oldQuantity, Integer newQuantity) {
+        skuIndex.add(sku);
+        if (newQuantity != null) {
+            quantityIndex.add(new QuantityKey(newQuantity, sku));
+        }
+        if (oldQuantity != null && !oldQuantity.equals(newQuantity)) {
+            quantityIndex.remove(new QuantityKey(oldQuantity, sku));
+        }
+    }
+
+    void onRemoved(String sku, Integer quantity) {
+        skuIndex.remove(sku);
+        if (quantity != null) {
+            quantityIndex.remove(new QuantityKey(quantity, sku));
+        }
+    }
+
+    List<String> skusWithPrefix(String prefix, String after, int limit) {
+        NavigableSet<String> candidates = (after != null && after.compareTo(prefix) >= 0)
+                ? skuIndex.tailSet(after, false)
+                : skuIndex.tailSet(prefix, true);
+        List<String> result = new ArrayList<>(Math.min(limit + 1, 64));
+        for (String sku : candidates) {
+            if (!sku.startsWith(prefix) || result.size() > limit) {
+                break;
+            }
+            result.add(sku);
+        }
+        return result;
+    }
+
+    List<QuantityKey> quantityBelow(int threshold, QuantityKey after, int limit) {
+        NavigableSet<QuantityKey> candidates = after != null ? quantityIndex.tailSet(after, false) : quantityIndex;
+        List<QuantityKey> result = new ArrayList<>(Math.min(limit + 1, 64));
+        for (QuantityKey key : candidates) {
+            if (key.quantity() >= threshold || result.size() > limit) {
+                break;
+            }
+            result.add(key);
+        }
+        return result;
+    }
+}
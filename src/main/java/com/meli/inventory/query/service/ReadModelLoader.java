@@ -0,0 +1,120 @@
+// ## Prompt: ReadModelLoader
+// Create a component that streams inventory rows for the read model without loading entities.
+
+// Requirements:
+// - Annotate with `@Component`.
+// - `long[] idBounds()` → min/max id of `inventory_items`, or null when the table is empty.
+// - `int loadRange(long fromId, long toId, Consumer<InventoryProjection> sink)` → stream the projection
+//   for the id range inside a read-only transaction and hand every row to the sink.
+// - `int loadModifiedSince(LocalDateTime since, Consumer<InventoryProjection> sink)` → same, for rows changed since a snapshot.
+// - Close the stream so the JDBC cursor is released.
+// - `int loadStoreStock(Consumer<StoreStockProjection> sink)` → stream every per-store partition.
+
+// ## Prompt: Read-model reconciliation
+// - `List<InventoryProjection> loadBySkus(Collection<String> skus)` → current rows for the SKUs being repaired.
+//
+// ## Prompt: Range checksums in SQL
+// - `Map<Integer, long[]> rangeChecksums(int ranges)` → per SKU-hash range: count, quantity sum, name-hash sum and
+//   weighted quantity sum, computed by the database.
+// - `int loadSkuHashRange(int lo, int hi, Consumer<InventoryProjection> sink)` → stream one range's rows.
+// - `int backfillRowHashes(int limit)` → fill the hash columns of up to `limit` older rows, in a write transaction.
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.projections.InventoryProjection;
+import com.meli.inventory.model.projections.StoreStockProjection;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.repositories.StoreStockRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+public class ReadModelLoader {
+    private final InventoryRepository inventoryRepository;
+    private final StoreStockRepository storeStockRepository;
+
+    public ReadModelLoader(InventoryRepository inventoryRepository, StoreStockRepository storeStockRepository) {
+        this.inventoryRepository = inventoryRepository;
+        this.storeStockRepository = storeStockRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public long[] idBounds() {
+        List<Object[]> rows = inventoryRepository.findIdBounds();
+        if (rows.isEmpty() || rows.get(0)[0] == null) {
+            return null;
+        }
+        Object[] bounds = rows.get(0);
+        return new long[]{((Number) bounds[0]).longValue(), ((Number) bounds[1]).longValue()};
+    }
+
+    @Transactional(readOnly = true)
+    public int loadRange(long fromId, long toId, Consumer<InventoryProjection> sink) {
+        return drain(inventoryRepository.streamProjectionByIdRange(fromId, toId), sink);
+    }
+
+    @Transactional(readOnly = true)
+    public int loadModifiedSince(LocalDateTime since, Consumer<InventoryProjection> sink) {
+        return drain(inventoryRepository.streamProjectionModifiedSince(since), sink);
+    }
+
+    @Transactional(readOnly = true)
+    public List<InventoryProjection> loadBySkus(Collection<String> skus) {
+        return skus.isEmpty() ? List.of() : inventoryRepository.findProjectionsBySkuIn(skus);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Integer, long[]> rangeChecksums(int ranges) {
+        Map<Integer, long[]> checksums = new HashMap<>();
+        for (Object[] row : inventoryRepository.sumRangeChecksums(ranges)) {
+            // Sums may come back as NUMERIC; longValue() keeps the low 64 bits like the wrapping JVM sums
+            checksums.put(((Number) row[0]).intValue(), new long[]{
+                    longOf(row[1]), longOf(row[2]), longOf(row[3]), longOf(row[4])});
+        }
+        return checksums;
+    }
+
+    @Transactional(readOnly = true)
+    public int loadSkuHashRange(int lo, int hi, Consumer<InventoryProjection> sink) {
+        return drain(inventoryRepository.streamProjectionBySkuHashRange(lo, hi), sink);
+    }
+
+    @Transactional
+    public int backfillRowHashes(int limit) {
+        List<Object[]> rows = inventoryRepository.findRowsWithoutHashes(Limit.of(limit));
+        for (Object[] row : rows) {
+            inventoryRepository.updateHashes((Long) row[0],
+                    InventoryItem.hashOf((String) row[1]), InventoryItem.hashOf((String) row[2]));
+        }
+        return rows.size();
+    }
+
+    @Transactional(readOnly = true)
+    public int loadStoreStock(Consumer<StoreStockProjection> sink) {
+        return drain(storeStockRepository.streamAllProjections(), sink);
+    }
+
+    private static long longOf(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    private <T> int drain(Stream<T> stream, Consumer<T> sink) {
+        int count = 0;
+        try (Stream<T> rows = stream) {
+            for (T row : (Iterable<T>) rows::iterator) {
+                sink.accept(row);
+                count++;
+            }
+        }
+        return count;
+    }
+}
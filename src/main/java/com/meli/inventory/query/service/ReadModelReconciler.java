@@ -0,0 +1,282 @@
+// ## Prompt: ReadModelReconciler
+// Create a background job that reconciles the `InventoryQueryService` read model with `inventory_items`.
+
+// Requirements:
+// - Annotate with `@Component`; run on `inventory.read-model.reconcile.interval-ms` once the read model is warm.
+// - Split the SKU keyspace into `inventory.read-model.reconcile.ranges` hash ranges and keep an order-independent
+//   checksum (sum of row hashes over sku, name, quantity) plus a row count per range on both sides.
+//   The read model carries no entity version, so the aggregated quantity stands in for it.
+// - The database side streams id ranges in parallel (`inventory.read-model.reconcile.partitions`) through
+//   `ReadModelLoader`, throttled to `inventory.read-model.reconcile.rows-per-second`.
+// - Only ranges whose checksums differ are drilled into: their rows are compared one by one, suspects are re-read
+//   by SKU and repaired (or evicted when gone from the database). Entries touched by events within
+//   `repair-grace-ms` are left alone.
+//
+// ## Prompt: Range checksums in SQL
+// - Ranges are contiguous intervals of the indexed `inventory_items.sku_hash` column instead of a JVM-only hash,
+//   so the database can both aggregate and filter by range.
+// - Per-range count and checksum (count, quantity sum, name-hash sum, weighted quantity sum) come from one grouped
+//   query (`ReadModelLoader.rangeChecksums`); no row is streamed unless its range differs.
+// - Differing ranges are read with `sku_hash between lo and hi`, `partitions` ranges at a time, throttled to
+//   `rows-per-second`. Rows written before the hash columns existed are backfilled at the start of a run.
+// - Metrics: `inventory_readmodel_reconcile_drift_total{kind}`, `inventory_readmodel_reconcile_duration`,
+//   `inventory_readmodel_reconcile_repair_duration`, gauge `inventory_readmodel_reconcile_ranges_differing`.
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.projections.InventoryProjection;
+import com.meli.inventory.query.model.InventoryView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+public class ReadModelReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(ReadModelReconciler.class);
+
+    private static final int REPAIR_CHUNK_SIZE = 500;
+    private static final int THROTTLE_STEP = 100;
+    private static final long HASH_OFFSET = 1L << 31;
+    private static final long[] EMPTY_RANGE = new long[4];
+
+    private final InventoryQueryService queryService;
+    private final ReadModelLoader readModelLoader;
+    private final int ranges;
+    private final int partitions;
+    private final long rowsPerSecond;
+    private final long repairGraceMs;
+
+    private final Counter mismatchCounter;
+    private final Counter missingCounter;
+    private final Counter phantomCounter;
+    private final Timer reconcileTimer;
+    private final Timer repairTimer;
+    private final AtomicInteger rangesDiffering = new AtomicInteger();
+
+    public ReadModelReconciler(InventoryQueryService queryService,
+                               ReadModelLoader readModelLoader,
+                               MeterRegistry meterRegistry,
+                               @Value("${inventory.read-model.reconcile.ranges:64}") int ranges,
+                               @Value("${inventory.read-model.reconcile.partitions:2}") int partitions,
+                               @Value("${inventory.read-model.reconcile.rows-per-second:5000}") long rowsPerSecond,
+                               @Value("${inventory.read-model.reconcile.repair-grace-ms:5000}") long repairGraceMs) {
+        this.queryService = queryService;
+        this.readModelLoader = readModelLoader;
+        this.ranges = Math.max(1, ranges);
+        this.partitions = Math.max(1, partitions);
+        this.rowsPerSecond = rowsPerSecond;
+        this.repairGraceMs = repairGraceMs;
+
+        this.mismatchCounter = meterRegistry.counter("inventory_readmodel_reconcile_drift_total", "kind", "mismatch");
+        this.missingCounter = meterRegistry.counter("inventory_readmodel_reconcile_drift_total", "kind", "missing");
+        this.phantomCounter = meterRegistry.counter("inventory_readmodel_reconcile_drift_total", "kind", "phantom");
+        this.reconcileTimer = meterRegistry.timer("inventory_readmodel_reconcile_duration");
+        this.repairTimer = meterRegistry.timer("inventory_readmodel_reconcile_repair_duration");
+        meterRegistry.gauge("inventory_readmodel_reconcile_ranges_differing", rangesDiffering);
+    }
+
+    /** 🔍 Compara checksums por rango entre el read model y la base, y repara solo los rangos distintos **/
+    @Scheduled(fixedDelayString = "${inventory.read-model.reconcile.interval-ms:600000}",
+            initialDelayString = "${inventory.read-model.reconcile.interval-ms:600000}")
+    public int reconcile() {
+        if (!queryService.isWarmedUp()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        LocalDateTime repairableBefore = LocalDateTime.now().minusNanos(repairGraceMs * 1_000_000);
+        RowThrottle throttle = new RowThrottle(rowsPerSecond);
+        backfillRowHashes(throttle);
+
+        // The database aggregates every range in one grouped query; only the checksums cross the wire
+        Map<Integer, long[]> database = readModelLoader.rangeChecksums(ranges);
+        RangeChecksums readModel = new RangeChecksums(ranges);
+        for (InventoryView view : queryService.getAll()) {
+            readModel.add(view.getSku(), view.getName(), view.getQuantity());
+        }
+
+        BitSet differing = readModel.differingRanges(database);
+        rangesDiffering.set(differing.cardinality());
+        int drift = 0;
+        if (!differing.isEmpty()) {
+            drift = repairTimer.record(() -> repairRanges(differing, throttle, repairableBefore));
+        }
+
+        reconcileTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (drift > 0) {
+            logger.warn("Read model drifted from DB on {} entries in {} of {} ranges", drift, differing.cardinality(), ranges);
+        } else {
+            logger.debug("Read model reconciled: {} of {} ranges differed, nothing to repair", differing.cardinality(), ranges);
+        }
+        return drift;
+    }
+
+    private void backfillRowHashes(RowThrottle throttle) {
+        int filled;
+        do {
+            filled = readModelLoader.backfillRowHashes(REPAIR_CHUNK_SIZE);
+            throttle.acquire(filled);
+        } while (filled == REPAIR_CHUNK_SIZE);
+    }
+
+    private int repairRanges(BitSet differing, RowThrottle throttle, LocalDateTime repairableBefore) {
+        // Only the rows of the differing ranges are read, through the sku_hash index
+        Set<String> suspects = ConcurrentHashMap.newKeySet();
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(partitions, differing.cardinality()));
+        try {
+            CompletableFuture.allOf(differing.stream()
+                            .mapToObj(range -> CompletableFuture.runAsync(() -> {
+                                int[] read = new int[1];
+                                readModelLoader.loadSkuHashRange(lowestHash(range), highestHash(range), row -> {
+                                    if (++read[0] % THROTTLE_STEP == 0) {
+                                        throttle.acquire(THROTTLE_STEP);
+                                    }
+                                    seen.add(row.getSku());
+                                    InventoryView view = queryService.getBySku(row.getSku());
+                                    if (view == null || !Objects.equals(view.getName(), row.getName())
+                                            || !Objects.equals(view.getQuantity(), row.getQuantity())) {
+                                        suspects.add(row.getSku());
+                                    }
+                                });
+                            }, executor))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
+        for (InventoryView view : queryService.getAll()) {
+            if (differing.get(rangeOf(view.getSku())) && !seen.contains(view.getSku())) {
+                suspects.add(view.getSku());
+            }
+        }
+
+        int drift = 0;
+        List<String> chunk = new ArrayList<>(REPAIR_CHUNK_SIZE);
+        for (String sku : suspects) {
+            chunk.add(sku);
+            if (chunk.size() == REPAIR_CHUNK_SIZE) {
+                drift += repairChunk(chunk, repairableBefore);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            drift += repairChunk(chunk, repairableBefore);
+        }
+        return drift;
+    }
+
+    private int repairChunk(List<String> skus, LocalDateTime repairableBefore) {
+        int drift = 0;
+        Set<String> stillPresent = new HashSet<>();
+        // Re-read the suspects: the scan may have raced with commits whose events are still in flight
+        for (InventoryProjection row : readModelLoader.loadBySkus(skus)) {
+            stillPresent.add(row.getSku());
+            boolean missing = queryService.getBySku(row.getSku()) == null;
+            if (queryService.repair(row, repairableBefore)) {
+                (missing ? missingCounter : mismatchCounter).increment();
+                drift++;
+            }
+        }
+        for (String sku : skus) {
+            if (!stillPresent.contains(sku) && queryService.evict(sku, repairableBefore)) {
+                phantomCounter.increment();
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+    // Same arithmetic as InventoryRepository.SKU_HASH_OFFSET: ranges are contiguous intervals of sku_hash
+    int rangeOf(String sku) {
+        return (int) (offsetOf(InventoryItem.hashOf(sku)) * ranges >>> 32);
+    }
+
+    int lowestHash(int range) {
+        // Smallest offset whose range index is `range`: ceil(range * 2^32 / ranges)
+        long offset = (((long) range << 32) + ranges - 1) / ranges;
+        return (int) (offset - HASH_OFFSET);
+    }
+
+    int highestHash(int range) {
+        return range == ranges - 1 ? Integer.MAX_VALUE : lowestHash(range + 1) - 1;
+    }
+
+    private static long offsetOf(int skuHash) {
+        return skuHash + HASH_OFFSET;
+    }
+
+    /** Per range: row count, quantity sum, name-hash sum and quantity sum weighted by the low SKU-hash bits. **/
+    private final class RangeChecksums {
+        private final long[][] sums;
+
+        private RangeChecksums(int ranges) {
+            this.sums = new long[ranges][4];
+        }
+
+        void add(String sku, String name, Integer quantity) {
+            int skuHash = InventoryItem.hashOf(sku);
+            long amount = quantity == null ? 0 : quantity;
+            long[] range = sums[rangeOf(sku)];
+            range[0]++;
+            range[1] += amount;
+            range[2] += name == null ? 0 : InventoryItem.hashOf(name);
+            range[3] += (offsetOf(skuHash) & 0xFFFF) * amount;
+        }
+
+        BitSet differingRanges(Map<Integer, long[]> database) {
+            BitSet differing = new BitSet(sums.length);
+            for (int i = 0; i < sums.length; i++) {
+                if (!Arrays.equals(sums[i], database.getOrDefault(i, EMPTY_RANGE))) {
+                    differing.set(i);
+                }
+            }
+            return differing;
+        }
+    }
+
+    /** Spaces out row batches so one run reads at most `rowsPerSecond` rows across all partitions. **/
+    private static final class RowThrottle {
+        private final long nanosPerRow;
+        private final AtomicLong nextFree = new AtomicLong(System.nanoTime());
+
+        private RowThrottle(long rowsPerSecond) {
+            this.nanosPerRow = rowsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / rowsPerSecond : 0;
+        }
+
+        void acquire(int rows) {
+            if (nanosPerRow == 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            long cost = rows * nanosPerRow;
+            long slot = nextFree.getAndAccumulate(cost, (previous, delta) -> Math.max(previous, now) + delta);
+            long wait = slot - now;
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+// ## Prompt: ReadModelStats
+// Keep introspection figures of the `InventoryQueryService` map up to date as it changes, so reading them never
+// walks the map.
+
+// Requirements:
+// - `onAdded`, `onChanged` and `onRemoved` are called by `InventoryQueryService` while it holds the map entry for
+//   that SKU (like `InventorySortedIndex`), so updates for one SKU never interleave.
+// - Track the entry count, an estimate of the retained heap (fixed per-entry overhead + SKU and name strings), the
+//   `"Unknown"`-name placeholders created by `handleStockUpdated`, and the oldest/newest `lastUpdated` through a
+//   `ConcurrentSkipListSet` ordered by (lastUpdated, sku).
+// - `onEventApplied(nowNanos)` counts applied events in per-second buckets (CAS, no lock); the rate is the average
+//   over the last `RATE_WINDOW_SECONDS` complete seconds.
+// - `Report report(lastAppliedSequence, nowNanos)` is O(log n).
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.query.model.InventoryView;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ReadModelStats {
+
+    static final String PLACEHOLDER_NAME = "Unknown";
+    static final int RATE_WINDOW_SECONDS = 10;
+
+    // Compressed oops: ConcurrentHashMap node and table slot (40), InventoryView (32), Integer (16),
+    // LocalDateTime with its LocalDate and LocalTime (72), and one skip-list node plus key for each of the SKU,
+    // quantity and lastUpdated indexes (3 x 56)
+    static final long ENTRY_OVERHEAD_BYTES = 40 + 32 + 16 + 72 + 3 * 56;
+
+    public record Report(long entries,
+                         long estimatedBytes,
+                         LocalDateTime oldestLastUpdated,
+                         LocalDateTime newestLastUpdated,
+                         long lastAppliedSequence,
+                         double eventsAppliedPerSecond,
+                         long placeholderEntries,
+                         double placeholderPercent) {
+    }
+
+    private record TouchKey(LocalDateTime lastUpdated, String sku) {
+        static final Comparator<TouchKey> ORDER =
+                Comparator.comparing(TouchKey::lastUpdated).thenComparing(TouchKey::sku);
+    }
+
+    private final LongAdder entries = new LongAdder();
+    private final LongAdder estimatedBytes = new LongAdder();
+    private final LongAdder placeholders = new LongAdder();
+    private final ConcurrentSkipListSet<TouchKey> byLastUpdated = new ConcurrentSkipListSet<>(TouchKey.ORDER);
+    // Per bucket, high 32 bits: second, low 32 bits: events applied in that second
+    private final AtomicLongArray eventBuckets = new AtomicLongArray(RATE_WINDOW_SECONDS + 1);
+
+    void onAdded(InventoryView view) {
+        entries.increment();
+        estimatedBytes.add(ENTRY_OVERHEAD_BYTES + stringBytes(view.getSku()) + stringBytes(view.getName()));
+        if (isPlaceholder(view.getName())) {
+            placeholders.increment();
+        }
+        touch(view.getSku(), null, view.getLastUpdated());
+    }
+
+    void onChanged(String oldName, LocalDateTime oldLastUpdated, InventoryView view) {
+        estimatedBytes.add(stringBytes(view.getName()) - stringBytes(oldName));
+        if (isPlaceholder(oldName) != isPlaceholder(view.getName())) {
+            placeholders.add(isPlaceholder(oldName) ? -1 : 1);
+        }
+        touch(view.getSku(), oldLastUpdated, view.getLastUpdated());
+    }
+
+    void onRemoved(InventoryView view) {
+        entries.decrement();
+        estimatedBytes.add(-(ENTRY_OVERHEAD_BYTES + stringBytes(view.getSku()) + stringBytes(view.getName())));
+        if (isPlaceholder(view.getName())) {
+            placeholders.decrement();
+        }
+        touch(view.getSku(), view.getLastUpdated(), null);
+    }
+
+    void onEventApplied(long nowNanos) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nowNanos) & 0xFFFFFFFFL;
+        int index = (int) (second % eventBuckets.length());
+        while (true) {
+            long current = eventBuckets.get(index);
+            long count = (current >>> 32) == second ? current & 0xFFFFFFFFL : 0;
+            if (eventBuckets.compareAndSet(index, current, (second << 32) | (count + 1))) {
+                return;
+            }
+        }
+    }
+
+    /** 📊 Resumen del read model sin recorrer el mapa **/
+    Report report(long lastAppliedSequence, long nowNanos) {
+        long entryCount = entries.sum();
+        long placeholderCount = placeholders.sum();
+        TouchKey oldest = firstOrNull(byLastUpdated.iterator());
+        TouchKey newest = firstOrNull(byLastUpdated.descendingIterator());
+        return new Report(entryCount,
+                estimatedBytes.sum(),
+                oldest == null ? null : oldest.lastUpdated(),
+                newest == null ? null : newest.lastUpdated(),
+                lastAppliedSequence,
+                eventsPerSecond(nowNanos),
+                placeholderCount,
+                entryCount == 0 ? 0.0 : 100.0 * placeholderCount / entryCount);
+    }
+
+    private double eventsPerSecond(long nowNanos) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nowNanos) & 0xFFFFFFFFL;
+        long total = 0;
+        for (int i = 0; i < eventBuckets.length(); i++) {
+            long bucket = eventBuckets.get(i);
+            // Only complete seconds: the current one is still filling up
+            long age = (second - (bucket >>> 32)) & 0xFFFFFFFFL;
+            if (age >= 1 && age <= RATE_WINDOW_SECONDS) {
+                total += bucket & 0xFFFFFFFFL;
+            }
+        }
+        return (double) total / RATE_WINDOW_SECONDS;
+    }
+
+    private void touch(String sku, LocalDateTime oldLastUpdated, LocalDateTime newLastUpdated) {
+        if (Objects.equals(oldLastUpdated, newLastUpdated)) {
+            return;
+        }
+        if (newLastUpdated != null) {
+            byLastUpdated.add(new TouchKey(newLastUpdated, sku));
+        }
+        if (oldLastUpdated != null) {
+            byLastUpdated.remove(new TouchKey(oldLastUpdated, sku));
+        }
+    }
+
+    // Iterators rather than first()/last(), which throw if a concurrent eviction empties the set
+    private static TouchKey firstOrNull(Iterator<TouchKey> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static boolean isPlaceholder(String name) {
+        return PLACEHOLDER_NAME.equals(name);
+    }
+
+    // Compact (Latin-1) String: object (24) + byte[] header (16) + one byte per char, 8-byte aligned
+    static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return 24 + ((16 + value.length() + 7) & ~7L);
+    }
+}
@@ -0,0 +1,222 @@
+// ## Prompt: StoreReservationQueryService
+// Create a Spring service that maintains reserved and confirmed quantities per (store, SKU) in memory.
+
+// Requirements:
+// - Annotate with `@Service`.
+// - Maintain a `ConcurrentHashMap<storeId, ConcurrentHashMap<sku, StoreReservationView>>`.
+// - `void handleReservationEvent(ReservationLifecycleEvent event)` → apply the delta for the event:
+//   created (+reserved), confirmed (-reserved, +confirmed), cancelled (-reserved). Deltas commute, so events
+//   dispatched out of order still converge.
+// - `List<StoreReservationView> getByStore(String storeId)` and `List<StoreReservationView> getBySku(String sku)`.
+// - A `@Scheduled` job compares the view with a grouped query on `reservations`, counts drift and repairs
+//   entries that were not touched by events recently.
+// - Confirmed totals also include reservations archived into `reservation_history`, so archival is not seen as drift.
+
+// ## Prompt: Store view warm-up
+// - Load the view from the grouped totals on `ApplicationReadyEvent`, like `InventoryQueryService`, leaving alone
+//   entries that events touched after the read started. `isLoaded()` gates the store endpoints and readiness.
+// - Deltas stay raw so out-of-order events still converge, but a negative quantity is counted in
+//   `store_reservations_negative_total` and served as 0.
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.events.ReservationCancelledEvent;
+import com.meli.inventory.events.ReservationConfirmedEvent;
+import com.meli.inventory.events.ReservationCreatedEvent;
+import com.meli.inventory.events.ReservationLifecycleEvent;
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+import com.meli.inventory.model.projections.StoreReservationTotals;
+import com.meli.inventory.model.repositories.ReservationHistoryRepository;
+import com.meli.inventory.model.repositories.ReservationRepository;
+import com.meli.inventory.query.model.StoreReservationView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class StoreReservationQueryService {
+    private static final Logger logger = LoggerFactory.getLogger(StoreReservationQueryService.class);
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, StoreReservationView>> viewsByStore =
+            new ConcurrentHashMap<>();
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationHistoryRepository historyRepository;
+    private final long repairGraceMs;
+    private final Counter driftCounter;
+    private final Counter negativeCounter;
+    private volatile boolean loaded;
+
+    public StoreReservationQueryService(ReservationRepository reservationRepository,
+                                        ReservationHistoryRepository historyRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${inventory.read-model.store-reservations.repair-grace-ms:5000}") long repairGraceMs) {
+        this.reservationRepository = reservationRepository;
+        this.historyRepository = historyRepository;
+        this.repairGraceMs = repairGraceMs;
+        this.driftCounter = meterRegistry.counter("store_reservations_drift_total");
+        this.negativeCounter = meterRegistry.counter("store_reservations_negative_total");
+    }
+
+    /** 🔄 Carga inicial desde la base, antes de servir los endpoints por tienda **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInitialData() {
+        LocalDateTime readStartedAt = LocalDateTime.now();
+        int entries = 0;
+        for (Map.Entry<String, Map<String, int[]>> store : expectedTotals().entrySet()) {
+            for (Map.Entry<String, int[]> entry : store.getValue().entrySet()) {
+                repair(store.getKey(), entry.getKey(), entry.getValue()[0], entry.getValue()[1], readStartedAt);
+                entries++;
+            }
+        }
+        loaded = true;
+        logger.info("Store reservation read model loaded with {} entries", entries);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** 🔔 Se invoca cuando llega un evento del ciclo de vida de una reserva **/
+    public void handleReservationEvent(ReservationLifecycleEvent event) {
+        int quantity = event.getQuantity();
+        if (event instanceof ReservationCreatedEvent) {
+            apply(event.getStoreId(), event.getSku(), quantity, 0);
+        } else if (event instanceof ReservationConfirmedEvent) {
+            apply(event.getStoreId(), event.getSku(), -quantity, quantity);
+        } else if (event instanceof ReservationCancelledEvent) {
+            apply(event.getStoreId(), event.getSku(), -quantity, 0);
+        }
+    }
+
+    private void apply(String storeId, String sku, int reservedDelta, int confirmedDelta) {
+        viewsByStore.computeIfAbsent(storeId, id -> new ConcurrentHashMap<>())
+                .compute(sku, (key, view) -> {
+                    if (view == null) {
+                        view = new StoreReservationView(storeId, sku, 0, 0, null);
+                    }
+                    view.setReservedQuantity(view.getReservedQuantity() + reservedDelta);
+                    view.setConfirmedQuantity(view.getConfirmedQuantity() + confirmedDelta);
+                    view.setLastUpdated(LocalDateTime.now());
+                    if (view.getReservedQuantity() < 0 || view.getConfirmedQuantity() < 0) {
+                        negativeCounter.increment();
+                    }
+                    return view;
+                });
+    }
+
+    public List<StoreReservationView> getByStore(String storeId) {
+        Map<String, StoreReservationView> views = viewsByStore.get(storeId);
+        if (views == null) {
+            return List.of();
+        }
+        List<StoreReservationView> result = new ArrayList<>(views.size());
+        views.values().forEach(view -> result.add(served(view)));
+        return result;
+    }
+
+    public List<StoreReservationView> getBySku(String sku) {
+        List<StoreReservationView> result = new ArrayList<>();
+        for (Map<String, StoreReservationView> views : viewsByStore.values()) {
+            StoreReservationView view = views.get(sku);
+            if (view != null) {
+                result.add(served(view));
+            }
+        }
+        return result;
+    }
+
+    // A copy, so callers never see it change; negatives (a delta ahead of its create) are served as 0
+    private static StoreReservationView served(StoreReservationView view) {
+        return new StoreReservationView(view.getStoreId(), view.getSku(), Math.max(0, view.getReservedQuantity()),
+                Math.max(0, view.getConfirmedQuantity()), view.getLastUpdated());
+    }
+
+    /** 🔍 Verifica el read model contra la base y repara las diferencias **/
+    @Scheduled(fixedDelayString = "${inventory.read-model.store-reservations.verify-interval-ms:300000}",
+            initialDelayString = "${inventory.read-model.store-reservations.verify-interval-ms:300000}")
+    public int verifyAgainstDatabase() {
+        LocalDateTime repairableBefore = LocalDateTime.now().minusNanos(repairGraceMs * 1_000_000);
+        Map<String, Map<String, int[]>> expected = expectedTotals();
+
+        int drift = 0;
+        for (Map.Entry<String, Map<String, int[]>> store : expected.entrySet()) {
+            for (Map.Entry<String, int[]> entry : store.getValue().entrySet()) {
+                drift += repair(store.getKey(), entry.getKey(), entry.getValue()[0], entry.getValue()[1], repairableBefore);
+            }
+        }
+        for (Map.Entry<String, ConcurrentHashMap<String, StoreReservationView>> store : viewsByStore.entrySet()) {
+            Map<String, int[]> expectedForStore = expected.getOrDefault(store.getKey(), Map.of());
+            for (String sku : store.getValue().keySet()) {
+                if (!expectedForStore.containsKey(sku)) {
+                    drift += repair(store.getKey(), sku, 0, 0, repairableBefore);
+                }
+            }
+        }
+
+        if (drift > 0) {
+            driftCounter.increment(drift);
+            logger.warn("Store reservation read model drifted from DB on {} entries", drift);
+        }
+        return drift;
+    }
+
+    /** storeId → sku → {reserved, confirmed} from the database. */
+    private Map<String, Map<String, int[]>> expectedTotals() {
+        Map<String, Map<String, int[]>> expected = new HashMap<>();
+        for (StoreReservationTotals totals : loadTotals()) {
+            int[] quantities = expected.computeIfAbsent(totals.getStoreId(), id -> new HashMap<>())
+                    .computeIfAbsent(totals.getSku(), sku -> new int[2]);
+            int index = totals.getStatus() == ReservationStatus.PENDING ? 0 : 1;
+            quantities[index] += totals.getQuantity().intValue();
+        }
+        return expected;
+    }
+
+    private List<StoreReservationTotals> loadTotals() {
+        List<StoreReservationTotals> totals = new ArrayList<>(reservationRepository.sumQuantitiesByStoreAndSku(
+                EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED)));
+        totals.addAll(historyRepository.sumQuantitiesByStoreAndSku(EnumSet.of(ReservationStatus.CONFIRMED)));
+        return totals;
+    }
+
+    private int repair(String storeId, String sku, int reserved, int confirmed, LocalDateTime repairableBefore) {
+        int[] drifted = new int[1];
+        viewsByStore.computeIfAbsent(storeId, id -> new ConcurrentHashMap<>())
+                .compute(sku, (key, view) -> {
+                    if (view == null) {
+                        if (reserved == 0 && confirmed == 0) {
+                            return null;
+                        }
+                        drifted[0] = 1;
+                        return new StoreReservationView(storeId, sku, reserved, confirmed, LocalDateTime.now());
+                    }
+                    if (view.getReservedQuantity() == reserved && view.getConfirmedQuantity() == confirmed) {
+                        return view;
+                    }
+                    // Events applied after the DB read may still be in flight: only repair settled entries
+                    if (view.getLastUpdated() != null && view.getLastUpdated().isAfter(repairableBefore)) {
+                        return view;
+                    }
+                    drifted[0] = 1;
+                    view.setReservedQuantity(reserved);
+                    view.setConfirmedQuantity(confirmed);
+                    view.setLastUpdated(LocalDateTime.now());
+                    return view;
+                });
+        return drifted[0];
+    }
+}
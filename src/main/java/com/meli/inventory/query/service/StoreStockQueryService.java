@@ -0,0 +1,74 @@
+// ## Prompt: StoreStockQueryService
+// Create a Spring service that keeps the per-store stock partitions of every SKU in memory.
+
+// Requirements:
+// - Annotate with `@Service`.
+// - Maintain a `ConcurrentHashMap<sku, ConcurrentHashMap<storeId, quantity>>`, warmed up from `store_stock`
+//   on `ApplicationReadyEvent` through `ReadModelLoader`.
+// - `void handleStoreStockUpdated(StoreStockUpdatedEvent event)` → keep the quantity of the highest event sequence,
+//   so events dispatched out of order cannot roll a partition back.
+// - `StoreStockView getBySku(String sku)` → aggregated quantity from `InventoryQueryService` plus the per-store split.
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.events.StoreStockUpdatedEvent;
+import com.meli.inventory.query.model.InventoryView;
+import com.meli.inventory.query.model.StoreStockView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class StoreStockQueryService {
+    private static final Logger logger = LoggerFactory.getLogger(StoreStockQueryService.class);
+
+    private record Partition(int quantity, long sequence) {
+    }
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Partition>> partitionsBySku =
+            new ConcurrentHashMap<>();
+
+    private final ReadModelLoader readModelLoader;
+    private final InventoryQueryService inventoryQueryService;
+
+    public StoreStockQueryService(ReadModelLoader readModelLoader, InventoryQueryService inventoryQueryService) {
+        this.readModelLoader = readModelLoader;
+        this.inventoryQueryService = inventoryQueryService;
+    }
+
+    /** 🔄 Carga inicial de las particiones por tienda **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInitialData() {
+        int rows = readModelLoader.loadStoreStock(row -> partitionsBySku
+                .computeIfAbsent(row.getSku(), sku -> new ConcurrentHashMap<>())
+                // an event applied during warm-up is newer than the row we just read
+                .putIfAbsent(row.getStoreId(), new Partition(row.getQuantity(), 0L)));
+        logger.info("Store stock read model warmed up with {} partitions", rows);
+    }
+
+    /** 🔔 Se invoca cuando cambia el stock de una tienda **/
+    public void handleStoreStockUpdated(StoreStockUpdatedEvent event) {
+        partitionsBySku.computeIfAbsent(event.getSku(), sku -> new ConcurrentHashMap<>())
+                .merge(event.getStoreId(), new Partition(event.getNewQuantity(), event.getSequence()),
+                        (current, incoming) -> incoming.sequence() >= current.sequence() ? incoming : current);
+    }
+
+    public StoreStockView getBySku(String sku) {
+        InventoryView item = inventoryQueryService.getBySku(sku);
+        if (item == null) {
+            return null;
+        }
+
+        Map<String, Integer> stores = new TreeMap<>();
+        partitionsBySku.getOrDefault(sku, new ConcurrentHashMap<>())
+                .forEach((storeId, partition) -> stores.put(storeId, partition.quantity()));
+        int allocated = stores.values().stream().mapToInt(Integer::intValue).sum();
+        int total = item.getQuantity();
+        return new StoreStockView(sku, total, Math.max(total - allocated, 0), stores);
+    }
+}
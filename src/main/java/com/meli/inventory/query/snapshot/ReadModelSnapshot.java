@@ -0,0 +1,12 @@
+// ## Prompt: ReadModelSnapshot
+// Immutable content of a read-model snapshot file: the last applied event sequence,
+// when it was taken, and the views it contains.
+package com.meli.inventory.query.snapshot;
+
+import com.meli.inventory.query.model.InventoryView;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ReadModelSnapshot(long lastSequence, Instant takenAt, List<InventoryView> views) {
+}
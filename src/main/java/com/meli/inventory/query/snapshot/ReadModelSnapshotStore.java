@@ -0,0 +1,201 @@
+// ## Prompt: ReadModelSnapshotStore
+// Create a component that persists the read model to a compact, versioned binary file using NIO.
+
+// Requirements:
+// - Annotate with `@Component`; configured by `inventory.read-model.snapshot.enabled` and `.path`.
+// - `write(Collection<InventoryView> views, long lastSequence, Instant takenAt)` → write to a temp file through a
+//   `FileChannel`, fsync, then atomically move it over the previous snapshot.
+// - `Optional<ReadModelSnapshot> read()` → memory-map the file, verify magic, format version and CRC32 trailer.
+// - Any corrupted, truncated or unknown-version file returns `Optional.empty()` so the caller falls back to a DB scan.
+//
+// File layout (big-endian):
+//   int magic "INVS" | short version | long lastSequence | long takenAtEpochMilli | int count
+//   count x { short skuLength, sku UTF-8 | short nameLength (-1 = null), name UTF-8 | int quantity | long lastUpdatedEpochMilli }
+//   int crc32 (over every preceding byte)
+package com.meli.inventory.query.snapshot;
+
+import com.meli.inventory.query.model.InventoryView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+@Component
+public class ReadModelSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(ReadModelSnapshotStore.class);
+
+    static final int MAGIC = 0x494E5653; // "INVS"
+    static final short FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_BYTES = 128 * 1024;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final boolean enabled;
+    private final Path path;
+
+    public ReadModelSnapshotStore(@Value("${inventory.read-model.snapshot.enabled:false}") boolean enabled,
+                                  @Value("${inventory.read-model.snapshot.path:./data/read-model.snapshot}") String path) {
+        this.enabled = enabled;
+        this.path = Path.of(path);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void write(Collection<InventoryView> views, long lastSequence, Instant takenAt) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        List<InventoryView> entries = List.copyOf(views);
+        CRC32 crc = new CRC32();
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            buffer.putInt(MAGIC)
+                    .putShort(FORMAT_VERSION)
+                    .putLong(lastSequence)
+                    .putLong(takenAt.toEpochMilli())
+                    .putInt(entries.size());
+
+            for (InventoryView view : entries) {
+                byte[] sku = view.getSku().getBytes(StandardCharsets.UTF_8);
+                byte[] name = view.getName() == null ? null : view.getName().getBytes(StandardCharsets.UTF_8);
+                int entryBytes = Short.BYTES + sku.length + Short.BYTES + (name == null ? 0 : name.length)
+                        + Integer.BYTES + Long.BYTES;
+                if (buffer.remaining() < entryBytes) {
+                    flush(channel, buffer, crc);
+                }
+                putString(buffer, sku);
+                putString(buffer, name);
+                buffer.putInt(view.getQuantity() == null ? 0 : view.getQuantity());
+                buffer.putLong(toEpochMilli(view.getLastUpdated()));
+            }
+            flush(channel, buffer, crc);
+
+            buffer.putInt((int) crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Optional<ReadModelSnapshot> read() {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Integer.BYTES || size > Integer.MAX_VALUE) {
+                logger.warn("Read model snapshot {} has invalid size {} — ignoring it", path, size);
+                return Optional.empty();
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int payloadBytes = (int) size - Integer.BYTES;
+
+            CRC32 crc = new CRC32();
+            crc.update(mapped.slice(0, payloadBytes));
+            if ((int) crc.getValue() != mapped.getInt(payloadBytes)) {
+                logger.warn("Read model snapshot {} failed checksum verification — ignoring it", path);
+                return Optional.empty();
+            }
+
+            ByteBuffer buffer = mapped.slice(0, payloadBytes);
+            if (buffer.getInt() != MAGIC) {
+                logger.warn("Read model snapshot {} has an unknown magic number — ignoring it", path);
+                return Optional.empty();
+            }
+            short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                logger.warn("Read model snapshot {} has unsupported format version {} — ignoring it", path, version);
+                return Optional.empty();
+            }
+            long lastSequence = buffer.getLong();
+            Instant takenAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            if (count < 0) {
+                logger.warn("Read model snapshot {} has a negative entry count — ignoring it", path);
+                return Optional.empty();
+            }
+
+            List<InventoryView> views = new ArrayList<>(Math.min(count, payloadBytes / 16));
+            for (int i = 0; i < count; i++) {
+                String sku = getString(buffer);
+                String name = getString(buffer);
+                int quantity = buffer.getInt();
+                views.add(new InventoryView(sku, name, quantity, fromEpochMilli(buffer.getLong())));
+            }
+            if (buffer.hasRemaining()) {
+                logger.warn("Read model snapshot {} has trailing bytes — ignoring it", path);
+                return Optional.empty();
+            }
+            return Optional.of(new ReadModelSnapshot(lastSequence, takenAt, views));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.warn("Could not read read model snapshot {} — ignoring it: {}", path, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value too long for snapshot: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochMilli(LocalDateTime value) {
+        return value == null ? NO_TIMESTAMP : value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMilli(long value) {
+        return value == NO_TIMESTAMP ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(value), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,49 @@
+// ## Prompt: ConfiguredCredentialStore
+// Default `CredentialStore` backed by configuration instead of a hardcoded constant.
+
+// Requirements:
+// - Users come from `inventory.security.users` as `user:password` pairs separated by commas (default `admin:admin123`).
+// - Keep only SHA-256 digests of the passwords in memory.
+// - Compare digests with `MessageDigest.isEqual` (constant time); unknown users are compared against a dummy digest
+//   so the response time does not reveal which users exist.
+package com.meli.inventory.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class ConfiguredCredentialStore implements CredentialStore {
+
+    private static final byte[] UNKNOWN_USER_DIGEST = new byte[32];
+
+    private final Map<String, byte[]> digests = new HashMap<>();
+
+    public ConfiguredCredentialStore(String users) {
+        for (String entry : users.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected user:password in inventory.security.users");
+            }
+            digests.put(entry.substring(0, separator).trim(),
+                    sha256(entry.substring(separator + 1).trim().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Override
+    public Optional<String> verify(String username, byte[] password) {
+        byte[] expected = digests.get(username);
+        boolean matches = MessageDigest.isEqual(expected == null ? UNKNOWN_USER_DIGEST : expected, sha256(password));
+        return matches && expected != null ? Optional.of(username) : Optional.empty();
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
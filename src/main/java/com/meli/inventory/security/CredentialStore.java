@@ -0,0 +1,16 @@
+// ## Prompt: CredentialStore
+// Extract credential verification out of `SimpleAuthFilter` behind an interface.
+
+// Requirements:
+// - `Optional<String> verify(String username, byte[] password)` → the principal name when the password is valid.
+// - Implementations must compare secrets in constant time and take the same time for unknown users.
+// - The default implementation is `ConfiguredCredentialStore`; declaring another `CredentialStore` bean replaces it.
+package com.meli.inventory.security;
+
+import java.util.Optional;
+
+public interface CredentialStore {
+
+    /** Returns the principal name when {@code password} is valid for {@code username}. */
+    Optional<String> verify(String username, byte[] password);
+}
@@ -0,0 +1,33 @@
+// ## Prompt: PublicPaths
+// Single definition of the routes that are served without authentication.
+
+// Requirements:
+// - Hold the public prefixes once (`/swagger-ui`, `/swagger-ui.html`, `/v3/api-docs`, `/actuator`, `/h2-console`, `/error`).
+// - `boolean matches(String path)` → whole-segment prefix check without allocating.
+// - `RequestMatcher` view for `WebSecurityCustomizer.ignoring()`, so the same check keeps public routes out of the chain.
+package com.meli.inventory.security;
+
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+public final class PublicPaths {
+
+    private static final String[] PREFIXES = {
+            "/swagger-ui", "/swagger-ui.html", "/v3/api-docs", "/actuator", "/h2-console", "/error"};
+
+    private PublicPaths() {
+    }
+
+    public static RequestMatcher requestMatcher() {
+        return request -> matches(request.getRequestURI());
+    }
+
+    public static boolean matches(String path) {
+        for (String prefix : PREFIXES) {
+            if (path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,9 +1,22 @@
+// ## Prompt: Authentication fast path
+// - Public paths (`PublicPaths`) are ignored by Spring Security, so they skip the security chain entirely.
+// - Declare the default `ConfiguredCredentialStore` unless another `CredentialStore` bean exists.
+// - `SimpleAuthFilter` only runs inside the security chain, not as a second servlet filter.
+
+// ## Prompt: Non-blocking reservation API
+// - Permit `ASYNC` dispatches: they only write the result of a request that was already authenticated, and the
+//   authentication is not stored anywhere the async dispatch could load it from.
 package com.meli.inventory.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -16,6 +29,24 @@ public class SecurityConfig {
         this.simpleAuthFilter = simpleAuthFilter;
     }
 
+    @Bean
+    @ConditionalOnMissingBean(CredentialStore.class)
+    public static CredentialStore credentialStore(@Value("${inventory.security.users:admin:admin123}") String users) {
+        return new ConfiguredCredentialStore(users);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SimpleAuthFilter> simpleAuthFilterRegistration(SimpleAuthFilter filter) {
+        FilterRegistrationBean<SimpleAuthFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public WebSecurityCustomizer publicPaths() {
+        return web -> web.ignoring().requestMatchers(PublicPaths.requestMatcher());
+    }
+
     @Bean
     @Order(1)
     public SecurityFilterChain appChain(HttpSecurity http) throws Exception {
@@ -23,16 +54,9 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable()) // ✅ evita 403 en POST por CSRF
                 .headers(h -> h.frameOptions(f -> f.sameOrigin())) // H2 console
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(
-                                "/swagger-ui/**",
-                                "/v3/api-docs/**",
-                                "/h2-console/**",
-                                "/actuator/**"
-                        ).permitAll()
-                        .anyRequest().authenticated()
-                )
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .anyRequest().authenticated())
                 .addFilterBefore(simpleAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 }
-
@@ -9,18 +9,38 @@
 // - Annotate the filter with `@Component` so it’s registered automatically.
 // - Ensure Swagger endpoints (`/swagger-ui` and `/v3/api-docs`) are excluded.
 // - Add a test in `SecurityFilterTest` that verifies 401 and 200 responses.
+//
+// ## Prompt: Authentication fast path
+// Make per-request authentication cheap for the read-heavy API.
+
+// Requirements:
+// - Verify `user:password` through a pluggable `CredentialStore` instead of a hardcoded constant.
+// - Cache the `Authentication` of already verified header values in a bounded Caffeine cache
+//   (`inventory.security.auth-cache.max-size`, `ttl-ms`); a hit costs one map lookup and no decoding or allocation.
+// - Only successful verifications are cached, so invalid headers cannot evict valid ones.
+// - Public paths are ignored by the security chain (`PublicPaths`); `shouldNotFilter` uses the same prefixes.
+// - Expose hit ratio through `CaffeineCacheMetrics` as cache `verified_credentials`.
 package com.meli.inventory.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 
@@ -29,50 +49,89 @@ public class SimpleAuthFilter extends OncePerRequestFilter {
 
     private static final String AUTH_HEADER = "Authorization";
     private static final String AUTH_PREFIX = "Basic ";
-    private static final String VALID_CREDENTIALS = "admin:admin123";
+
+    private final CredentialStore credentialStore;
+    private final Cache<String, Authentication> verified;
+
+    public SimpleAuthFilter(CredentialStore credentialStore,
+                            MeterRegistry meterRegistry,
+                            @Value("${inventory.security.auth-cache.max-size:1024}") long maxSize,
+                            @Value("${inventory.security.auth-cache.ttl-ms:300000}") long ttlMs) {
+        this.credentialStore = credentialStore;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // bounds how long a changed or removed credential keeps working
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified_credentials");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // ✅ Excluir rutas públicas
+        return PublicPaths.matches(request.getRequestURI());
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filter)
             throws ServletException, IOException {
 
-        String path = request.getRequestURI();
-
-        // ✅ Excluir rutas públicas
-        if (path.startsWith("/swagger-ui")
-                || path.startsWith("/v3/api-docs")
-                || path.startsWith("/actuator")
-                || path.startsWith("/h2-console")
-                || path.startsWith("/error")) {
-            filter.doFilter(request, response);
-            return;
-        }
-
         String authHeader = request.getHeader(AUTH_HEADER);
-        if (authHeader == null || !authHeader.startsWith(AUTH_PREFIX)) {
+        if (authHeader == null) {
             unauthorized(response);
             return;
         }
 
-        try {
-            String base64 = authHeader.substring(AUTH_PREFIX.length());
-            String credentials = new String(Base64.getDecoder().decode(base64));
-
-            if (!VALID_CREDENTIALS.equals(credentials)) {
+        Authentication authentication = verified.getIfPresent(authHeader);
+        if (authentication == null) {
+            authentication = authenticate(authHeader);
+            if (authentication == null) {
                 unauthorized(response);
                 return;
             }
+            verified.put(authHeader, authentication);
+        }
 
-            // ✅ Registrar autenticación en el contexto
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken("admin", null, List.of());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        // ✅ Registrar autenticación en el contexto
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        filter.doFilter(request, response);
+    }
 
+    /** 🔐 Decodifica el header Basic y valida las credenciales contra el CredentialStore **/
+    private Authentication authenticate(String authHeader) {
+        if (!authHeader.startsWith(AUTH_PREFIX)) {
+            return null;
+        }
+        byte[] credentials;
+        try {
+            credentials = Base64.getDecoder().decode(authHeader.substring(AUTH_PREFIX.length()));
         } catch (IllegalArgumentException e) {
-            unauthorized(response);
-            return;
+            return null;
+        }
+        int separator = indexOf(credentials, (byte) ':');
+        if (separator < 0) {
+            return null;
+        }
+        String username = new String(credentials, 0, separator, StandardCharsets.UTF_8);
+        byte[] password = Arrays.copyOfRange(credentials, separator + 1, credentials.length);
+        try {
+            return credentialStore.verify(username, password)
+                    .map(principal -> (Authentication) new UsernamePasswordAuthenticationToken(principal, null, List.of()))
+                    .orElse(null);
+        } finally {
+            Arrays.fill(credentials, (byte) 0);
+            Arrays.fill(password, (byte) 0);
         }
+    }
 
-        filter.doFilter(request, response);
+    private static int indexOf(byte[] bytes, byte value) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     private void unauthorized(HttpServletResponse response) throws IOException {
@@ -80,6 +139,3 @@ public class SimpleAuthFilter extends OncePerRequestFilter {
         response.getWriter().write("Unauthorized");
     }
 }
-
-
-
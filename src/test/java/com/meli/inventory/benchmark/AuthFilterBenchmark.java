@@ -0,0 +1,89 @@
+package com.meli.inventory.benchmark;
+
+import com.meli.inventory.security.ConfiguredCredentialStore;
+import com.meli.inventory.security.SimpleAuthFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Per-request cost of {@link SimpleAuthFilter}: a repeated valid header (cache hit), a header that has to be
+ * decoded and verified every time (cache disabled), and a public path. Requests and responses are reused so
+ * the numbers are the filter's own work. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class AuthFilterBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(AuthFilterBenchmark.class);
+
+    private static final int REQUESTS = 2_000_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final String HEADER = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void authenticationOverheadPerRequest() throws Exception {
+        SimpleAuthFilter cached = filter(1024);
+        SimpleAuthFilter uncached = filter(0);
+        MockHttpServletRequest api = request("/api/v1/inventory/SKU-1");
+        MockHttpServletRequest publicPath = request("/actuator/health");
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(cached, api);
+            run(uncached, api);
+            run(cached, publicPath);
+        }
+
+        logger.info("{} requests: cached {} ns/req, verify every request {} ns/req, public path {} ns/req",
+                REQUESTS, run(cached, api), run(uncached, api), run(cached, publicPath));
+    }
+
+    private static SimpleAuthFilter filter(long cacheSize) {
+        return new SimpleAuthFilter(new ConfiguredCredentialStore("admin:admin123"),
+                new SimpleMeterRegistry(), cacheSize, 60_000);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", HEADER);
+        return request;
+    }
+
+    private static long run(SimpleAuthFilter filter, MockHttpServletRequest request)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CountingChain chain = new CountingChain();
+        String alreadyFiltered = SimpleAuthFilter.class.getName() + ".FILTERED";
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            filter.doFilter(request, response, chain);
+            request.removeAttribute(alreadyFiltered);
+        }
+        long elapsed = System.nanoTime() - start;
+        SecurityContextHolder.clearContext();
+        assertEquals(REQUESTS, chain.calls);
+        assertEquals(200, response.getStatus());
+        return elapsed / REQUESTS;
+    }
+
+    private static final class CountingChain implements FilterChain {
+        private int calls;
+
+        @Override
+        public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+            calls++;
+        }
+    }
+}
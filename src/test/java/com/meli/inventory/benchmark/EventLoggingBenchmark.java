@@ -0,0 +1,170 @@
+package com.meli.inventory.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.meli.inventory.events.StockUpdatedEvent;
+import com.meli.inventory.observability.EventLogSummary;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CPU spent on logging per stock change, with several threads publishing at once:
+ * three synchronous INFO lines per event (the previous behavior), the same lines through an async appender,
+ * and the sampled mode (DEBUG per-event lines that are disabled, sampled lines and counters).
+ * Lines are formatted with the console pattern and written to a counting sink, not to the terminal.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class EventLoggingBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(EventLoggingBenchmark.class);
+
+    private static final int EVENTS = 200_000;
+    private static final int THREADS = 4;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    @Test
+    void loggingCpuPerStockChange() throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            perEvent(false);
+            perEvent(true);
+            sampled();
+        }
+        Result sync = perEvent(false);
+        Result async = perEvent(true);
+        Result sampled = sampled();
+
+        logger.info("{} stock changes on {} threads: per-event sync {}, per-event async {}, sampled {}",
+                EVENTS, THREADS, sync, async, sampled);
+        assertTrue(sampled.cpuMs() < sync.cpuMs(), "sampled mode should use less CPU than per-event logging");
+    }
+
+    private Result perEvent(boolean async) throws Exception {
+        LongAdder bytes = new LongAdder();
+        Appender<ILoggingEvent> appender = async ? async(sink(bytes)) : sink(bytes);
+        Logger publisher = logger("bench.publish", Level.INFO, appender);
+        Logger listener = logger("bench.listener", Level.INFO, appender);
+        Logger readModel = logger("bench.readmodel", Level.INFO, appender);
+        return run(appender, bytes, event -> {
+            publisher.info("Publishing event: {}", event);
+            listener.info("Received event: {}", event);
+            readModel.info("Stock updated for SKU {}: new quantity {}", event.getSku(), event.getNewQuantity());
+        });
+    }
+
+    private Result sampled() throws Exception {
+        LongAdder bytes = new LongAdder();
+        Appender<ILoggingEvent> appender = async(sink(bytes));
+        Logger publisher = logger("bench.publish", Level.INFO, appender);
+        Logger readModel = logger("bench.readmodel", Level.INFO, appender);
+        EventLogSummary summary = new EventLogSummary(5);
+        return run(appender, bytes, event -> {
+            publisher.debug("Publishing event: {}", event);
+            summary.onEvent(event);
+            readModel.debug("Stock updated for SKU {}: new quantity {}", event.getSku(), event.getNewQuantity());
+        });
+    }
+
+    private Result run(Appender<ILoggingEvent> appender, LongAdder bytes, Consumer<StockUpdatedEvent> logEvent)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long cpuStart = processCpuNanos();
+        long start = System.nanoTime();
+        Future<?>[] workers = new Future<?>[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers[t] = executor.submit(() -> {
+                for (int i = thread; i < EVENTS; i += THREADS) {
+                    logEvent.accept(new StockUpdatedEvent("SKU-" + (i % 1_000), i));
+                }
+            });
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        // an async appender drains its queue on stop, so the writer thread's work is included
+        appender.stop();
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long cpuMs = TimeUnit.NANOSECONDS.toMillis(processCpuNanos() - cpuStart);
+        executor.shutdown();
+        return new Result(cpuMs, wallMs, bytes.sum());
+    }
+
+    private Logger logger(String name, Level level, Appender<ILoggingEvent> appender) {
+        ch.qos.logback.classic.Logger target = context.getLogger(name);
+        target.detachAndStopAllAppenders();
+        target.setAdditive(false);
+        target.setLevel(level);
+        target.addAppender(appender);
+        return target;
+    }
+
+    private OutputStreamAppender<ILoggingEvent> sink(LongAdder bytes) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes.increment();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes.add(len);
+            }
+        });
+        appender.start();
+        return appender;
+    }
+
+    private AsyncAppender async(OutputStreamAppender<ILoggingEvent> target) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(0);
+        // block instead of dropping, so every line is still formatted and the comparison stays fair
+        appender.setNeverBlock(false);
+        appender.setMaxFlushTime(60_000);
+        appender.addAppender(target);
+        appender.start();
+        return appender;
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    private record Result(long cpuMs, long wallMs, long bytesWritten) {
+        @Override
+        public String toString() {
+            return cpuMs + " ms CPU / " + wallMs + " ms wall / " + bytesWritten / 1024 + " KiB";
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.meli.inventory.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reservation-shaped inserts on H2 the way Hibernate issues them for each id strategy:
+ * IDENTITY (one INSERT + generated key per row) versus a pooled-lo sequence (one sequence call per
+ * allocation block, INSERTs sent as JDBC batches through one reused statement).
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class IdGenerationInsertBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(IdGenerationInsertBenchmark.class);
+
+    private static final int ROWS = 50_000;
+    private static final int BATCH_SIZE = 50;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    void identityVersusPooledSequence() throws SQLException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            identityInserts("warmup_identity_" + i);
+            pooledSequenceInserts("warmup_pooled_" + i);
+        }
+
+        long identityMs = identityInserts("identity");
+        long pooledMs = pooledSequenceInserts("pooled");
+
+        logger.info("{} inserts: IDENTITY {} ms ({} rows/s), pooled-lo sequence {} ms ({} rows/s)",
+                ROWS, identityMs, rowsPerSecond(identityMs), pooledMs, rowsPerSecond(pooledMs));
+    }
+
+    private long identityInserts(String table) throws SQLException {
+        try (Connection connection = open(table)) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("create table " + table + " (id bigint generated by default as identity primary key, " +
+                        "sku varchar(64), quantity int, status varchar(16), store_id varchar(64))");
+            }
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into " + table + " (sku, quantity, status, store_id) values (?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (int row = 0; row < ROWS; row++) {
+                    bind(insert, 1, row);
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        keys.next();
+                    }
+                }
+            }
+            connection.commit();
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertEquals(ROWS, count(connection, table));
+            return elapsed;
+        }
+    }
+
+    private long pooledSequenceInserts(String table) throws SQLException {
+        try (Connection connection = open(table)) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("create sequence " + table + "_seq start with 1 increment by " + ALLOCATION_SIZE);
+                ddl.execute("create table " + table + " (id bigint primary key, " +
+                        "sku varchar(64), quantity int, status varchar(16), store_id varchar(64))");
+            }
+            long start = System.nanoTime();
+            try (PreparedStatement nextBlock = connection.prepareStatement("select next value for " + table + "_seq");
+                 PreparedStatement insert = connection.prepareStatement(
+                         "insert into " + table + " (id, sku, quantity, status, store_id) values (?, ?, ?, ?, ?)")) {
+                long blockStart = 0;
+                for (int row = 0; row < ROWS; row++) {
+                    if (row % ALLOCATION_SIZE == 0) {
+                        try (ResultSet block = nextBlock.executeQuery()) {
+                            block.next();
+                            blockStart = block.getLong(1);
+                        }
+                    }
+                    insert.setLong(1, blockStart + row % ALLOCATION_SIZE);
+                    bind(insert, 2, row);
+                    insert.addBatch();
+                    if ((row + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertEquals(ROWS, count(connection, table));
+            return elapsed;
+        }
+    }
+
+    private static Connection open(String name) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=0", "sa", "");
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void bind(PreparedStatement insert, int firstIndex, int row) throws SQLException {
+        insert.setString(firstIndex, "SKU-" + (row % 100));
+        insert.setInt(firstIndex + 1, 1);
+        insert.setString(firstIndex + 2, "PENDING");
+        insert.setString(firstIndex + 3, "store-" + (row % 50));
+    }
+
+    private static long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select count(*) from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long rowsPerSecond(long elapsedMs) {
+        return elapsedMs == 0 ? ROWS : ROWS * 1000L / elapsedMs;
+    }
+}
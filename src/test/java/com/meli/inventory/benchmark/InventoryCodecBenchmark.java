@@ -0,0 +1,116 @@
+package com.meli.inventory.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.inventory.query.codec.InventoryColumnarCodec;
+import com.meli.inventory.query.model.InventoryView;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Full-catalogue payload ({@code GET /api/v1/inventory}) of {@value #ROWS} views: size (raw and gzipped) and
+ * encode/decode time of the columnar media type versus the JSON the API returns by default, using the same
+ * {@code ObjectMapper} settings as Spring Boot. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class InventoryCodecBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryCodecBenchmark.class);
+
+    private static final int ROWS = 10_000;
+    private static final int ITERATIONS = 200;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void catalogueEncodingSizeAndTime() throws Exception {
+        List<InventoryView> views = catalogue();
+        byte[] json = json(views);
+        byte[] columnar = columnar(views);
+        assertEquals(views, objectMapper.readValue(json, new TypeReference<List<InventoryView>>() { }));
+        assertEquals(views, InventoryColumnarCodec.decode(columnar));
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            timeJson(views, json);
+            timeColumnar(views, columnar);
+        }
+        long[] jsonTimes = timeJson(views, json);
+        long[] columnarTimes = timeColumnar(views, columnar);
+
+        logger.info("{} rows: JSON {} bytes ({} gzipped), encode {} µs, decode {} µs", ROWS, json.length,
+                gzip(json), jsonTimes[0] / 1_000, jsonTimes[1] / 1_000);
+        logger.info("{} rows: columnar {} bytes ({} gzipped), encode {} µs, decode {} µs", ROWS, columnar.length,
+                gzip(columnar), columnarTimes[0] / 1_000, columnarTimes[1] / 1_000);
+    }
+
+    private static List<InventoryView> catalogue() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 1, 12, 0);
+        List<InventoryView> views = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            // Microsecond timestamps within the last day, like LocalDateTime.now() on Linux
+            LocalDateTime lastUpdated = now.minusSeconds(random.nextInt(86_400))
+                    .withNano(random.nextInt(1_000_000) * 1_000);
+            String name = "Product " + i + " - variant " + random.nextInt(20);
+            views.add(new InventoryView(String.format("SKU-%06d", i), name, random.nextInt(500), lastUpdated));
+        }
+        return views;
+    }
+
+    private long[] timeJson(List<InventoryView> views, byte[] payload) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            json(views);
+        }
+        long encode = (System.nanoTime() - start) / ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            objectMapper.readValue(payload, new TypeReference<List<InventoryView>>() { });
+        }
+        return new long[]{encode, (System.nanoTime() - start) / ITERATIONS};
+    }
+
+    private static long[] timeColumnar(List<InventoryView> views, byte[] payload) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            columnar(views);
+        }
+        long encode = (System.nanoTime() - start) / ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            InventoryColumnarCodec.decode(payload);
+        }
+        return new long[]{encode, (System.nanoTime() - start) / ITERATIONS};
+    }
+
+    private byte[] json(List<InventoryView> views) throws IOException {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    private static byte[] columnar(List<InventoryView> views) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InventoryColumnarCodec.encode(views, out);
+        return out.toByteArray();
+    }
+
+    private static int gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
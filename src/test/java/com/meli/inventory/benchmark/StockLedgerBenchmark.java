@@ -0,0 +1,140 @@
+package com.meli.inventory.benchmark;
+
+import com.meli.inventory.command.cache.InventoryItemCache;
+import com.meli.inventory.command.service.InventoryService;
+import com.meli.inventory.command.service.StockLedger;
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.repositories.StockLedgerRepository;
+import com.meli.inventory.model.repositories.StoreStockRepository;
+import com.meli.inventory.observability.HotSkuTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hot SKU decremented concurrently by 50 writers: in-place update of {@code inventory_items.quantity} (optimistic
+ * locking) versus insert-only appends to {@code stock_ledger}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class StockLedgerBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerBenchmark.class);
+
+    private static final int WRITERS = 50;
+    private static final int DECREMENTS_PER_WRITER = 100;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StoreStockRepository storeStockRepository;
+
+    @Autowired
+    private StockLedgerRepository ledgerRepository;
+
+    @Autowired
+    private InventoryItemCache itemCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void ledgerAppendsAvoidRowUpdateConflictsOnHotSku() throws InterruptedException {
+        // Arrange
+        int initial = WRITERS * DECREMENTS_PER_WRITER;
+        createItem("BENCH-IN-PLACE", initial);
+        createItem("BENCH-LEDGER", initial);
+        InventoryService inPlace = service(new StockLedger(inventoryRepository, ledgerRepository, itemCache,
+                transactionManager, meterRegistry, false, 1, 5_000));
+        StockLedger stockLedger = new StockLedger(inventoryRepository, ledgerRepository, itemCache,
+                transactionManager, meterRegistry, true, 1, 5_000);
+        InventoryService ledger = service(stockLedger);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        Result rowUpdates = run("in-place update", () ->
+                transaction.executeWithoutResult(status -> inPlace.decreaseStock("BENCH-IN-PLACE", 1)));
+        Result appends = run("ledger append", () ->
+                transaction.executeWithoutResult(status -> ledger.decreaseStock("BENCH-LEDGER", 1)));
+        long compactStart = System.nanoTime();
+        stockLedger.compact();
+        logger.info("ledger compaction: {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - compactStart));
+
+        // Assert
+        assertEquals(initial - rowUpdates.succeeded(), inventoryRepository.findBySku("BENCH-IN-PLACE").orElseThrow().getQuantity());
+        assertEquals(initial - appends.succeeded(), inventoryRepository.findBySku("BENCH-LEDGER").orElseThrow().getQuantity());
+        assertTrue(appends.conflicts() <= rowUpdates.conflicts(), () -> "ledger=" + appends + " in-place=" + rowUpdates);
+    }
+
+    private InventoryService service(StockLedger stockLedger) {
+        return new InventoryService(inventoryRepository, storeStockRepository, itemCache, stockLedger, eventBus, meterRegistry,
+                new HotSkuTracker(10, 64, 2));
+    }
+
+    private void createItem(String sku, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setSku(sku);
+        item.setName("Benchmark " + sku);
+        item.setQuantity(quantity);
+        inventoryRepository.save(item);
+    }
+
+    private Result run(String label, Runnable operation) throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < DECREMENTS_PER_WRITER; i++) {
+                    try {
+                        operation.run();
+                        succeeded.incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        Result result = new Result(succeeded.get(), conflicts.get(), elapsedMs);
+        logger.info("{}: {}", label, result);
+        return result;
+    }
+
+    private record Result(int succeeded, int conflicts, long elapsedMs) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.meli.inventory.benchmark;
+
+import com.meli.inventory.command.service.InventoryService;
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hot SKU reserved concurrently from 50 stores: one shared row versus one partition per store.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class StorePartitionContentionBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(StorePartitionContentionBenchmark.class);
+
+    private static final int STORES = 50;
+    private static final int RESERVATIONS_PER_STORE = 100;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    void partitionedStockReducesConflictsOnHotSku() throws InterruptedException {
+        // Arrange
+        createItem("BENCH-SINGLE", STORES * RESERVATIONS_PER_STORE);
+        createItem("BENCH-PARTITIONED", STORES * RESERVATIONS_PER_STORE);
+        for (int store = 0; store < STORES; store++) {
+            inventoryService.allocateToStore("BENCH-PARTITIONED", "store-" + store, RESERVATIONS_PER_STORE);
+        }
+
+        // Act
+        Result single = run("single row", store -> inventoryService.decreaseStock("BENCH-SINGLE", 1));
+        Result partitioned = run("partitioned", store ->
+                inventoryService.reserveStock("BENCH-PARTITIONED", 1, "store-" + store));
+
+        // Assert
+        assertTrue(partitioned.conflicts() <= single.conflicts(),
+                () -> "partitioned=" + partitioned + " single=" + single);
+    }
+
+    private void createItem(String sku, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setSku(sku);
+        item.setName("Benchmark " + sku);
+        item.setQuantity(quantity);
+        inventoryRepository.save(item);
+    }
+
+    private Result run(String label, StoreOperation operation) throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(STORES);
+
+        for (int store = 0; store < STORES; store++) {
+            int storeIndex = store;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < RESERVATIONS_PER_STORE; i++) {
+                    try {
+                        operation.reserve(storeIndex);
+                        succeeded.incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        Result result = new Result(succeeded.get(), conflicts.get(), elapsedMs);
+        logger.info("{}: {}", label, result);
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface StoreOperation {
+        void reserve(int store);
+    }
+
+    private record Result(int succeeded, int conflicts, long elapsedMs) {
+    }
+}
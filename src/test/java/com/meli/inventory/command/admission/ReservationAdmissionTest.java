@@ -0,0 +1,134 @@
+package com.meli.inventory.command.admission;
+
+import com.meli.inventory.command.admission.ReservationAdmission.Reason;
+import com.meli.inventory.command.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReservationAdmissionTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private ReservationAdmission admission(String storeTiers, int maxConcurrent) {
+        return new ReservationAdmission(mock(ObjectProvider.class), meterRegistry, true,
+                "standard=2/4,premium=10/10,client=100/100", "standard", "client", storeTiers, "",
+                maxConcurrent, 0, clock::get);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void storeShouldBeLimitedToItsBurstAndToldWhenToRetry() {
+        // Arrange
+        ReservationAdmission admission = admission("", 0);
+        for (int i = 0; i < 4; i++) {
+            admission.admit("store-1", 1).close();
+        }
+
+        // Act
+        AdmissionRejectedException rejected =
+                assertThrows(AdmissionRejectedException.class, () -> admission.admit("store-1", 1));
+
+        // Assert: 2 tokens per second, so the next one is half a second away
+        assertEquals(Reason.STORE_RATE, rejected.getReason());
+        assertTrue(rejected.isRateLimited());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertNotNull(admission.admit("store-2", 1), "other stores keep their own bucket");
+        clock.addAndGet(500_000_000L);
+        assertNotNull(admission.admit("store-1", 1));
+        assertEquals(1.0, meterRegistry.counter("inventory_admission_rejected_total", "reason", "store_rate").count());
+    }
+
+    @Test
+    void storeTierAndPrincipalBucketShouldApply() {
+        // Arrange
+        ReservationAdmission admission = admission("store-vip=premium", 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            admission.admit("store-vip", 1).close();
+        }
+        for (int s = 0; s < 45; s++) {
+            admission.admit("store-" + s, 2).close();
+        }
+        AdmissionRejectedException rejected =
+                assertThrows(AdmissionRejectedException.class, () -> admission.admit("store-new", 1));
+
+        // Assert: 10 + 90 tokens used the whole principal burst of 100
+        assertEquals(Reason.PRINCIPAL_RATE, rejected.getReason());
+    }
+
+    @Test
+    void batchRejectedByOneStoreShouldRefundTheTokensItTook() {
+        // Arrange
+        ReservationAdmission admission = admission("", 0);
+        admission.admit("store-full", 4).close();
+
+        // Act
+        assertThrows(AdmissionRejectedException.class,
+                () -> admission.admit(Map.of("store-a", 3, "store-full", 1)));
+
+        // Assert: store-a got its 3 tokens back
+        assertNotNull(admission.admit("store-a", 4));
+    }
+
+    @Test
+    void requestsBeyondConcurrencyLimitShouldBeShedUntilPermitsClose() {
+        // Arrange
+        ReservationAdmission admission = admission("", 2);
+        ReservationAdmission.Permit first = admission.admit("store-1", 1);
+        ReservationAdmission.Permit second = admission.admit("store-2", 1);
+
+        // Act
+        AdmissionRejectedException shed =
+                assertThrows(AdmissionRejectedException.class, () -> admission.admit("store-3", 1));
+        first.close();
+        first.close();
+
+        // Assert
+        assertEquals(Reason.CONCURRENCY, shed.getReason());
+        assertFalse(shed.isRateLimited());
+        assertEquals(1, admission.inFlight());
+        assertNotNull(admission.admit("store-3", 1));
+        second.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void disabledAdmissionShouldHandOutUncountedPermits() {
+        // Arrange
+        ReservationAdmission admission = new ReservationAdmission(mock(ObjectProvider.class), meterRegistry, false,
+                "standard=2/4,client=100/100", "standard", "client", "", "", 1, 0, clock::get);
+
+        // Act
+        ReservationAdmission.Permit first = admission.admit("store-1", 1);
+        ReservationAdmission.Permit second = admission.admit(Map.of("store-1", 10));
+        first.close();
+        second.close();
+        second.close();
+
+        // Assert
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(0.0, meterRegistry.get("inventory_admission_in_flight").gauge().value());
+    }
+}
@@ -0,0 +1,144 @@
+package com.meli.inventory.command.cache;
+
+import com.meli.inventory.model.entities.InventoryItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryItemCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryItemCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new InventoryItemCache(meterRegistry, 100, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndCountHitsAndMisses() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            cache.get("SKU1", sku -> {
+                loads.incrementAndGet();
+                return Optional.of(item(sku, 10, 1L));
+            });
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "inventory_items").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_UnknownSku_ShouldNotBeCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("NOPE", sku -> { loads.incrementAndGet(); return Optional.empty(); });
+        Optional<InventoryItemCache.CachedItem> result =
+                cache.get("NOPE", sku -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        assertTrue(result.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_AfterRefresh_ShouldHitWithoutLoadingAndMissAgainAfterInvalidate() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.refreshAfterCommit(item("SKU1", 7, 3L));
+
+        // Act
+        InventoryItemCache.CachedItem hit = cache.get("SKU1", sku -> {
+            loads.incrementAndGet();
+            return Optional.of(item(sku, 99, 1L));
+        }).orElseThrow();
+        cache.invalidate("SKU1");
+        InventoryItemCache.CachedItem miss = cache.get("SKU1", sku -> {
+            loads.incrementAndGet();
+            return Optional.of(item(sku, 8, 4L));
+        }).orElseThrow();
+
+        // Assert
+        assertEquals(7, hit.quantity());
+        assertEquals(8, miss.quantity());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "inventory_items").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void refreshAfterCommit_OlderVersion_ShouldNotOverwriteNewerEntry() {
+        // Arrange
+        cache.refreshAfterCommit(item("SKU1", 5, 7L));
+
+        // Act
+        cache.refreshAfterCommit(item("SKU1", 9, 6L));
+
+        // Assert
+        assertEquals(5, cache.get("SKU1", sku -> Optional.empty()).orElseThrow().quantity());
+    }
+
+    @Test
+    void refreshAfterCommit_InTransaction_ShouldApplyOnlyOnCommit() {
+        // Arrange
+        cache.refreshAfterCommit(item("SKU1", 10, 1L));
+        TransactionSynchronizationManager.initSynchronization();
+        InventoryItem updated = item("SKU1", 4, 1L);
+
+        // Act
+        cache.refreshAfterCommit(updated);
+        int beforeCommit = cache.get("SKU1", sku -> Optional.empty()).orElseThrow().quantity();
+        updated.setVersion(2L);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        // Assert
+        assertEquals(10, beforeCommit);
+        InventoryItemCache.CachedItem cached = cache.get("SKU1", sku -> Optional.empty()).orElseThrow();
+        assertEquals(4, cached.quantity());
+        assertEquals(2L, cached.version());
+    }
+
+    @Test
+    void refreshAfterCommit_OnRollback_ShouldInvalidate() {
+        // Arrange
+        cache.refreshAfterCommit(item("SKU1", 10, 1L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.refreshAfterCommit(item("SKU1", 4, 1L));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Assert
+        assertTrue(cache.get("SKU1", sku -> Optional.empty()).isEmpty());
+    }
+
+    private static InventoryItem item(String sku, int quantity, Long version) {
+        return new InventoryItem(1L, sku, "Item " + sku, quantity, version, null, 0L);
+    }
+}
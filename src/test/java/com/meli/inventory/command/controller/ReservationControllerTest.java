@@ -1,17 +1,30 @@
 package com.meli.inventory.command.controller;
 
+import com.meli.inventory.command.admission.ReservationAdmission;
+import com.meli.inventory.command.service.AsyncReservationService;
 import com.meli.inventory.command.service.ReservationService;
 import com.meli.inventory.model.entities.Reservation;
 import com.meli.inventory.model.requests.ReservationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -20,12 +33,25 @@ class ReservationControllerTest {
     @Mock
     private ReservationService reservationService;
 
+    @Mock
+    private AsyncReservationService asyncReservationService;
+
+    @Mock
+    private ReservationAdmission admission;
+
+    private ReservationAdmission.Permit permit;
+
+    @Mock
+    private ObjectProvider<DataSource> dataSources;
+
     @InjectMocks
     private ReservationController reservationController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        permit = mock(ReservationAdmission.Permit.class);
+        when(admission.admit(anyString(), anyInt())).thenReturn(permit);
     }
 
     @Test
@@ -37,15 +63,37 @@ class ReservationControllerTest {
         request.setStoreId("STORE1");
         
         Reservation mockReservation = new Reservation();
-        when(reservationService.createReservation("SKU123", 5, "STORE1")).thenReturn(mockReservation);
+        when(asyncReservationService.createReservation("SKU123", 5, "STORE1"))
+                .thenReturn(CompletableFuture.completedFuture(mockReservation));
 
         // Act
-        ResponseEntity<Reservation> response = reservationController.createReservation(request);
+        ResponseEntity<Reservation> response = reservationController.createReservation(request).join();
 
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(mockReservation, response.getBody());
-        verify(reservationService).createReservation("SKU123", 5, "STORE1");
+        verify(asyncReservationService).createReservation("SKU123", 5, "STORE1");
+        verify(permit).close();
+    }
+
+    @Test
+    void createReservation_ShouldReleasePermitWhenWriteFails() {
+        // Arrange
+        ReservationRequest request = new ReservationRequest();
+        request.setSku("SKU123");
+        request.setQuantity(5);
+        request.setStoreId("STORE1");
+        CompletableFuture<Reservation> pending = new CompletableFuture<>();
+        when(asyncReservationService.createReservation("SKU123", 5, "STORE1")).thenReturn(pending);
+
+        // Act
+        CompletableFuture<ResponseEntity<Reservation>> response = reservationController.createReservation(request);
+        verify(permit, never()).close();
+        pending.completeExceptionally(new IllegalStateException("write failed"));
+
+        // Assert
+        assertThrows(CompletionException.class, response::join);
+        verify(permit).close();
     }
 
     @Test
@@ -80,4 +128,28 @@ class ReservationControllerTest {
         verify(reservationService).cancelReservation(reservationId);
     }
 
-}
\ No newline at end of file
+    @Test
+    void createReservation_ShouldWorkWithAdmissionDisabled() {
+        // Arrange
+        ReservationAdmission disabled = new ReservationAdmission(dataSources, new SimpleMeterRegistry(), false,
+                "standard=20/40,client=500/1000", "standard", "client", "", "", 64, 8);
+        ReservationController controller =
+                new ReservationController(reservationService, asyncReservationService, disabled);
+        ReservationRequest request = new ReservationRequest();
+        request.setSku("SKU123");
+        request.setQuantity(5);
+        request.setStoreId("STORE1");
+        Reservation mockReservation = new Reservation();
+        when(asyncReservationService.createReservation("SKU123", 5, "STORE1"))
+                .thenReturn(CompletableFuture.completedFuture(mockReservation))
+                .thenThrow(new IllegalStateException("executor rejected"));
+
+        // Act
+        ResponseEntity<Reservation> response = controller.createReservation(request).join();
+
+        // Assert: neither the completion nor the synchronous failure path trips over the permit
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(mockReservation, response.getBody());
+        assertThrows(IllegalStateException.class, () -> controller.createReservation(request));
+    }
+}
@@ -0,0 +1,110 @@
+package com.meli.inventory.command.service;
+
+import com.meli.inventory.command.exception.AdmissionRejectedException;
+import com.meli.inventory.command.exception.NotEnoughStockException;
+import com.meli.inventory.command.exception.ReservationTimeoutException;
+import com.meli.inventory.model.entities.Reservation;
+import com.meli.inventory.observability.StatementMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsyncReservationServiceTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncReservationService asyncReservationService;
+
+    private void start(int threads, int queueCapacity, long timeoutMs) {
+        MockitoAnnotations.openMocks(this);
+        asyncReservationService = new AsyncReservationService(reservationService,
+                new StatementMetrics(meterRegistry, 200), meterRegistry, true,
+                threads, queueCapacity, timeoutMs);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        asyncReservationService.shutdown();
+    }
+
+    @Test
+    void createReservation_RunsOnWriterThread() throws Exception {
+        // Arrange
+        start(2, 10, 5_000);
+        Reservation reservation = new Reservation();
+        String[] writerThread = new String[1];
+        when(reservationService.createReservation("SKU123", 1, "STORE1")).thenAnswer(invocation -> {
+            writerThread[0] = Thread.currentThread().getName();
+            return reservation;
+        });
+
+        // Act
+        Reservation result = asyncReservationService.createReservation("SKU123", 1, "STORE1").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertSame(reservation, result);
+        assertTrue(writerThread[0].startsWith("reservation-writer-"));
+    }
+
+    @Test
+    void createReservation_UnwrapsServiceExceptions() {
+        // Arrange
+        start(1, 10, 5_000);
+        when(reservationService.createReservation("SKU123", 10, "STORE1"))
+                .thenThrow(new NotEnoughStockException("Not enough stock"));
+
+        // Act
+        CompletableFuture<Reservation> future = asyncReservationService.createReservation("SKU123", 10, "STORE1");
+
+        // Assert
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NotEnoughStockException.class, error.getCause());
+    }
+
+    @Test
+    void createReservation_FullQueueIsRejectedAndOnlyQueuedWriteTimesOut() throws Exception {
+        // Arrange: one writer blocked on the first reservation, room for one more in the queue
+        start(1, 1, 200);
+        when(reservationService.createReservation(anyString(), anyInt(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return new Reservation();
+        });
+        CompletableFuture<Reservation> running = asyncReservationService.createReservation("SKU1", 1, "STORE1");
+        CompletableFuture<Reservation> queued = asyncReservationService.createReservation("SKU2", 1, "STORE1");
+
+        // Act
+        CompletableFuture<Reservation> rejected = asyncReservationService.createReservation("SKU3", 1, "STORE1");
+
+        // Assert
+        ExecutionException rejection = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(AdmissionRejectedException.class, rejection.getCause());
+        ExecutionException timeout = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ReservationTimeoutException.class, timeout.getCause());
+        assertEquals(0.0, meterRegistry.get("executor.queued").tag("name", "reservation_writer").gauge().value(),
+                "the timed-out write leaves the queue at once");
+        // The blocked write had already started: it is still pending well past its deadline, never a timeout
+        Thread.sleep(300);
+        assertFalse(running.isDone());
+
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        asyncReservationService.shutdown();
+        verify(reservationService, never()).createReservation("SKU2", 1, "STORE1");
+        assertEquals(1.0, meterRegistry.counter("inventory_reservation_writer_rejected_total").count());
+        assertEquals(1.0, meterRegistry.counter("inventory_reservation_writer_timeouts_total").count());
+    }
+}
@@ -1,17 +1,24 @@
 package com.meli.inventory.command.service;
 
+import com.meli.inventory.command.cache.InventoryItemCache;
 import com.meli.inventory.command.exception.NotEnoughStockException;
 import com.meli.inventory.events.EventBus;
 import com.meli.inventory.events.StockUpdatedEvent;
+import com.meli.inventory.events.StoreStockUpdatedEvent;
 import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.entities.StoreStock;
 import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.repositories.StoreStockRepository;
+import com.meli.inventory.observability.HotSkuTracker;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,6 +31,12 @@ class InventoryServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private StoreStockRepository storeStockRepository;
+
+    @Mock
+    private StockLedger stockLedger;
+
     @Mock
     private EventBus eventBus;
 
@@ -33,15 +46,19 @@ class InventoryServiceTest {
     @Mock
     private Counter counter;
 
+    private InventoryItemCache itemCache;
+
     private InventoryService inventoryService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(meterRegistry.counter(anyString(), anyString(), anyString(), anyString(), anyString()))
-                .thenReturn(counter);
+        when(meterRegistry.counter(anyString(), anyString(), anyString())).thenReturn(counter);
+        when(meterRegistry.counter(anyString())).thenReturn(counter);
 
-        inventoryService = new InventoryService(inventoryRepository, eventBus, meterRegistry);
+        itemCache = new InventoryItemCache(new SimpleMeterRegistry(), 100, 60_000);
+        inventoryService = new InventoryService(inventoryRepository, storeStockRepository, itemCache, stockLedger, eventBus, meterRegistry,
+                new HotSkuTracker(10, 64, 2));
     }
 
     @Test
@@ -49,7 +66,7 @@ class InventoryServiceTest {
         // Arrange
         String sku = "SKU123";
         int amount = 5;
-        InventoryItem item = new InventoryItem(1L, sku, "inventory_item1", 10, 1L);
+        InventoryItem item = new InventoryItem(1L, sku, "inventory_item1", 10, 1L, null, 0L);
         when(inventoryRepository.findBySku(sku)).thenReturn(Optional.of(item));
         when(inventoryRepository.save(any(InventoryItem.class))).thenReturn(item);
 
@@ -84,7 +101,7 @@ class InventoryServiceTest {
     void decreaseStock_WhenNotEnoughStock_ShouldThrowException() {
         // Arrange
         String sku = "SKU123";
-        InventoryItem item = new InventoryItem(2L, sku, "inventory_item2", 3, 1L);
+        InventoryItem item = new InventoryItem(2L, sku, "inventory_item2", 3, 1L, null, 0L);
         when(inventoryRepository.findBySku(sku)).thenReturn(Optional.of(item));
 
         // Act & Assert
@@ -102,7 +119,7 @@ class InventoryServiceTest {
         // Arrange
         String sku = "SKU123";
         int newQuantity = 15;
-        InventoryItem item = new InventoryItem(1L, sku, "inventory_item1", 10, 1L);
+        InventoryItem item = new InventoryItem(1L, sku, "inventory_item1", 10, 1L, null, 0L);
         when(inventoryRepository.findBySku(sku)).thenReturn(Optional.of(item));
         when(inventoryRepository.save(any(InventoryItem.class))).thenReturn(item);
 
@@ -116,4 +133,142 @@ class InventoryServiceTest {
         verify(counter).increment();
         assertEquals(newQuantity, item.getQuantity());
     }
+
+    @Test
+    void reserveStock_WhenSkuHasNoPartitions_ShouldUseCentralRow() {
+        // Arrange
+        String sku = "SKU123";
+        InventoryItem item = new InventoryItem(1L, sku, "inventory_item1", 10, 1L, null, 0L);
+        when(storeStockRepository.findBySkuAndStoreId(sku, "STORE1")).thenReturn(Optional.empty());
+        when(storeStockRepository.existsBySku(sku)).thenReturn(false);
+        when(inventoryRepository.findBySku(sku)).thenReturn(Optional.of(item));
+
+        // Act
+        int remaining = inventoryService.reserveStock(sku, 4, "STORE1");
+
+        // Assert
+        assertEquals(6, remaining);
+        assertEquals(6, item.getQuantity());
+        verify(storeStockRepository, never()).save(any());
+        verify(eventBus, never()).publish(any(StoreStockUpdatedEvent.class));
+    }
+
+    @Test
+    void reserveStock_WhenLocalPartitionHasStock_ShouldOnlyTouchThatPartition() {
+        // Arrange
+        String sku = "SKU123";
+        StoreStock local = new StoreStock(sku, "STORE1", 5);
+        when(storeStockRepository.findBySkuAndStoreId(sku, "STORE1")).thenReturn(Optional.of(local));
+        when(inventoryRepository.findBySku(sku))
+                .thenReturn(Optional.of(new InventoryItem(1L, sku, "inventory_item1", 10, 1L, null, 0L)));
+        when(storeStockRepository.sumAllocatedBySku(sku)).thenReturn(3L);
+
+        // Act
+        int aggregated = inventoryService.reserveStock(sku, 2, "STORE1");
+
+        // Assert
+        assertEquals(3, local.getQuantity());
+        assertEquals(13, aggregated);
+        verify(storeStockRepository).save(local);
+        verify(inventoryRepository, never()).save(any());
+        verify(storeStockRepository, never()).findBySkuOrderByQuantityDesc(anyString());
+        verify(eventBus).publish(any(StoreStockUpdatedEvent.class));
+        verify(eventBus).publish(any(StockUpdatedEvent.class));
+    }
+
+    @Test
+    void reserveStock_WhenLocalPartitionIsShort_ShouldRebalanceFromCentralThenDonors() {
+        // Arrange
+        String sku = "SKU123";
+        StoreStock local = new StoreStock(sku, "STORE1", 1);
+        StoreStock donor = new StoreStock(sku, "STORE2", 10);
+        InventoryItem central = new InventoryItem(1L, sku, "inventory_item1", 2, 1L, null, 0L);
+        when(storeStockRepository.findBySkuAndStoreId(sku, "STORE1")).thenReturn(Optional.of(local));
+        when(inventoryRepository.findBySku(sku)).thenReturn(Optional.of(central));
+        when(storeStockRepository.findBySkuOrderByQuantityDesc(sku)).thenReturn(List.of(donor, local));
+
+        // Act
+        inventoryService.reserveStock(sku, 6, "STORE1");
+
+        // Assert
+        assertEquals(0, central.getQuantity());
+        assertEquals(7, donor.getQuantity());
+        assertEquals(0, local.getQuantity());
+        verify(storeStockRepository).save(donor);
+        verify(storeStockRepository).save(local);
+    }
+
+    @Test
+    void reserveStock_WhenAllPartitionsAreShort_ShouldThrowWithoutSavingTarget() {
+        // Arrange
+        String sku = "SKU123";
+        StoreStock local = new StoreStock(sku, "STORE1", 1);
+        when(storeStockRepository.findBySkuAndStoreId(sku, "STORE1")).thenReturn(Optional.of(local));
+        when(inventoryRepository.findBySku(sku))
+                .thenReturn(Optional.of(new InventoryItem(1L, sku, "inventory_item1", 0, 1L, null, 0L)));
+        when(storeStockRepository.findBySkuOrderByQuantityDesc(sku)).thenReturn(List.of(local));
+
+        // Act & Assert
+        assertThrows(NotEnoughStockException.class, () -> inventoryService.reserveStock(sku, 5, "STORE1"));
+        verify(storeStockRepository, never()).save(local);
+        verify(eventBus, never()).publish(any(StockUpdatedEvent.class));
+    }
+
+    @Test
+    void allocateToStore_ShouldMoveCentralStockIntoPartition() {
+        // Arrange
+        String sku = "SKU123";
+        InventoryItem central = new InventoryItem(1L, sku, "inventory_item1", 10, 1L, null, 0L);
+        when(inventoryRepository.findBySku(sku)).thenReturn(Optional.of(central));
+        when(storeStockRepository.findBySkuAndStoreId(sku, "STORE1")).thenReturn(Optional.empty());
+        when(storeStockRepository.sumAllocatedBySku(sku)).thenReturn(4L);
+
+        // Act
+        inventoryService.allocateToStore(sku, "STORE1", 4);
+
+        // Assert
+        assertEquals(6, central.getQuantity());
+        verify(storeStockRepository).save(argThat(p -> p.getStoreId().equals("STORE1") && p.getQuantity() == 4));
+        verify(eventBus).publish(argThat(e -> e instanceof StockUpdatedEvent s && s.getNewQuantity() == 10));
+    }
+
+    @Test
+    void getAggregatedQuantity_AfterWrite_ShouldServeCentralQuantityFromCache() {
+        // Arrange
+        String sku = "SKU123";
+        InventoryItem item = new InventoryItem(1L, sku, "inventory_item1", 10, 1L, null, 0L);
+        when(inventoryRepository.findBySku(sku)).thenReturn(Optional.of(item));
+        when(storeStockRepository.sumAllocatedBySku(sku)).thenReturn(5L);
+        inventoryService.adjustStock(sku, 7);
+
+        // Act
+        int first = inventoryService.getAggregatedQuantity(sku);
+        int second = inventoryService.getAggregatedQuantity(sku);
+
+        // Assert
+        assertEquals(12, first);
+        assertEquals(12, second);
+        verify(inventoryRepository, times(1)).findBySku(sku);
+    }
+
+    @Test
+    void findCachedBySku_ShouldHitCacheAfterFirstLoadAndNotCacheUnknownSkus() {
+        // Arrange
+        String sku = "SKU123";
+        when(inventoryRepository.findBySku(sku))
+                .thenReturn(Optional.of(new InventoryItem(1L, sku, "inventory_item1", 10, 1L, null, 0L)));
+        when(inventoryRepository.findBySku("UNKNOWN")).thenReturn(Optional.empty());
+
+        // Act
+        Optional<InventoryItemCache.CachedItem> miss = inventoryService.findCachedBySku(sku);
+        Optional<InventoryItemCache.CachedItem> hit = inventoryService.findCachedBySku(sku);
+        inventoryService.findCachedBySku("UNKNOWN");
+        inventoryService.findCachedBySku("UNKNOWN");
+
+        // Assert
+        assertEquals(10, miss.orElseThrow().quantity());
+        assertEquals(miss, hit);
+        verify(inventoryRepository, times(1)).findBySku(sku);
+        verify(inventoryRepository, times(2)).findBySku("UNKNOWN");
+    }
 }
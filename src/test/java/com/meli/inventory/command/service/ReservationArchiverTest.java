@@ -0,0 +1,125 @@
+package com.meli.inventory.command.service;
+
+import com.meli.inventory.model.entities.Reservation;
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+import com.meli.inventory.model.entities.ReservationHistory;
+import com.meli.inventory.model.repositories.ReservationHistoryRepository;
+import com.meli.inventory.model.repositories.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReservationArchiverTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationHistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<ReservationHistory>> historyCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReservationArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        archiver = new ReservationArchiver(reservationRepository, historyRepository, transactionManager,
+                meterRegistry, 168, 2, 10);
+    }
+
+    @Test
+    void archive_ShouldMoveTerminalReservationsInBatches() {
+        // Arrange: two full batches and a short one
+        when(reservationRepository.findIdsForArchival(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L, 4L))
+                .thenReturn(List.of(5L));
+        when(reservationRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Reservation> rows = new ArrayList<>();
+            ids.forEach(id -> rows.add(reservation(id, ReservationStatus.CONFIRMED)));
+            return rows;
+        });
+        when(reservationRepository.count()).thenReturn(42L);
+
+        // Act
+        int archived = archiver.archive();
+
+        // Assert
+        assertEquals(5, archived);
+        verify(historyRepository, times(3)).saveAll(any());
+        verify(reservationRepository, times(3)).deleteAllByIdInBatch(any());
+        assertEquals(5.0, meterRegistry.counter("reservations_archived_total").count());
+        assertEquals(3, meterRegistry.timer("reservations_archive_batch_duration").count());
+        assertEquals(42L, archiver.getActiveRows());
+    }
+
+    @Test
+    void archive_ShouldSkipRowsThatAreNoLongerTerminal() {
+        // Arrange
+        when(reservationRepository.findIdsForArchival(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(reservationRepository.findAllById(any())).thenReturn(List.of(
+                reservation(1L, ReservationStatus.PENDING)));
+
+        // Act
+        int archived = archiver.archive();
+
+        // Assert
+        assertEquals(0, archived);
+        verify(historyRepository, never()).saveAll(any());
+        verify(reservationRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void archive_ShouldCopyAllFieldsIntoHistory() {
+        // Arrange
+        Reservation cancelled = reservation(7L, ReservationStatus.CANCELLED);
+        when(reservationRepository.findIdsForArchival(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(7L));
+        when(reservationRepository.findAllById(any())).thenReturn(List.of(cancelled));
+
+        // Act
+        archiver.archive();
+
+        // Assert
+        verify(historyRepository).saveAll(historyCaptor.capture());
+        ReservationHistory history = historyCaptor.getValue().get(0);
+        assertEquals(7L, history.getId());
+        assertEquals("SKU1", history.getSku());
+        assertEquals(ReservationStatus.CANCELLED, history.getStatus());
+        assertEquals(cancelled.getExpiresAt(), history.getExpiresAt());
+        verify(reservationRepository).deleteAllByIdInBatch(List.of(7L));
+    }
+
+    private static Reservation reservation(Long id, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setSku("SKU1");
+        reservation.setQuantity(1);
+        reservation.setStoreId("STORE1");
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
@@ -1,17 +1,23 @@
 package com.meli.inventory.command.service;
 
+import com.meli.inventory.command.cache.InventoryItemCache;
+import com.meli.inventory.command.exception.NotEnoughStockException;
 import com.meli.inventory.command.exception.ReservationNotFoundException;
 import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.ReservationCancelledEvent;
+import com.meli.inventory.events.ReservationConfirmedEvent;
+import com.meli.inventory.events.ReservationCreatedEvent;
 import com.meli.inventory.events.StockUpdatedEvent;
-import com.meli.inventory.model.entities.InventoryItem;
 import com.meli.inventory.model.entities.Reservation;
 import com.meli.inventory.model.entities.Reservation.ReservationStatus;
 import com.meli.inventory.model.repositories.ReservationRepository;
+import com.meli.inventory.model.requests.ReservationRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +32,9 @@ public class ReservationServiceTest {
     @Mock
     private InventoryService inventoryService;
     
+    @Mock
+    private StockEscrow stockEscrow;
+
     @Mock
     private EventBus eventBus;
 
@@ -34,7 +43,7 @@ public class ReservationServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        reservationService = new ReservationService(reservationRepository, inventoryService, eventBus);
+        reservationService = new ReservationService(reservationRepository, inventoryService, stockEscrow, eventBus);
     }
 
     @Test
@@ -44,10 +53,6 @@ public class ReservationServiceTest {
         int quantity = 5;
         String storeId = "STORE1";
         
-        InventoryItem inventory = new InventoryItem();
-        inventory.setQuantity(10);
-        
-        when(inventoryService.findBySku(sku)).thenReturn(Optional.of(inventory));
         when(reservationRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
 
         // Act
@@ -60,8 +65,49 @@ public class ReservationServiceTest {
         assertEquals(quantity, result.getQuantity());
         assertEquals(storeId, result.getStoreId());
         
-        verify(inventoryService).decreaseStock(sku, quantity);
-        verify(eventBus).publish(any(StockUpdatedEvent.class));
+        verify(inventoryService).reserveStock(sku, quantity, storeId);
+        verify(eventBus).publish(any(ReservationCreatedEvent.class));
+    }
+
+    @Test
+    void createReservations_ShouldReserveOncePerSkuAndStoreAndSaveAll() {
+        // Arrange
+        List<ReservationRequest> requests = List.of(
+                request("SKU2", 1, "STORE1"),
+                request("SKU1", 2, "STORE1"),
+                request("SKU1", 3, "STORE1"),
+                request("SKU1", 4, "STORE2"));
+        when(inventoryService.findCachedBySku(anyString())).thenAnswer(i -> Optional.of(cached(i.getArgument(0))));
+        when(reservationRepository.saveAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        List<Reservation> result = reservationService.createReservations(requests);
+
+        // Assert
+        assertEquals(4, result.size());
+        assertTrue(result.stream().allMatch(r -> r.getStatus() == ReservationStatus.PENDING));
+        var inOrder = inOrder(inventoryService);
+        inOrder.verify(inventoryService).reserveStock("SKU1", 5, "STORE1");
+        inOrder.verify(inventoryService).reserveStock("SKU1", 4, "STORE2");
+        inOrder.verify(inventoryService).reserveStock("SKU2", 1, "STORE1");
+        verify(reservationRepository).saveAll(anyList());
+        verify(reservationRepository, never()).save(any());
+        verify(eventBus, times(4)).publish(any(ReservationCreatedEvent.class));
+    }
+
+    @Test
+    void createReservations_UnknownSku_ShouldFailBeforeTakingAnyStock() {
+        // Arrange: SKU1 sorts first and exists, SKU9 is not catalogued
+        List<ReservationRequest> requests = List.of(request("SKU1", 1, "STORE1"), request("SKU9", 1, "STORE1"));
+        when(inventoryService.findCachedBySku("SKU1")).thenReturn(Optional.of(cached("SKU1")));
+        when(inventoryService.findCachedBySku("SKU9")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        NotEnoughStockException error = assertThrows(NotEnoughStockException.class,
+                () -> reservationService.createReservations(requests));
+        assertTrue(error.getMessage().contains("SKU9"));
+        verify(inventoryService, never()).reserveStock(anyString(), anyInt(), anyString());
+        verify(reservationRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -74,7 +120,7 @@ public class ReservationServiceTest {
         
         when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
-        when(inventoryService.findBySku(anyString())).thenReturn(Optional.of(new InventoryItem()));
+        when(inventoryService.getAggregatedQuantity(anyString())).thenReturn(10);
 
         // Act
         Reservation result = reservationService.confirmReservation(reservationId);
@@ -82,6 +128,7 @@ public class ReservationServiceTest {
         // Assert
         assertEquals(ReservationStatus.CONFIRMED, result.getStatus());
         verify(eventBus).publish(any(StockUpdatedEvent.class));
+        verify(eventBus).publish(any(ReservationConfirmedEvent.class));
     }
 
     @Test
@@ -102,12 +149,9 @@ public class ReservationServiceTest {
         reservation.setStatus(ReservationStatus.PENDING);
         reservation.setSku("SKU123");
         reservation.setQuantity(5);
+        reservation.setStoreId("STORE1");
 
-        InventoryItem inventory = new InventoryItem();
-        inventory.setQuantity(5);
-        
         when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
-        when(inventoryService.findBySku(anyString())).thenReturn(Optional.of(inventory));
         when(reservationRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
 
         // Act
@@ -115,8 +159,40 @@ public class ReservationServiceTest {
 
         // Assert
         assertEquals(ReservationStatus.CANCELLED, result.getStatus());
-        verify(inventoryService).adjustStock(eq(reservation.getSku()), eq(10));
-        verify(eventBus).publish(any(StockUpdatedEvent.class));
+        verify(inventoryService).releaseStock("SKU123", 5, "STORE1");
+        verify(eventBus).publish(any(ReservationCancelledEvent.class));
+    }
+
+    @Test
+    void cancelReservation_FromLease_ShouldReturnToOwnLeaseOnlyAndClearLeaseNode() {
+        // Arrange
+        Reservation own = leaseReservation("node-a");
+        Reservation foreign = leaseReservation("node-b");
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(own));
+        when(reservationRepository.findById(2L)).thenReturn(Optional.of(foreign));
+        when(reservationRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
+        when(stockEscrow.getNodeId()).thenReturn("node-a");
+        when(stockEscrow.releaseToLease("SKU123", 5)).thenReturn(true);
+
+        // Act
+        Reservation ownResult = reservationService.cancelReservation(1L);
+        Reservation foreignResult = reservationService.cancelReservation(2L);
+
+        // Assert: units back in this node's lease are no longer served; the other node's went to central stock
+        assertNull(ownResult.getLeaseNode());
+        assertEquals("node-b", foreignResult.getLeaseNode());
+        verify(stockEscrow, times(1)).releaseToLease("SKU123", 5);
+        verify(inventoryService, times(1)).releaseStock("SKU123", 5, "STORE1");
+    }
+
+    private static Reservation leaseReservation(String leaseNode) {
+        Reservation reservation = new Reservation();
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setSku("SKU123");
+        reservation.setQuantity(5);
+        reservation.setStoreId("STORE1");
+        reservation.setLeaseNode(leaseNode);
+        return reservation;
     }
 
     @Test
@@ -133,7 +209,8 @@ public class ReservationServiceTest {
 
         // Assert
         assertEquals(ReservationStatus.CANCELLED, result.getStatus());
-        verify(inventoryService, never()).adjustStock(anyString(), anyInt());
+        verify(inventoryService, never()).releaseStock(anyString(), anyInt(), anyString());
+        verify(eventBus, never()).publish(any(ReservationCancelledEvent.class));
     }
 
     // Genera el test de cancelReservation_AlreadyConfirmed
@@ -151,6 +228,18 @@ public class ReservationServiceTest {
 
         // Assert
         assertEquals(ReservationStatus.CONFIRMED, result.getStatus());
-        verify(inventoryService, never()).adjustStock(anyString(), anyInt());
+        verify(inventoryService, never()).releaseStock(anyString(), anyInt(), anyString());
+    }
+
+    private static ReservationRequest request(String sku, int quantity, String storeId) {
+        ReservationRequest request = new ReservationRequest();
+        request.setSku(sku);
+        request.setQuantity(quantity);
+        request.setStoreId(storeId);
+        return request;
+    }
+
+    private static InventoryItemCache.CachedItem cached(String sku) {
+        return new InventoryItemCache.CachedItem(1L, sku, "Item " + sku, 10, 1L);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.meli.inventory.command.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.inventory.command.cache.InventoryItemCache;
+import com.meli.inventory.command.model.StockImportReport;
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.StockUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class StockImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private InventoryItemCache itemCache;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private EventBus eventBus;
+
+    private StockImportService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // every SKU exists except the ones starting with "UNKNOWN"
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> args = invocation.getArgument(1);
+            return args.stream().mapToInt(row -> ((String) row[2]).startsWith("UNKNOWN") ? 0 : 1).toArray();
+        });
+        service = new StockImportService(jdbcTemplate, transactionManager, itemCache, stockLedger, eventBus, new ObjectMapper(),
+                new SimpleMeterRegistry(), 2, 2);
+    }
+
+    @Test
+    void importStock_Csv_ShouldApplyInChunksAndPublishOneEventPerSku() throws IOException {
+        // Arrange
+        String csv = "sku,quantity\nSKU1,10\nSKU2,20\nSKU3,30\n";
+
+        // Act
+        StockImportReport report = service.importStock(stream(csv), StockImportService.Format.CSV);
+
+        // Assert
+        assertEquals(3, report.getRowsRead());
+        assertEquals(3, report.getRowsApplied());
+        assertEquals(0, report.getRowsRejected());
+        assertEquals(3, report.getEventsPublished());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verify(eventBus, times(3)).publish(any(StockUpdatedEvent.class));
+        verify(itemCache).invalidate("SKU3");
+    }
+
+    @Test
+    void importStock_DuplicateSkuInChunk_ShouldKeepLastRow() throws IOException {
+        // Arrange
+        String csv = "SKU1,10\nSKU1,15\n";
+
+        // Act
+        StockImportReport report = service.importStock(stream(csv), StockImportService.Format.CSV);
+
+        // Assert
+        assertEquals(1, report.getRowsApplied());
+        assertEquals(1, report.getRowsSuperseded());
+        ArgumentCaptor<StockUpdatedEvent> captor = ArgumentCaptor.forClass(StockUpdatedEvent.class);
+        verify(eventBus).publish(captor.capture());
+        assertEquals(15, captor.getValue().getNewQuantity());
+    }
+
+    @Test
+    void importStock_Ndjson_ShouldReportBadRowsWithLineNumbers() throws IOException {
+        // Arrange
+        String ndjson = """
+                {"sku": "SKU1", "quantity": 5}
+                not json
+                {"sku": "SKU2", "quantity": -1}
+                {"sku": "UNKNOWN1", "quantity": 3}
+                {"sku": "SKU3"}
+                """;
+
+        // Act
+        StockImportReport report = service.importStock(stream(ndjson), StockImportService.Format.NDJSON);
+
+        // Assert
+        assertEquals(5, report.getRowsRead());
+        assertEquals(1, report.getRowsApplied());
+        assertEquals(4, report.getRowsRejected());
+        assertEquals(2, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+        assertEquals(2, report.getErrors().get(0).line());
+        assertEquals(3, report.getErrors().get(1).line());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
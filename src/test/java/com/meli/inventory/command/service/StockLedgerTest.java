@@ -0,0 +1,174 @@
+package com.meli.inventory.command.service;
+
+import com.meli.inventory.command.cache.InventoryItemCache;
+import com.meli.inventory.command.exception.NotEnoughStockException;
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.entities.StockLedgerEntry;
+import com.meli.inventory.model.entities.StockLedgerEntry.EntryType;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.repositories.StockLedgerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StockLedgerTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockLedgerRepository ledgerRepository;
+
+    @Mock
+    private InventoryItemCache itemCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryItem item;
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Snapshot of 10 at position 4, plus two deltas (-3) appended after it
+        item = new InventoryItem(1L, "SKU1", "Item", 10, 1L, null, 4L);
+        when(inventoryRepository.findBySku("SKU1")).thenReturn(Optional.of(item));
+        when(ledgerRepository.sumSince(eq("SKU1"), anyLong())).thenReturn(List.<Object[]>of(new Object[]{-3L, 6L}));
+        when(inventoryRepository.save(any(InventoryItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ledger = new StockLedger(inventoryRepository, ledgerRepository, itemCache, transactionManager,
+                new SimpleMeterRegistry(), true, 1, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void append_ShouldInsertDeltaAtNextSeqWithoutTouchingItem() {
+        // Act
+        int balance = ledger.append("SKU1", -2, EntryType.RESERVE, null);
+
+        // Assert
+        assertEquals(5, balance);
+        assertEquals(5, ledger.balance("SKU1"));
+        ArgumentCaptor<StockLedgerEntry> entry = ArgumentCaptor.forClass(StockLedgerEntry.class);
+        verify(ledgerRepository).save(entry.capture());
+        assertEquals(7L, entry.getValue().getSeq());
+        assertEquals(-2, entry.getValue().getDelta());
+        verify(inventoryRepository, never()).save(any());
+    }
+
+    @Test
+    void append_ShouldRejectDeltaThatOverdrawsStock() {
+        // Act & Assert
+        assertThrows(NotEnoughStockException.class, () -> ledger.append("SKU1", -8, EntryType.RESERVE, null));
+        verify(ledgerRepository, never()).save(any());
+        assertEquals(7, ledger.balance("SKU1"));
+    }
+
+    @Test
+    void append_ShouldPublishDeltasOnlyWhenTransactionCommits() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        ledger.append("SKU1", -2, EntryType.RESERVE, "store-1");
+        int taken = ledger.takeUpTo("SKU1", 10, EntryType.ALLOCATE, "store-1");
+        int inTransaction = ledger.balance("SKU1");
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertEquals(5, taken);
+        assertEquals(0, inTransaction);
+        assertEquals(1, synchronizations.size());
+        assertEquals(7, ledger.balance("SKU1"), "rolled back deltas must not be visible");
+        verify(inventoryRepository, times(2)).findBySku("SKU1");
+    }
+
+    @Test
+    void compact_ShouldFoldBalanceIntoSnapshotAndMovePosition() {
+        // Arrange
+        ledger.adjustTo("SKU1", 20);
+
+        // Act
+        int compacted = ledger.compact();
+
+        // Assert
+        assertEquals(1, compacted);
+        assertEquals(20, item.getQuantity());
+        assertEquals(7L, item.getLedgerPosition());
+        assertEquals(0, ledger.compact(), "nothing left to compact");
+    }
+
+    @Test
+    void compact_ShouldReloadInsteadOfOverwritingWhenSnapshotMoved() {
+        // Arrange: a bulk import moved the snapshot after the head was loaded
+        ledger.append("SKU1", 1, EntryType.RELEASE, null);
+        item.setQuantity(50);
+        item.setLedgerPosition(7L);
+
+        // Act
+        int compacted = ledger.compact();
+
+        // Assert
+        assertEquals(0, compacted);
+        assertEquals(50, item.getQuantity());
+        when(ledgerRepository.sumSince("SKU1", 7L)).thenReturn(List.<Object[]>of(new Object[]{0L, 7L}));
+        assertEquals(50, ledger.balance("SKU1"));
+    }
+
+    @Test
+    void append_ShouldFailInsteadOfWaitingForeverOnHeadHeldByAnotherTransaction() throws Exception {
+        // Arrange: another transaction appended to SKU1 and has not completed yet
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        List<TransactionSynchronization> otherSynchronizations = other.submit(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            ledger.append("SKU1", -1, EntryType.RESERVE, null);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            return synchronizations;
+        }).get(5, TimeUnit.SECONDS);
+
+        try {
+            // Act & Assert
+            assertThrows(CannotAcquireLockException.class, () -> ledger.append("SKU1", -1, EntryType.RESERVE, null));
+            verify(ledgerRepository, times(1)).save(any());
+        } finally {
+            other.submit(() -> otherSynchronizations.forEach(
+                    sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED))).get(5, TimeUnit.SECONDS);
+            other.shutdown();
+        }
+
+        // Assert: once released, the head is usable again
+        assertEquals(5, ledger.append("SKU1", -1, EntryType.RESERVE, null));
+    }
+}
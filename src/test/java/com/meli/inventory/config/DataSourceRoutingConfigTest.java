@@ -0,0 +1,66 @@
+package com.meli.inventory.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceRoutingConfigTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        // Two H2 instances standing in for primary and replica, each labelled by its own row
+        for (String url : new String[]{PRIMARY_URL, REPLICA_URL}) {
+            JdbcTemplate setup = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+            setup.execute("create table if not exists node (name varchar(20))");
+            setup.update("delete from node");
+            setup.update("insert into node values (?)", url.equals(PRIMARY_URL) ? "primary" : "replica");
+        }
+
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(PRIMARY_URL);
+        properties.setUsername("sa");
+        properties.setPassword("");
+        DataSourceRoutingConfig config = new DataSourceRoutingConfig();
+        DataSource routing = config.dataSource(
+                config.primaryDataSource(properties, 2),
+                config.replicaDataSource(properties, REPLICA_URL, "sa", "", 2));
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldRunOnReplica() {
+        // Act & Assert
+        assertEquals("replica", node(readOnly));
+    }
+
+    @Test
+    void readWriteTransaction_ShouldRunOnPrimary() {
+        // Act & Assert
+        assertEquals("primary", node(readWrite));
+        assertEquals("primary", jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+}
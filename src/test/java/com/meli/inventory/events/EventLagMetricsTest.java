@@ -0,0 +1,93 @@
+package com.meli.inventory.events;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLagMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventLagMetrics lagMetrics = new EventLagMetrics(meterRegistry, 600_000);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private long timerCount(String name) {
+        Timer timer = meterRegistry.find(name).tag("event", "StockUpdatedEvent").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Test
+    void eventOutsideTransactionShouldBeStaleUntilApplied() {
+        // Arrange
+        StockUpdatedEvent event = new StockUpdatedEvent("SKU-1", 5);
+        event.assignSequence(1);
+
+        // Act
+        lagMetrics.published(event);
+        double pendingBefore = gauge("inventory_readmodel_pending_events");
+        int skuPendingBefore = lagMetrics.stalenessOf("SKU-1").pendingEvents();
+        lagMetrics.beginDispatch(event);
+        lagMetrics.applied(event);
+        lagMetrics.endDispatch();
+
+        // Assert
+        assertEquals(1.0, pendingBefore);
+        assertEquals(1, skuPendingBefore);
+        assertEquals(0.0, gauge("inventory_readmodel_pending_events"));
+        assertEquals(List.of(), lagMetrics.stalest(10));
+        assertEquals(1, timerCount("inventory_event_dispatch_lag"));
+        assertEquals(1, timerCount("inventory_event_apply_lag"));
+        assertEquals(1, timerCount("inventory_event_commit_to_applied"));
+    }
+
+    @Test
+    void eventAppliedBeforeItsTransactionCommitsShouldBeCountedNotTimed() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        StockUpdatedEvent event = new StockUpdatedEvent("SKU-2", 3);
+        event.assignSequence(2);
+        lagMetrics.published(event);
+
+        // Act: the async listener wins the race against the commit
+        lagMetrics.applied(event);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("inventory_event_applied_before_commit_total").counter().count());
+        assertEquals(0, timerCount("inventory_event_commit_to_applied"));
+        assertEquals(0.0, gauge("inventory_readmodel_pending_events"));
+    }
+
+    @Test
+    void rolledBackEventShouldNeverBecomePending() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        StockUpdatedEvent event = new StockUpdatedEvent("SKU-3", 1);
+        event.assignSequence(3);
+
+        // Act: no afterCommit callback
+        lagMetrics.published(event);
+
+        // Assert
+        assertEquals(0, lagMetrics.stalenessOf("SKU-3").pendingEvents());
+        assertEquals(0.0, gauge("inventory_readmodel_staleness_max_seconds"));
+    }
+}
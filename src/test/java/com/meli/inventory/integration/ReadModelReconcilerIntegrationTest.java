@@ -0,0 +1,63 @@
+package com.meli.inventory.integration;
+
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.query.service.InventoryQueryService;
+import com.meli.inventory.query.service.ReadModelLoader;
+import com.meli.inventory.query.service.ReadModelReconciler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Range checksums computed by H2 against the ones the reconciler computes over the read model.
+ */
+@SpringBootTest
+class ReadModelReconcilerIntegrationTest {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryQueryService queryService;
+
+    @Autowired
+    private ReadModelLoader readModelLoader;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void databaseChecksumsShouldMatchReadModelOnceRepaired() {
+        // Arrange: rows saved behind the read model's back, one of them without hashes like a pre-existing row
+        for (int i = 0; i < 20; i++) {
+            InventoryItem item = new InventoryItem();
+            item.setSku("RECONCILE-" + i);
+            item.setName("Reconcile " + i);
+            item.setQuantity(i * 7);
+            inventoryRepository.save(item);
+        }
+        Long legacyId = inventoryRepository.findBySku("RECONCILE-0").orElseThrow().getId();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                inventoryRepository.updateHashes(legacyId, null, null));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReadModelReconciler reconciler = new ReadModelReconciler(queryService, readModelLoader, meterRegistry, 16, 2, 0, 0);
+
+        // Act
+        int repaired = reconciler.reconcile();
+        int driftAfterRepair = reconciler.reconcile();
+
+        // Assert
+        assertTrue(repaired >= 20, "every new row is missing from the read model");
+        assertEquals(0, driftAfterRepair);
+        assertEquals(0, meterRegistry.get("inventory_readmodel_reconcile_ranges_differing").gauge().value(),
+                "SQL and JVM checksums agree range by range");
+        assertEquals(133, queryService.getBySku("RECONCILE-19").getQuantity());
+        assertNotNull(inventoryRepository.findById(legacyId).orElseThrow().getSkuHash());
+    }
+}
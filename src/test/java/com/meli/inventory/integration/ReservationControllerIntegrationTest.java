@@ -18,7 +18,11 @@
 package com.meli.inventory.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.inventory.model.requests.BatchReservationRequest;
 import com.meli.inventory.model.requests.ReservationRequest;
+import com.meli.inventory.observability.RequestStatementCountFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -26,14 +30,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
 
 import java.util.Base64;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -46,6 +57,15 @@ class ReservationControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RequestStatementCountFilter requestStatementCountFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static final String AUTH_HEADER =
             "Basic " + Base64.getEncoder().encodeToString("admin:admin123".getBytes());
 
@@ -58,10 +78,13 @@ class ReservationControllerIntegrationTest {
         request.setStoreId("store1");
 
         // Act & Assert
-        MvcResult result = mockMvc.perform(post("/api/v1/reservations")
+        MvcResult started = mockMvc.perform(post("/api/v1/reservations")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("Authorization", AUTH_HEADER)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.sku").value("9090"))
                 .andExpect(jsonPath("$.quantity").value(2))
@@ -80,6 +103,31 @@ class ReservationControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("CONFIRMED"));
     }
 
+    @Test
+    void createReservation_Async_ShouldCountWriterStatementsInRequest() throws Exception {
+        // Arrange: only the statement counting filter, so the request runs its real async dispatches through it
+        MockMvc countingMockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(requestStatementCountFilter)
+                .build();
+        ReservationRequest request = reservationRequest(1);
+
+        // Act
+        MvcResult started = countingMockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", AUTH_HEADER)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        countingMockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isCreated());
+
+        // Assert: recorded once, after the writer thread ran the reservation's statements
+        DistributionSummary perRequest = meterRegistry.get("inventory_db_statements_per_request")
+                .tag("uri", "/api/v1/reservations").summary();
+        assertEquals(1, perRequest.count());
+        assertTrue(perRequest.totalAmount() > 0);
+    }
+
     @Test
     void createReservation_InvalidSku_ShouldReturnBadRequest() throws Exception {
         ReservationRequest request = new ReservationRequest();
@@ -116,10 +164,13 @@ class ReservationControllerIntegrationTest {
         request.setQuantity(1);
         request.setStoreId("store1");
 
-        MvcResult createResult = mockMvc.perform(post("/api/v1/reservations")
+        MvcResult createStarted = mockMvc.perform(post("/api/v1/reservations")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("Authorization", AUTH_HEADER)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult createResult = mockMvc.perform(asyncDispatch(createStarted))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.status").value("PENDING"))
                 .andReturn();
@@ -160,4 +211,52 @@ class ReservationControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void createReservationBatch_EmptyList_ShouldReturnBadRequest() throws Exception {
+        BatchReservationRequest request = new BatchReservationRequest();
+        request.setReservations(List.of());
+
+        mockMvc.perform(post("/api/v1/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", AUTH_HEADER)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createReservationBatch_NotEnoughStock_ShouldRejectWholeBatch() throws Exception {
+        BatchReservationRequest request = new BatchReservationRequest();
+        request.setReservations(List.of(reservationRequest(1), reservationRequest(100_000)));
+
+        mockMvc.perform(post("/api/v1/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", AUTH_HEADER)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importStock_InvalidRows_ShouldReturnErrorReport() throws Exception {
+        String csv = "sku,quantity\nNO-SUCH-SKU,5\n9090,abc\n";
+
+        mockMvc.perform(post("/api/v1/inventory/import")
+                        .contentType("text/csv")
+                        .header("Authorization", AUTH_HEADER)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(2))
+                .andExpect(jsonPath("$.rowsApplied").value(0))
+                .andExpect(jsonPath("$.rowsRejected").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[1].line").value(2));
+    }
+
+    private static ReservationRequest reservationRequest(int quantity) {
+        ReservationRequest request = new ReservationRequest();
+        request.setSku("9090");
+        request.setQuantity(quantity);
+        request.setStoreId("store1");
+        return request;
+    }
 }
@@ -0,0 +1,72 @@
+package com.meli.inventory.integration;
+
+import com.meli.inventory.command.service.ReservationService;
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.query.model.StoreReservationView;
+import com.meli.inventory.query.service.StoreReservationQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reservation lifecycle events against the per-store view, with real transactions and the async {@code EventBus}.
+ */
+@SpringBootTest
+class ReservationEventsIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StoreReservationQueryService storeReservationQueryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rolledBackReservationShouldNotReachStoreView() throws InterruptedException {
+        // Arrange
+        String sku = "EVENTS-ROLLBACK";
+        String storeId = "events-rollback-store";
+        InventoryItem item = new InventoryItem();
+        item.setSku(sku);
+        item.setName("Events " + sku);
+        item.setQuantity(50);
+        inventoryRepository.save(item);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act: the first reservation rolls back after createReservation, the second one commits
+        transaction.executeWithoutResult(status -> {
+            reservationService.createReservation(sku, 3, storeId);
+            status.setRollbackOnly();
+        });
+        reservationService.createReservation(sku, 1, storeId);
+
+        // Assert
+        assertEquals(1, awaitReserved(storeId, 1));
+        Thread.sleep(200);
+        List<StoreReservationView> views = storeReservationQueryService.getByStore(storeId);
+        assertEquals(1, views.size());
+        assertEquals(1, views.get(0).getReservedQuantity(), "the rolled-back reservation must leave no delta");
+    }
+
+    private int awaitReserved(String storeId, int expected) throws InterruptedException {
+        int reserved = 0;
+        for (int i = 0; i < 100 && reserved < expected; i++) {
+            reserved = storeReservationQueryService.getByStore(storeId).stream()
+                    .mapToInt(StoreReservationView::getReservedQuantity).sum();
+            Thread.sleep(20);
+        }
+        return reserved;
+    }
+}
@@ -0,0 +1,377 @@
+package com.meli.inventory.integration;
+
+import com.meli.inventory.command.cache.InventoryItemCache;
+import com.meli.inventory.command.service.InventoryService;
+import com.meli.inventory.command.service.StockEscrow;
+import com.meli.inventory.command.service.StockLedger;
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.entities.Reservation;
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+import com.meli.inventory.model.entities.StoreStock;
+import com.meli.inventory.model.repositories.EscrowNodeRepository;
+import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.repositories.ReservationRepository;
+import com.meli.inventory.model.repositories.StockLeaseRepository;
+import com.meli.inventory.model.repositories.StoreStockRepository;
+import com.meli.inventory.query.model.InventoryView;
+import com.meli.inventory.query.service.InventoryQueryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several escrow nodes sharing one database, as separate JVMs would. Each node is a {@link StockEscrow} with its own
+ * node id; sync rounds are driven by the test instead of the scheduler.
+ */
+@SpringBootTest
+class StockEscrowIntegrationTest {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StoreStockRepository storeStockRepository;
+
+    @Autowired
+    private StockLeaseRepository leaseRepository;
+
+    @Autowired
+    private EscrowNodeRepository nodeRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private InventoryItemCache itemCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryQueryService queryService;
+
+    private StockEscrow node(String nodeId, long orphanAfterMs) {
+        return node(nodeId, orphanAfterMs, 5, 100);
+    }
+
+    private StockEscrow node(String nodeId, long orphanAfterMs, int minLease, int maxLease) {
+        return node(nodeId, orphanAfterMs, minLease, maxLease, new SimpleMeterRegistry());
+    }
+
+    private StockEscrow node(String nodeId, long orphanAfterMs, int minLease, int maxLease,
+                             SimpleMeterRegistry meterRegistry) {
+        return new StockEscrow(inventoryRepository, storeStockRepository, leaseRepository, nodeRepository,
+                reservationRepository, stockLedger, itemCache, transactionManager, eventBus, meterRegistry,
+                true, nodeId, 10, minLease, maxLease, 0.5, orphanAfterMs);
+    }
+
+    private void createItem(String sku, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setSku(sku);
+        item.setName("Escrow " + sku);
+        item.setQuantity(quantity);
+        inventoryRepository.save(item);
+    }
+
+    private int central(String sku) {
+        return inventoryRepository.findBySku(sku).orElseThrow().getQuantity();
+    }
+
+    @Test
+    void leasedStockNeverExceedsRealStockAcrossNodes() throws InterruptedException {
+        // Arrange
+        String sku = "ESCROW-MULTI";
+        int initial = 300;
+        createItem(sku, initial);
+        List<StockEscrow> nodes = List.of(node("multi-a", 30_000), node("multi-b", 30_000), node("multi-c", 30_000));
+        AtomicInteger served = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<String> violations = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size() * 2);
+        CountDownLatch done = new CountDownLatch(nodes.size() * 2);
+
+        // Act: every node serves reservations from memory while its sync loop refills and returns leases
+        for (StockEscrow node : nodes) {
+            executor.submit(() -> {
+                while (running.get()) {
+                    if (node.tryReserve(sku, 1) != null) {
+                        served.incrementAndGet();
+                    }
+                    Thread.onSpinWait();
+                }
+                done.countDown();
+            });
+            executor.submit(() -> {
+                while (running.get()) {
+                    node.sync();
+                    StockEscrow.EscrowStatus status = node.status(sku);
+                    if (status.centralQuantity() < 0 || status.centralQuantity() + status.leasedQuantity() > initial
+                            || status.leases().stream().anyMatch(lease -> lease.quantity() < 0)) {
+                        synchronized (violations) {
+                            violations.add(status.toString());
+                        }
+                    }
+                    sleep(10);
+                }
+                done.countDown();
+            });
+        }
+        sleep(1_500);
+        running.set(false);
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        for (StockEscrow node : nodes) {
+            node.sync();
+        }
+
+        // Assert
+        assertEquals(List.of(), violations);
+        StockEscrow.EscrowStatus status = nodes.get(0).status(sku);
+        assertTrue(served.get() > 0 && served.get() <= initial, "served " + served.get());
+        assertEquals(initial, status.centralQuantity() + status.leasedQuantity() + served.get(), status.toString());
+    }
+
+    @Test
+    void leaseSizeShouldFollowEachNodeDemand() {
+        // Arrange
+        String sku = "ESCROW-ADAPTIVE";
+        createItem(sku, 1_000);
+        StockEscrow busy = node("adaptive-busy", 30_000);
+        StockEscrow quiet = node("adaptive-quiet", 30_000);
+
+        // Act
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 40; i++) {
+                busy.tryReserve(sku, 1);
+            }
+            quiet.tryReserve(sku, 1);
+            busy.sync();
+            quiet.sync();
+            sleep(50);
+        }
+
+        // Assert
+        int busyLease = leaseRepository.findBySkuAndNodeId(sku, "adaptive-busy").orElseThrow().getQuantity();
+        int quietLease = leaseRepository.findBySkuAndNodeId(sku, "adaptive-quiet").orElseThrow().getQuantity();
+        assertTrue(busyLease > quietLease, "busy=" + busyLease + " quiet=" + quietLease);
+    }
+
+    @Test
+    void deadNodeLeaseShouldBeReclaimedMinusUnitsItServedAfterLastSync() {
+        // Arrange
+        String sku = "ESCROW-RECLAIM";
+        createItem(sku, 100);
+        StockEscrow dying = node("reclaim-dead", 100);
+        StockEscrow survivor = node("reclaim-alive", 100);
+        dying.tryReserve(sku, 1);
+        dying.sync();
+        int leased = leaseRepository.findBySkuAndNodeId(sku, "reclaim-dead").orElseThrow().getQuantity();
+        // The node serves 3 units from memory, persists the reservation and dies before its next sync
+        LocalDateTime leasedAt = dying.tryReserve(sku, 3);
+        assertNotNull(leasedAt);
+        saveLeaseReservation(sku, 3, "reclaim-dead", leasedAt, ReservationStatus.PENDING);
+        int centralBefore = central(sku);
+        sleep(200);
+
+        // Act
+        survivor.sync();
+
+        // Assert
+        assertTrue(leaseRepository.findBySkuAndNodeId(sku, "reclaim-dead").isEmpty());
+        assertTrue(nodeRepository.findById("reclaim-dead").isEmpty());
+        assertEquals(centralBefore + leased - 3, central(sku));
+    }
+
+    @Test
+    void reclaimShouldCountCancelledReservationsByWhereTheirUnitsWent() {
+        // Arrange: a fixed lease of 10, so these syncs neither refill nor return
+        String sku = "ESCROW-RECLAIM-CANCELLED";
+        createItem(sku, 100);
+        StockEscrow dying = node("reclaim-cancel-dead", 100, 10, 10);
+        StockEscrow survivor = node("reclaim-cancel-alive", 100);
+        dying.tryReserve(sku, 1);
+        dying.sync();
+        // A hit the next snapshot includes, whose reservation only commits after that sync
+        LocalDateTime seen = dying.tryReserve(sku, 1);
+        dying.sync();
+        saveLeaseReservation(sku, 1, "reclaim-cancel-dead", seen, ReservationStatus.CONFIRMED);
+        int persisted = leaseRepository.findBySkuAndNodeId(sku, "reclaim-cancel-dead").orElseThrow().getQuantity();
+        assertEquals(9, persisted);
+        // Served after the snapshot: 3 units still reserved...
+        saveLeaseReservation(sku, 3, "reclaim-cancel-dead", dying.tryReserve(sku, 3), ReservationStatus.PENDING);
+        // ...2 cancelled through another node, which gave them to central stock...
+        saveLeaseReservation(sku, 2, "reclaim-cancel-dead", dying.tryReserve(sku, 2), ReservationStatus.CANCELLED);
+        inventoryService.releaseStock(sku, 2, "store-1");
+        // ...and 4 cancelled on the node itself, back into its lease (leaseNode cleared, as cancelReservation does)
+        saveLeaseReservation(sku, 4, null, dying.tryReserve(sku, 4), ReservationStatus.CANCELLED);
+        assertTrue(dying.releaseToLease(sku, 4));
+        int centralBefore = central(sku);
+        sleep(200);
+
+        // Act
+        survivor.sync();
+
+        // Assert: central stock ends up with everything except the 1 + 3 units customers still hold
+        assertEquals(centralBefore + persisted - 3 - 2, central(sku));
+        assertEquals(100 - 1 - 3, central(sku));
+    }
+
+    private void saveLeaseReservation(String sku, int quantity, String leaseNode, LocalDateTime leasedAt,
+                                      ReservationStatus status) {
+        assertNotNull(leasedAt, "expected a lease hit");
+        Reservation reservation = new Reservation();
+        reservation.setSku(sku);
+        reservation.setQuantity(quantity);
+        reservation.setStoreId("store-1");
+        reservation.setStatus(status);
+        reservation.setLeaseNode(leaseNode);
+        reservation.setCreatedAt(leasedAt);
+        reservationRepository.save(reservation);
+    }
+
+    @Test
+    void pausedNodeShouldNotResurrectLeasesReclaimedByAnotherNode() {
+        // Arrange
+        String sku = "ESCROW-FENCED";
+        createItem(sku, 100);
+        StockEscrow paused = node("fenced-paused", 100, 10, 10);
+        StockEscrow survivor = node("fenced-alive", 100);
+        paused.tryReserve(sku, 1);
+        paused.sync();
+        assertEquals(10, paused.status(sku).localRemaining());
+        sleep(200);
+        survivor.sync();
+        assertEquals(100, central(sku));
+
+        // Act: the paused node comes back and syncs as if nothing happened
+        paused.sync();
+
+        // Assert: its old lease is gone; whatever it holds now was granted afresh from central stock
+        StockEscrow.EscrowStatus status = paused.status(sku);
+        assertEquals(100, status.centralQuantity() + status.leasedQuantity());
+        assertEquals(status.leasedQuantity(), status.localRemaining());
+        assertTrue(nodeRepository.findById("fenced-paused").isPresent());
+    }
+
+    @Test
+    void returnAllAfterReclaimShouldNotReturnUnitsTwice() {
+        // Arrange
+        String sku = "ESCROW-FENCED-RETURN";
+        createItem(sku, 100);
+        StockEscrow paused = node("fenced-return-paused", 100, 10, 10);
+        StockEscrow survivor = node("fenced-return-alive", 100);
+        paused.tryReserve(sku, 1);
+        paused.sync();
+        sleep(200);
+        survivor.sync();
+
+        // Act
+        paused.returnAll();
+
+        // Assert
+        assertEquals(100, central(sku));
+        assertTrue(leaseRepository.findBySkuAndNodeId(sku, "fenced-return-paused").isEmpty());
+        assertEquals(0, paused.status(sku).localRemaining());
+    }
+
+    @Test
+    void readModelShouldFollowAggregatedQuantityAfterLeaseHitsAndSync() {
+        // Arrange: a fixed lease of 10, so consuming 2 units needs neither a refill nor a return
+        String sku = "ESCROW-READMODEL";
+        createItem(sku, 100);
+        StockEscrow node = node("readmodel-a", 30_000, 10, 10);
+        node.tryReserve(sku, 1);
+        node.sync();
+        assertEquals(10, leaseRepository.findBySkuAndNodeId(sku, "readmodel-a").orElseThrow().getQuantity());
+
+        // Act
+        assertNotNull(node.tryReserve(sku, 1));
+        assertNotNull(node.tryReserve(sku, 1));
+        node.sync();
+
+        // Assert
+        assertEquals(98, inventoryService.getAggregatedQuantity(sku));
+        assertEquals(98, awaitReadModelQuantity(sku, 98));
+    }
+
+    /** The read model applies events asynchronously; waits up to 5 s for the expected quantity. */
+    private int awaitReadModelQuantity(String sku, int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Integer quantity = null;
+        while (System.nanoTime() < deadline) {
+            InventoryView view = queryService.getBySku(sku);
+            quantity = view == null ? null : view.getQuantity();
+            if (quantity != null && quantity == expected) {
+                break;
+            }
+            sleep(20);
+        }
+        return quantity == null ? -1 : quantity;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void leasesShouldOnlyTrackCatalogedUnpartitionedSkusAndBeEvictedWhenIdle() {
+        // Arrange
+        String sku = "ESCROW-BOUNDED";
+        String partitioned = "ESCROW-BOUNDED-STORES";
+        createItem(sku, 100);
+        createItem(partitioned, 100);
+        storeStockRepository.save(new StoreStock(partitioned, "store-1", 10));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StockEscrow node = node("bounded-a", 30_000, 5, 100, meterRegistry);
+
+        // Act: unknown SKUs and the partitioned one never get a lease
+        for (int i = 0; i < 50; i++) {
+            assertNull(node.tryReserve("ESCROW-UNKNOWN-" + i, 1));
+            assertNull(node.tryReserve(partitioned, 1));
+        }
+        assertNull(node.tryReserve(sku, 1));
+        node.sync();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("inventory_escrow_leases").gauge().value());
+        assertNotNull(node.tryReserve(sku, 1));
+
+        // Act: without demand the lease is returned and then dropped
+        for (int i = 0; i < 50 && meterRegistry.get("inventory_escrow_leases").gauge().value() > 0; i++) {
+            node.sync();
+        }
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("inventory_escrow_leases").gauge().value());
+        assertEquals(99, central(sku));
+        assertTrue(leaseRepository.findBySkuOrderByNodeId(sku).isEmpty());
+    }
+}
@@ -0,0 +1,236 @@
+package com.meli.inventory.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.inventory.loadgen.LoadProfile.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop driver for the reservation API. Arrivals are scheduled at a fixed rate from one pacing thread and
+ * never wait for earlier responses; latency is measured from each request's scheduled start, so a stalled server
+ * shows up in the percentiles instead of silently lowering the offered load. At most {@code maxInFlight}
+ * requests are outstanding: an arrival that finds no free slot is counted as dropped, not queued.
+ * <p>
+ * The operation mix, SKU ranks and stores are drawn from one seeded {@link Random} on the pacing thread, so two
+ * runs with the same profile offer the same sequence of requests. Confirm and cancel pick up reservation ids from
+ * earlier successful reserves and fall back to a reserve when none is available yet.
+ */
+final class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final LoadProfile profile;
+    private final String baseUrl;
+    private final String authorization;
+    private final List<String> skus;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<Long> pendingReservations = new ConcurrentLinkedQueue<>();
+
+    LoadGenerator(LoadProfile profile, String baseUrl, String authorization, List<String> skus) {
+        this.profile = profile;
+        this.baseUrl = baseUrl;
+        this.authorization = authorization;
+        this.skus = skus;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /** 🚀 Ejecuta la carga completa y devuelve las estadísticas por operación **/
+    LoadReport run() throws InterruptedException {
+        Random random = new Random(profile.seed());
+        ZipfSampler skuRanks = new ZipfSampler(skus.size(), profile.zipfExponent(), random);
+        Operation[] mix = expandMix(profile.mix());
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+        long arrivals = (long) profile.arrivalsPerSecond() * profile.durationSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.arrivalsPerSecond();
+
+        ExecutorService responses = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .executor(responses)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        try {
+            for (long i = 0; i < arrivals; i++) {
+                long scheduled = start + i * intervalNanos;
+                parkUntil(scheduled);
+
+                Operation operation = mix[random.nextInt(mix.length)];
+                String sku = skus.get(skuRanks.next());
+                String storeId = "store-" + random.nextInt(profile.stores());
+                Long reservationId = null;
+                if (operation == Operation.CONFIRM || operation == Operation.CANCEL) {
+                    reservationId = pendingReservations.poll();
+                    if (reservationId == null) {
+                        operation = Operation.RESERVE;
+                    }
+                }
+
+                OperationStats operationStats = stats.get(operation);
+                if (!inFlight.tryAcquire()) {
+                    operationStats.dropped.increment();
+                    continue;
+                }
+                Operation sent = operation;
+                client.sendAsync(request(operation, sku, storeId, reservationId), HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((response, error) -> {
+                            try {
+                                long latency = System.nanoTime() - scheduled;
+                                if (error != null) {
+                                    operationStats.record(latency, error.getClass().getSimpleName());
+                                } else {
+                                    operationStats.record(latency, String.valueOf(response.statusCode()));
+                                    if (sent == Operation.RESERVE && response.statusCode() == 201) {
+                                        pendingReservations.add(reservationId(response.body()));
+                                    }
+                                }
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+            }
+            if (!inFlight.tryAcquire(profile.maxInFlight(), REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS)) {
+                logger.warn("⚠️ Requests still in flight after the drain timeout; they are missing from the report");
+            }
+        } finally {
+            responses.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return report(startedAt, elapsedSeconds);
+    }
+
+    private HttpRequest request(Operation operation, String sku, String storeId, Long reservationId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", authorization);
+        return switch (operation) {
+            case RESERVE -> builder.uri(URI.create(baseUrl + "/api/v1/reservations"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"sku\":\"" + sku + "\",\"quantity\":1,\"storeId\":\"" + storeId + "\"}"))
+                    .build();
+            case CONFIRM -> builder.uri(URI.create(baseUrl + "/api/v1/reservations/" + reservationId + "/confirm"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case CANCEL -> builder.uri(URI.create(baseUrl + "/api/v1/reservations/" + reservationId + "/cancel"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case QUERY -> builder.uri(URI.create(baseUrl + "/api/v1/inventory/" + sku))
+                    .GET()
+                    .build();
+        };
+    }
+
+    private Long reservationId(String body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            return node.get("id").asLong();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected reservation response: " + body, e);
+        }
+    }
+
+    private LoadReport report(Instant startedAt, double elapsedSeconds) {
+        Map<String, LoadReport.OperationReport> operations = new LinkedHashMap<>();
+        long requests = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            LoadReport.OperationReport report = entry.getValue().report(elapsedSeconds);
+            requests += report.count();
+            operations.put(entry.getKey().name().toLowerCase(), report);
+        }
+        return new LoadReport(profile, startedAt.toString(), elapsedSeconds, requests, requests / elapsedSeconds,
+                operations, null, null);
+    }
+
+    private static Operation[] expandMix(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("loadgen.mix has no positive weights");
+        }
+        return slots.toArray(Operation[]::new);
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /** Completed latencies of one operation, kept exactly: a run is bounded by rate × duration. */
+    private static final class OperationStats {
+        private final LongAdder dropped = new LongAdder();
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        private final AtomicLong count = new AtomicLong();
+        private long[] latencies = new long[1024];
+
+        void record(long latencyNanos, String outcome) {
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+            synchronized (this) {
+                int index = (int) count.getAndIncrement();
+                if (index == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, latencies.length * 2);
+                }
+                latencies[index] = latencyNanos;
+            }
+        }
+
+        synchronized LoadReport.OperationReport report(double elapsedSeconds) {
+            int n = (int) count.get();
+            long[] sorted = Arrays.copyOf(latencies, n);
+            Arrays.sort(sorted);
+            Map<String, Long> byOutcome = new TreeMap<>();
+            outcomes.forEach((outcome, adder) -> byOutcome.put(outcome, adder.sum()));
+            long succeeded = byOutcome.entrySet().stream()
+                    .filter(e -> e.getKey().startsWith("2"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            return new LoadReport.OperationReport(n, succeeded, dropped.sum(), n / elapsedSeconds,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.99), percentileMs(sorted, 0.999),
+                    n == 0 ? 0 : sorted[n - 1] / 1e6, byOutcome);
+        }
+
+        private static double percentileMs(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, rank)] / 1e6;
+        }
+    }
+}
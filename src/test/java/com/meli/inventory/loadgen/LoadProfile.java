@@ -0,0 +1,45 @@
+package com.meli.inventory.loadgen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Workload of one load-generator run, read from {@code loadgen.*} system properties so a run can be reproduced
+ * with the same command line, e.g. {@code mvn test -Ploadgen -Dloadgen.rate=500 -Dloadgen.zipf=1.2}.
+ */
+record LoadProfile(int durationSeconds,
+                   int arrivalsPerSecond,
+                   int maxInFlight,
+                   int skus,
+                   double zipfExponent,
+                   int stockPerSku,
+                   int stores,
+                   Map<Operation, Integer> mix,
+                   long seed,
+                   String reportDir) {
+
+    enum Operation { RESERVE, CONFIRM, CANCEL, QUERY }
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger("loadgen.duration-seconds", 10),
+                Integer.getInteger("loadgen.rate", 200),
+                Integer.getInteger("loadgen.max-in-flight", 64),
+                Integer.getInteger("loadgen.skus", 100),
+                Double.parseDouble(System.getProperty("loadgen.zipf", "1.1")),
+                Integer.getInteger("loadgen.stock-per-sku", 50),
+                Integer.getInteger("loadgen.stores", 20),
+                parseMix(System.getProperty("loadgen.mix", "reserve=60,confirm=15,cancel=10,query=15")),
+                Long.getLong("loadgen.seed", 42L),
+                System.getProperty("loadgen.report-dir", "target/loadgen"));
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,46 @@
+package com.meli.inventory.loadgen;
+
+import java.util.List;
+import java.util.Map;
+
+/** Machine-readable result of a run; written as JSON next to the build output. */
+record LoadReport(LoadProfile profile,
+                  String startedAt,
+                  double elapsedSeconds,
+                  long requests,
+                  double throughputPerSecond,
+                  Map<String, OperationReport> operations,
+                  ThreadReport threads,
+                  OversellReport oversell) {
+
+    LoadReport withThreads(ThreadReport threads) {
+        return new LoadReport(profile, startedAt, elapsedSeconds, requests, throughputPerSecond, operations, threads,
+                oversell);
+    }
+
+    LoadReport withOversell(OversellReport oversell) {
+        return new LoadReport(profile, startedAt, elapsedSeconds, requests, throughputPerSecond, operations, threads,
+                oversell);
+    }
+
+    record OperationReport(long count,
+                           long succeeded,
+                           long droppedClientSide,
+                           double throughputPerSecond,
+                           double p50Ms,
+                           double p99Ms,
+                           double p999Ms,
+                           double maxMs,
+                           Map<String, Long> outcomes) {
+    }
+
+    /** Peaks sampled during the run: all live JVM threads, and Tomcat request threads (pool grows on demand). */
+    record ThreadReport(int peakLive, int peakRequestThreads) {
+    }
+
+    record OversellReport(int skusChecked, long unitsReserved, List<String> violations) {
+        boolean passed() {
+            return violations.isEmpty();
+        }
+    }
+}
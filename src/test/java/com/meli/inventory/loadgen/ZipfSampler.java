@@ -0,0 +1,29 @@
+package com.meli.inventory.loadgen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/** Draws ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent}. */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+    private final Random random;
+
+    ZipfSampler(int n, double exponent, Random random) {
+        this.random = random;
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int next() {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+}
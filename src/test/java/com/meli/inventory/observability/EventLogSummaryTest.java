@@ -0,0 +1,46 @@
+package com.meli.inventory.observability;
+
+import com.meli.inventory.events.StockUpdatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogSummaryTest {
+
+    @Test
+    void sampleBudgetShouldResetEverySecond() {
+        // Arrange
+        EventLogSummary summary = new EventLogSummary(3);
+        long second = TimeUnit.SECONDS.toNanos(1_000);
+
+        // Act
+        int sampledFirstSecond = 0;
+        for (int i = 0; i < 10; i++) {
+            if (summary.trySample(second + i)) {
+                sampledFirstSecond++;
+            }
+        }
+        boolean sampledNextSecond = summary.trySample(second + TimeUnit.SECONDS.toNanos(1));
+
+        // Assert
+        assertEquals(3, sampledFirstSecond);
+        assertTrue(sampledNextSecond);
+    }
+
+    @Test
+    void zeroBudgetShouldOnlyCountEvents() {
+        // Arrange
+        EventLogSummary summary = new EventLogSummary(0);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            summary.onEvent(new StockUpdatedEvent("SKU-" + i, i));
+        }
+
+        // Assert
+        assertFalse(summary.trySample(System.nanoTime()));
+        assertDoesNotThrow(summary::logSummary);
+    }
+}
@@ -0,0 +1,60 @@
+package com.meli.inventory.observability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotSkuTrackerTest {
+
+    @Test
+    void heavyHittersShouldSurfaceAmongManyDistinctSkus() {
+        // Arrange: 5 hot SKUs with 2_000..10_000 updates hidden among 100_000 SKUs updated a few times each
+        HotSkuTracker tracker = new HotSkuTracker(20, 2048, 4);
+        Random random = new Random(42);
+        for (int i = 0; i < 300_000; i++) {
+            tracker.record("COLD-" + random.nextInt(100_000));
+        }
+        for (int hot = 1; hot <= 5; hot++) {
+            for (int i = 0; i < hot * 2_000; i++) {
+                tracker.record("HOT-" + hot);
+            }
+        }
+
+        // Act
+        HotSkuTracker.WindowReport report = tracker.report(5).current();
+
+        // Assert
+        assertEquals(List.of("HOT-5", "HOT-4", "HOT-3", "HOT-2", "HOT-1"),
+                report.top().stream().map(HotSkuTracker.HotSku::sku).toList());
+        assertEquals(330_000, report.totalUpdates());
+        HotSkuTracker.HotSku hottest = report.top().get(0);
+        assertTrue(hottest.count() >= 10_000 && hottest.count() <= 10_000 + report.errorBound(),
+                "count " + hottest.count() + " bound " + report.errorBound());
+        assertTrue(hottest.ratePerSecond() > 0);
+    }
+
+    @Test
+    void rotateShouldKeepTheFinishedWindowAndStartAnEmptyOne() {
+        // Arrange
+        HotSkuTracker tracker = new HotSkuTracker(10, 256, 3);
+        for (int i = 0; i < 50; i++) {
+            tracker.record("SKU-A");
+        }
+        tracker.record("SKU-B");
+
+        // Act
+        tracker.rotate();
+        tracker.record("SKU-C");
+        HotSkuTracker.Report report = tracker.report(1);
+
+        // Assert
+        assertEquals(List.of(new HotSkuTracker.HotSku("SKU-A", 50, report.previous().top().get(0).ratePerSecond())),
+                report.previous().top());
+        assertEquals(51, report.previous().totalUpdates());
+        assertEquals("SKU-C", report.current().top().get(0).sku());
+        assertEquals(1, report.current().totalUpdates());
+    }
+}
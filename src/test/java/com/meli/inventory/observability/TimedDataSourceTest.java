@@ -0,0 +1,100 @@
+package com.meli.inventory.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatementMetrics statementMetrics;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        statementMetrics = new StatementMetrics(meterRegistry, 200);
+        DriverManagerDataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:timed-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(new TimedDataSource(target, () -> statementMetrics));
+        jdbcTemplate.execute("create table inventory_items (id bigint primary key, sku varchar(20), quantity int)");
+    }
+
+    @Test
+    void execute_ShouldTimeByOperationAndTableAndCountRows() {
+        // Act
+        jdbcTemplate.batchUpdate("insert into inventory_items (id, sku, quantity) values (?, ?, ?)",
+                List.of(new Object[]{1, "A", 5}, new Object[]{2, "B", 7}));
+        jdbcTemplate.update("update inventory_items set quantity = quantity - 1 where quantity > ?", 0);
+        jdbcTemplate.queryForObject("select count(*) from inventory_items where sku = 'A'", Integer.class);
+
+        // Assert
+        Timer inserts = meterRegistry.get("inventory_db_statement_duration")
+                .tags("operation", "insert", "table", "inventory_items").timer();
+        Timer selects = meterRegistry.get("inventory_db_statement_duration")
+                .tags("operation", "select", "table", "inventory_items").timer();
+        DistributionSummary updatedRows = meterRegistry.get("inventory_db_statement_rows")
+                .tags("operation", "update", "table", "inventory_items").summary();
+        DistributionSummary insertedRows = meterRegistry.get("inventory_db_statement_rows")
+                .tags("operation", "insert", "table", "inventory_items").summary();
+        assertEquals(1, inserts.count());
+        assertEquals(1, selects.count());
+        assertEquals(2, updatedRows.totalAmount());
+        assertEquals(2, insertedRows.totalAmount());
+    }
+
+    @Test
+    void endRequest_ShouldRecordStatementsExecutedDuringRequest() {
+        // Arrange
+        statementMetrics.beginRequest();
+
+        // Act
+        jdbcTemplate.queryForList("select sku from inventory_items");
+        jdbcTemplate.queryForList("select sku from inventory_items where quantity > 1");
+        statementMetrics.endRequest("/api/v1/inventory");
+
+        // Assert
+        DistributionSummary perRequest = meterRegistry.get("inventory_db_statements_per_request")
+                .tag("uri", "/api/v1/inventory").summary();
+        assertEquals(1, perRequest.count());
+        assertEquals(2, perRequest.totalAmount());
+    }
+
+    @Test
+    void shape_ShouldStripLiteralsAndDetectSequences() {
+        // Act
+        StatementShape select = StatementShape.of("select * from  reservations r where r.sku='ABC' and r.id in (1, 2, 3)");
+        StatementShape sequence = StatementShape.of("select next value for inventory_items_seq");
+
+        // Assert
+        assertEquals("select * from reservations r where r.sku=? and r.id in (?...)", select.sql());
+        assertEquals("reservations", select.table());
+        assertEquals("sequence", sequence.operation());
+        assertEquals("inventory_items_seq", sequence.table());
+    }
+
+    @Test
+    void shape_ShouldTagTheOutermostTableNotSubqueries() {
+        // Act
+        StatementShape correlated = StatementShape.of("select i1_0.sku, (i1_0.quantity + coalesce((select sum(s1_0.quantity)"
+                + " from store_stock s1_0 where s1_0.sku=i1_0.sku), 0)) from inventory_items i1_0 where i1_0.id between ? and ?");
+        StatementShape derived = StatementShape.of("select count(*) from (select r.sku, (select max(h.id) from reservation_history h)"
+                + " from reservations r) t");
+        StatementShape exists = StatementShape.of("delete from stock_leases l where exists (select 1 from escrow_nodes n)");
+        StatementShape insertSelect = StatementShape.of("insert into reservation_history (id) select id from reservations");
+
+        // Assert
+        assertEquals("inventory_items", correlated.table());
+        assertEquals("reservations", derived.table());
+        assertEquals("stock_leases", exists.table());
+        assertEquals("reservation_history", insertSelect.table());
+    }
+}
@@ -0,0 +1,83 @@
+package com.meli.inventory.query.alert;
+
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.LowStockAlertEvent;
+import com.meli.inventory.events.StockUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LowStockAlertEngineTest {
+
+    @Mock
+    private EventBus eventBus;
+
+    private LowStockAlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        engine = new LowStockAlertEngine(eventBus, 0, 2);
+    }
+
+    @Test
+    void onStockUpdated_WhenQuantityDropsBelowThreshold_ShouldTriggerOnce() {
+        // Arrange
+        engine.setThreshold("SKU1", 10);
+
+        // Act
+        engine.onStockUpdated(new StockUpdatedEvent("SKU1", 12));
+        engine.onStockUpdated(new StockUpdatedEvent("SKU1", 9));
+        engine.onStockUpdated(new StockUpdatedEvent("SKU1", 8));
+
+        // Assert
+        ArgumentCaptor<LowStockAlertEvent> captor = ArgumentCaptor.forClass(LowStockAlertEvent.class);
+        verify(eventBus, times(1)).publish(captor.capture());
+        assertEquals(LowStockAlertEvent.State.TRIGGERED, captor.getValue().getState());
+        assertEquals(1, engine.getActiveAlerts().size());
+        assertEquals(8, engine.getActiveAlerts().get(0).getQuantity());
+    }
+
+    @Test
+    void onStockUpdated_WithinHysteresisBand_ShouldNotFlap() {
+        // Arrange
+        engine.setThreshold("SKU1", 10);
+        engine.onStockUpdated(new StockUpdatedEvent("SKU1", 9));
+
+        // Act: back to the threshold, then below again — still inside the band
+        engine.onStockUpdated(new StockUpdatedEvent("SKU1", 10));
+        engine.onStockUpdated(new StockUpdatedEvent("SKU1", 11));
+        engine.onStockUpdated(new StockUpdatedEvent("SKU1", 9));
+
+        // Assert
+        verify(eventBus, times(1)).publish(any(LowStockAlertEvent.class));
+
+        // Act: reach threshold + hysteresis
+        engine.onStockUpdated(new StockUpdatedEvent("SKU1", 12));
+
+        // Assert
+        ArgumentCaptor<LowStockAlertEvent> captor = ArgumentCaptor.forClass(LowStockAlertEvent.class);
+        verify(eventBus, times(2)).publish(captor.capture());
+        assertEquals(LowStockAlertEvent.State.RESOLVED, captor.getValue().getState());
+        assertTrue(engine.getActiveAlerts().isEmpty());
+        assertEquals(2, engine.getRecentTransitions().size());
+    }
+
+    @Test
+    void onStockUpdated_ShouldUseDefaultThresholdWhenSkuHasNone() {
+        engine.onStockUpdated(new StockUpdatedEvent("SKU2", 1));
+        verify(eventBus, never()).publish(any());
+
+        engine.setDefaultThreshold(5);
+        engine.onStockUpdated(new StockUpdatedEvent("SKU2", 1));
+
+        verify(eventBus).publish(any(LowStockAlertEvent.class));
+    }
+}
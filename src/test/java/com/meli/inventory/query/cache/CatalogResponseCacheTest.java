@@ -0,0 +1,83 @@
+package com.meli.inventory.query.cache;
+
+import com.meli.inventory.query.cache.CatalogResponseCache.Encoded;
+import com.meli.inventory.query.cache.CatalogResponseCache.Format;
+import com.meli.inventory.query.codec.InventoryColumnarCodec;
+import com.meli.inventory.query.model.InventoryView;
+import com.meli.inventory.query.service.InventoryQueryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogResponseCacheTest {
+
+    private final InventoryQueryService queryService = mock(InventoryQueryService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CatalogResponseCache cache(long minRebuildIntervalMs) {
+        return new CatalogResponseCache(queryService, Jackson2ObjectMapperBuilder.json().build(), meterRegistry,
+                minRebuildIntervalMs, true);
+    }
+
+    private double requests(String format, String result) {
+        return meterRegistry.counter("inventory_catalog_cache_requests_total", "format", format, "result", result)
+                .count();
+    }
+
+    @Test
+    void get_ServesSameBytesUntilVersionChanges() {
+        // Arrange
+        CatalogResponseCache cache = cache(0);
+        when(queryService.getAll()).thenReturn(List.of(new InventoryView("SKU1", "Item", 5, null)));
+        when(queryService.getVersion()).thenReturn(1L);
+
+        // Act
+        Encoded first = cache.get(Format.COLUMNAR);
+        Encoded second = cache.get(Format.COLUMNAR);
+        when(queryService.getAll()).thenReturn(List.of(new InventoryView("SKU1", "Item", 4, null)));
+        when(queryService.getVersion()).thenReturn(2L);
+        Encoded third = cache.get(Format.COLUMNAR);
+
+        // Assert
+        assertSame(first, second);
+        assertNotEquals(first.etag(), third.etag());
+        assertEquals(4, InventoryColumnarCodec.decode(third.body()).get(0).getQuantity());
+        assertNotNull(third.gzipped());
+        assertEquals(1.0, requests("columnar", "hit"));
+        assertEquals(2.0, requests("columnar", "rebuild"));
+        verify(queryService, times(2)).getAll();
+    }
+
+    @Test
+    void get_RebuildsAtMostOncePerInterval() {
+        // Arrange
+        CatalogResponseCache cache = cache(60_000);
+        when(queryService.getAll()).thenReturn(List.of());
+        when(queryService.getVersion()).thenReturn(1L);
+        Encoded first = cache.get(Format.JSON);
+
+        // Act
+        when(queryService.getVersion()).thenReturn(2L);
+        Encoded withinInterval = cache.get(Format.JSON);
+
+        // Assert
+        assertSame(first, withinInterval);
+        assertEquals(1.0, requests("json", "stale"));
+        verify(queryService, times(1)).getAll();
+    }
+
+    @Test
+    void negotiate_PrefersRequestedFormatAndDefaultsToJson() {
+        assertEquals(Optional.of(Format.JSON), Format.negotiate(null));
+        assertEquals(Optional.of(Format.JSON), Format.negotiate("*/*"));
+        assertEquals(Optional.of(Format.COLUMNAR),
+                Format.negotiate("application/json;q=0.5, " + InventoryColumnarCodec.MEDIA_TYPE));
+        assertEquals(Optional.empty(), Format.negotiate("text/csv"));
+    }
+}
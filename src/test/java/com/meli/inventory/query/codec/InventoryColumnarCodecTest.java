@@ -0,0 +1,153 @@
+package com.meli.inventory.query.codec;
+
+import com.meli.inventory.query.cache.CatalogResponseCache;
+import com.meli.inventory.query.controller.InventoryController;
+import com.meli.inventory.query.model.InventoryView;
+import com.meli.inventory.query.service.InventoryQueryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class InventoryColumnarCodecTest {
+
+    private static final List<InventoryView> VIEWS = List.of(
+            new InventoryView("SKU-1", "Camiseta ñandú", 12, LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_456_789)),
+            new InventoryView("SKU-2", null, -3, LocalDateTime.of(2024, 1, 1, 0, 0)),
+            new InventoryView("SKU-3", "", null, null));
+
+    @Test
+    void encodeDecode_RoundTripsNullsNegativesAndNanos() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        InventoryColumnarCodec.encode(VIEWS, out);
+        List<InventoryView> decoded = InventoryColumnarCodec.decode(out.toByteArray());
+
+        // Assert
+        assertEquals(VIEWS, decoded);
+        assertEquals(List.of(), InventoryColumnarCodec.decode(encode(List.of())));
+    }
+
+    @Test
+    void decode_RejectsTruncatedAndTrailingBytes() throws Exception {
+        // Arrange
+        byte[] payload = encode(VIEWS);
+
+        // Act & Assert
+        for (int length = 0; length < payload.length; length++) {
+            byte[] truncated = Arrays.copyOf(payload, length);
+            assertThrows(IllegalArgumentException.class, () -> InventoryColumnarCodec.decode(truncated));
+        }
+        byte[] trailing = Arrays.copyOf(payload, payload.length + 1);
+        assertThrows(IllegalArgumentException.class, () -> InventoryColumnarCodec.decode(trailing));
+    }
+
+    @Test
+    void decode_RejectsOutOfRangeFieldsAsIllegalArgument() {
+        // Arrange: one row "A" with no name, then a quantity or timestamp that does not fit its field
+        byte[] hugeQuantity = oneRow(new long[]{zigZag(1L << 40)}, null);
+        byte[] hugeNano = oneRow(null, new long[]{0, 1L << 40});
+        byte[] invalidNano = oneRow(null, new long[]{0, 1_500_000_000});
+        byte[] hugeSecond = oneRow(null, new long[]{zigZag(Long.MAX_VALUE / 2), 0});
+
+        // Act & Assert
+        for (byte[] payload : List.of(hugeQuantity, hugeNano, invalidNano, hugeSecond)) {
+            assertThrows(IllegalArgumentException.class, () -> InventoryColumnarCodec.decode(payload));
+        }
+        MockHttpInputMessage request = new MockHttpInputMessage(hugeQuantity);
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> new InventoryColumnarHttpMessageConverter().read(InventoryView.class, null, request));
+    }
+
+    @Test
+    void controller_NegotiatesColumnarOnlyWhenAccepted() throws Exception {
+        // Arrange
+        InventoryQueryService queryService = mock(InventoryQueryService.class);
+        when(queryService.getAll()).thenReturn(VIEWS);
+        when(queryService.getBySku("SKU-1")).thenReturn(VIEWS.get(0));
+        when(queryService.getChangesSince(LocalDateTime.of(2024, 1, 1, 0, 0))).thenReturn(VIEWS.subList(0, 2));
+        CatalogResponseCache catalogCache = new CatalogResponseCache(queryService,
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), 1_000, false);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new InventoryController(queryService, catalogCache))
+                .setMessageConverters(
+                        new ByteArrayHttpMessageConverter(),
+                        new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                        new InventoryColumnarHttpMessageConverter())
+                .build();
+
+        // Act
+        MvcResult bulk = mockMvc.perform(get("/api/v1/inventory").accept(InventoryColumnarCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(InventoryColumnarHttpMessageConverter.MEDIA_TYPE))
+                .andReturn();
+        MvcResult single = mockMvc.perform(get("/api/v1/inventory/SKU-1").accept(InventoryColumnarCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult changes = mockMvc.perform(get("/api/v1/inventory/changes").param("since", "2024-01-01T00:00:00")
+                        .accept(InventoryColumnarCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        assertEquals(VIEWS, InventoryColumnarCodec.decode(bulk.getResponse().getContentAsByteArray()));
+        assertEquals(List.of(VIEWS.get(0)), InventoryColumnarCodec.decode(single.getResponse().getContentAsByteArray()));
+        assertEquals(VIEWS.subList(0, 2), InventoryColumnarCodec.decode(changes.getResponse().getContentAsByteArray()));
+        mockMvc.perform(get("/api/v1/inventory").accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private static byte[] oneRow(long[] quantity, long[] timestamp) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[]{0x49, 0x4E, 0x56, 0x43, InventoryColumnarCodec.FORMAT_VERSION});
+        writeVarint(out, 1);
+        writeVarint(out, 1);
+        out.write('A');
+        writeVarint(out, 0);
+        for (long[] column : Arrays.asList(quantity, timestamp)) {
+            out.write(column == null ? 0 : 1);
+            if (column != null) {
+                Arrays.stream(column).forEach(value -> writeVarint(out, value));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static byte[] encode(List<InventoryView> views) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InventoryColumnarCodec.encode(views, out);
+        return out.toByteArray();
+    }
+}
@@ -1,19 +1,31 @@
 package com.meli.inventory.query.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.inventory.query.cache.CatalogResponseCache;
+import com.meli.inventory.query.model.InventoryPage;
 import com.meli.inventory.query.model.InventoryView;
 import com.meli.inventory.query.service.InventoryQueryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class InventoryControllerTest {
@@ -22,11 +34,15 @@ class InventoryControllerTest {
     private InventoryQueryService inventoryQueryService;
 
     private InventoryController inventoryController;
+    private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        inventoryController = new InventoryController(inventoryQueryService);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        CatalogResponseCache catalogCache = new CatalogResponseCache(inventoryQueryService, objectMapper,
+                new SimpleMeterRegistry(), 1_000, true);
+        inventoryController = new InventoryController(inventoryQueryService, catalogCache);
     }
 
     @Test
@@ -52,14 +68,35 @@ class InventoryControllerTest {
     }
 
     @Test
-    void getAllInventory_ShouldReturnAllInventoryViews() {
+    void getAllInventory_ShouldReturnAllInventoryViews() throws Exception {
         List<InventoryView> expectedViews = Arrays.asList(new InventoryView(), new InventoryView());
         when(inventoryQueryService.getAll()).thenReturn(expectedViews);
 
-        ResponseEntity<List<InventoryView>> response = inventoryController.getAllInventory();
+        ResponseEntity<byte[]> response = inventoryController.getAllInventory(null, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedViews, response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(expectedViews, objectMapper.readValue(response.getBody(),
+                new TypeReference<List<InventoryView>>() { }));
+    }
+
+    @Test
+    void getAllInventory_ShouldServeGzipAndNotModifiedFromCache() throws Exception {
+        when(inventoryQueryService.getAll()).thenReturn(List.of(new InventoryView("SKU1", "Item", 3, null)));
+        when(inventoryQueryService.getVersion()).thenReturn(7L);
+
+        ResponseEntity<byte[]> gzipped = inventoryController.getAllInventory("application/json", "gzip, br", null);
+        ResponseEntity<byte[]> notModified = inventoryController.getAllInventory("application/json", "gzip",
+                gzipped.getHeaders().getETag());
+        ResponseEntity<byte[]> unacceptable = inventoryController.getAllInventory("text/csv", null, null);
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertEquals(1, objectMapper.readValue(in.readAllBytes(), List.class).size());
+        }
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, unacceptable.getStatusCode());
+        verify(inventoryQueryService, times(1)).getAll();
     }
 
     @Test
@@ -83,4 +120,23 @@ class InventoryControllerTest {
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchBySkuPrefix_ShouldReturnPage() {
+        InventoryPage expectedPage = new InventoryPage(List.of(new InventoryView()), "SKU1");
+        when(inventoryQueryService.findBySkuPrefix("SKU", null, 50)).thenReturn(expectedPage);
+
+        ResponseEntity<InventoryPage> response = inventoryController.searchBySkuPrefix("SKU", null, 50);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedPage, response.getBody());
+    }
+
+    @Test
+    void getLowStock_WithInvalidLimitOrCursor_ShouldReturnBadRequest() {
+        when(inventoryQueryService.findLowStock(5, "bad", 10)).thenThrow(new IllegalArgumentException("bad"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, inventoryController.getLowStock(5, null, 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, inventoryController.getLowStock(5, "bad", 10).getStatusCode());
+    }
+}
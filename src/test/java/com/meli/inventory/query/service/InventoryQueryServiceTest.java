@@ -1,39 +1,84 @@
 package com.meli.inventory.query.service;
 
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.EventLagMetrics;
 import com.meli.inventory.events.StockUpdatedEvent;
-import com.meli.inventory.model.entities.InventoryItem;
-import com.meli.inventory.model.repositories.InventoryRepository;
+import com.meli.inventory.model.projections.InventoryProjection;
+import com.meli.inventory.query.model.InventoryPage;
 import com.meli.inventory.query.model.InventoryView;
+import com.meli.inventory.query.snapshot.ReadModelSnapshot;
+import com.meli.inventory.query.snapshot.ReadModelSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class InventoryQueryServiceTest {
 
     @Mock
-    private InventoryRepository inventoryRepository;
+    private ReadModelLoader readModelLoader;
+
+    @Mock
+    private ReadModelSnapshotStore snapshotStore;
+
+    @Mock
+    private EventBus eventBus;
 
     private InventoryQueryService service;
 
     @BeforeEach
     void setUp() {
-        service = new InventoryQueryService(inventoryRepository);
+        service = new InventoryQueryService(readModelLoader, snapshotStore, eventBus,
+                new EventLagMetrics(new SimpleMeterRegistry(), 600_000), new SimpleMeterRegistry(), 4, 5000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRows(InventoryProjection... rows) {
+        when(readModelLoader.loadRange(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            Consumer<InventoryProjection> sink = invocation.getArgument(2);
+            int count = 0;
+            for (int i = 0; i < rows.length; i++) {
+                long id = i + 1;
+                if (id >= from && id <= to) {
+                    sink.accept(rows[i]);
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private static InventoryProjection row(String sku, String name, int quantity) {
+        return new InventoryProjection() {
+            public String getSku() { return sku; }
+            public String getName() { return name; }
+            public Integer getQuantity() { return quantity; }
+        };
     }
 
     @Test
     void loadInitialData_ShouldPopulateMap() {
         // Arrange
-        InventoryItem item = new InventoryItem(1L, "SKU1", "Test Item", 10, 1L);
-        when(inventoryRepository.findAll()).thenReturn(List.of(item));
+        when(readModelLoader.idBounds()).thenReturn(new long[]{1, 1});
+        stubRows(row("SKU1", "Test Item", 10));
 
         // Act
         service.loadInitialData();
@@ -44,6 +89,61 @@ class InventoryQueryServiceTest {
         assertEquals("SKU1", view.getSku());
         assertEquals("Test Item", view.getName());
         assertEquals(10, view.getQuantity());
+        assertTrue(service.isWarmedUp());
+    }
+
+    @Test
+    void loadInitialData_ShouldLoadEveryRangeInParallel() {
+        // Arrange
+        when(readModelLoader.idBounds()).thenReturn(new long[]{1, 10});
+        stubRows(row("SKU1", "A", 1), row("SKU2", "B", 2), row("SKU3", "C", 3), row("SKU4", "D", 4),
+                row("SKU5", "E", 5), row("SKU6", "F", 6), row("SKU7", "G", 7), row("SKU8", "H", 8),
+                row("SKU9", "I", 9), row("SKU10", "J", 10));
+
+        // Act
+        service.loadInitialData();
+
+        // Assert
+        verify(readModelLoader, times(4)).loadRange(anyLong(), anyLong(), any());
+        assertEquals(10, service.getAll().size());
+    }
+
+    @Test
+    void loadInitialData_ShouldKeepQuantityFromEventsReceivedDuringWarmup() {
+        // Arrange
+        service.handleStockUpdated(new StockUpdatedEvent("SKU1", 7));
+        when(readModelLoader.idBounds()).thenReturn(new long[]{1, 1});
+        stubRows(row("SKU1", "Test Item", 10));
+
+        // Act
+        service.loadInitialData();
+
+        // Assert
+        InventoryView view = service.getBySku("SKU1");
+        assertEquals(7, view.getQuantity());
+        assertEquals("Test Item", view.getName());
+    }
+
+    @Test
+    void loadInitialData_WithEmptyTable_ShouldStillBecomeReady() {
+        when(readModelLoader.idBounds()).thenReturn(null);
+
+        service.loadInitialData();
+
+        assertTrue(service.isWarmedUp());
+        assertTrue(service.getAll().isEmpty());
+    }
+
+    @Test
+    void splitRange_ShouldCoverWholeKeyspaceWithoutGaps() {
+        List<long[]> ranges = InventoryQueryService.splitRange(5, 17, 4);
+
+        assertEquals(4, ranges.size());
+        assertEquals(5, ranges.get(0)[0]);
+        assertEquals(17, ranges.get(3)[1]);
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1)[1] + 1, ranges.get(i)[0]);
+        }
     }
 
     @Test
@@ -61,6 +161,28 @@ class InventoryQueryServiceTest {
         assertEquals(20, view.getQuantity());
     }
 
+    @Test
+    void getStats_ShouldFollowPlaceholdersWarmupAndEvictions() {
+        // Arrange: an event for SKU2 arrives before warm-up loads its name
+        service.handleStockUpdated(new StockUpdatedEvent("SKU2", 7));
+        assertEquals(100.0, service.getStats().placeholderPercent());
+        when(readModelLoader.idBounds()).thenReturn(new long[]{1, 2});
+        stubRows(row("SKU1", "A", 1), row("SKU2", "B", 2));
+
+        // Act
+        service.loadInitialData();
+        service.evict("SKU1", LocalDateTime.now().plusMinutes(1));
+
+        // Assert
+        ReadModelStats.Report stats = service.getStats();
+        assertEquals(1, stats.entries());
+        assertEquals(0.0, stats.placeholderPercent());
+        assertEquals(service.getBySku("SKU2").getLastUpdated(), stats.oldestLastUpdated());
+        assertEquals(stats.oldestLastUpdated(), stats.newestLastUpdated());
+        assertEquals(ReadModelStats.ENTRY_OVERHEAD_BYTES + ReadModelStats.stringBytes("SKU2")
+                + ReadModelStats.stringBytes("B"), stats.estimatedBytes());
+    }
+
     @Test
     void getChangesSince_ShouldReturnOnlyRecentChanges() {
         // Arrange
@@ -90,4 +212,109 @@ class InventoryQueryServiceTest {
         assertNotNull(allItems.stream().filter(v -> v.getSku().equals("SKU1")).findFirst().orElse(null));
         assertNotNull(allItems.stream().filter(v -> v.getSku().equals("SKU2")).findFirst().orElse(null));
     }
+
+    @Test
+    void loadInitialData_WithValidSnapshot_ShouldRestoreAndCatchUpOnlyChanges() {
+        // Arrange
+        ReadModelSnapshot snapshot = new ReadModelSnapshot(42, Instant.now(), List.of(
+                new InventoryView("SKU1", "Snapshot Item", 10, LocalDateTime.now()),
+                new InventoryView("SKU2", "Other Item", 20, LocalDateTime.now())));
+        when(snapshotStore.isEnabled()).thenReturn(true);
+        when(snapshotStore.read()).thenReturn(Optional.of(snapshot));
+        when(readModelLoader.loadModifiedSince(any(), any())).thenAnswer(invocation -> {
+            Consumer<InventoryProjection> sink = invocation.getArgument(1);
+            sink.accept(row("SKU1", "Snapshot Item", 4));
+            return 1;
+        });
+
+        // Act
+        service.loadInitialData();
+
+        // Assert
+        verify(readModelLoader, never()).idBounds();
+        verify(eventBus).advanceSequenceTo(42);
+        assertEquals(4, service.getBySku("SKU1").getQuantity());
+        assertEquals(20, service.getBySku("SKU2").getQuantity());
+        assertEquals(42, service.getLastAppliedSequence());
+        assertTrue(service.isWarmedUp());
+    }
+
+    @Test
+    void loadInitialData_WithoutUsableSnapshot_ShouldFallBackToDatabaseScan() {
+        when(snapshotStore.isEnabled()).thenReturn(true);
+        when(snapshotStore.read()).thenReturn(Optional.empty());
+        when(readModelLoader.idBounds()).thenReturn(new long[]{1, 1});
+        stubRows(row("SKU1", "Test Item", 10));
+
+        service.loadInitialData();
+
+        verify(readModelLoader, never()).loadModifiedSince(any(), any());
+        assertEquals(10, service.getBySku("SKU1").getQuantity());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeSnapshot_ShouldOnlyWriteWhenNewEventsWereApplied() throws Exception {
+        // Arrange
+        when(snapshotStore.isEnabled()).thenReturn(true);
+        when(readModelLoader.idBounds()).thenReturn(null);
+        service.loadInitialData();
+
+        // Act
+        service.writeSnapshot();
+        service.writeSnapshot();
+
+        // Assert
+        verify(snapshotStore, times(1)).write(any(Collection.class), eq(0L), any(Instant.class));
+    }
+
+    @Test
+    void findBySkuPrefix_ShouldReturnSortedPagesWithCursor() {
+        // Arrange
+        service.handleStockUpdated(new StockUpdatedEvent("AB-2", 1));
+        service.handleStockUpdated(new StockUpdatedEvent("AB-1", 1));
+        service.handleStockUpdated(new StockUpdatedEvent("AB-3", 1));
+        service.handleStockUpdated(new StockUpdatedEvent("AC-1", 1));
+
+        // Act
+        InventoryPage first = service.findBySkuPrefix("AB", null, 2);
+        InventoryPage second = service.findBySkuPrefix("AB", first.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(List.of("AB-1", "AB-2"), first.getItems().stream().map(InventoryView::getSku).toList());
+        assertEquals("AB-2", first.getNextCursor());
+        assertEquals(List.of("AB-3"), second.getItems().stream().map(InventoryView::getSku).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void findLowStock_ShouldFollowQuantityChanges() {
+        // Arrange
+        service.handleStockUpdated(new StockUpdatedEvent("SKU1", 3));
+        service.handleStockUpdated(new StockUpdatedEvent("SKU2", 50));
+        service.handleStockUpdated(new StockUpdatedEvent("SKU3", 1));
+        service.handleStockUpdated(new StockUpdatedEvent("SKU2", 2));
+        service.handleStockUpdated(new StockUpdatedEvent("SKU3", 40));
+
+        // Act
+        InventoryPage page = service.findLowStock(5, null, 10);
+
+        // Assert
+        assertEquals(List.of("SKU2", "SKU1"), page.getItems().stream().map(InventoryView::getSku).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findLowStock_ShouldPaginateWithQuantityCursor() {
+        service.handleStockUpdated(new StockUpdatedEvent("SKU1", 1));
+        service.handleStockUpdated(new StockUpdatedEvent("SKU2", 1));
+        service.handleStockUpdated(new StockUpdatedEvent("SKU3", 2));
+
+        InventoryPage first = service.findLowStock(5, null, 2);
+        InventoryPage second = service.findLowStock(5, first.getNextCursor(), 2);
+
+        assertEquals("1:SKU2", first.getNextCursor());
+        assertEquals(List.of("SKU3"), second.getItems().stream().map(InventoryView::getSku).toList());
+        assertThrows(IllegalArgumentException.class, () -> service.findLowStock(5, "bad-cursor", 2));
+    }
 }
@@ -0,0 +1,191 @@
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.events.EventBus;
+import com.meli.inventory.events.EventLagMetrics;
+import com.meli.inventory.events.StockUpdatedEvent;
+import com.meli.inventory.model.entities.InventoryItem;
+import com.meli.inventory.model.projections.InventoryProjection;
+import com.meli.inventory.query.snapshot.ReadModelSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadModelReconcilerTest {
+
+    @Mock
+    private ReadModelLoader readModelLoader;
+
+    @Mock
+    private ReadModelSnapshotStore snapshotStore;
+
+    @Mock
+    private EventBus eventBus;
+
+    private final List<InventoryProjection> databaseRows = new ArrayList<>();
+    private final AtomicInteger rowsReadByRange = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryQueryService queryService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryService = new InventoryQueryService(readModelLoader, snapshotStore, eventBus,
+                new EventLagMetrics(meterRegistry, 600_000), meterRegistry, 1, 5000);
+
+        lenient().when(readModelLoader.idBounds()).thenReturn(new long[]{1, 1_000});
+        lenient().when(readModelLoader.loadRange(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            Consumer<InventoryProjection> sink = invocation.getArgument(2);
+            int count = 0;
+            for (int i = 0; i < databaseRows.size(); i++) {
+                if (i + 1 >= from && i + 1 <= to) {
+                    sink.accept(databaseRows.get(i));
+                    count++;
+                }
+            }
+            return count;
+        });
+        // Stands in for the grouped SQL of InventoryRepository.sumRangeChecksums
+        lenient().when(readModelLoader.rangeChecksums(anyInt())).thenAnswer(invocation -> {
+            int ranges = invocation.getArgument(0);
+            Map<Integer, long[]> checksums = new HashMap<>();
+            for (InventoryProjection row : databaseRows) {
+                long offset = InventoryItem.hashOf(row.getSku()) + 2147483648L;
+                long[] sums = checksums.computeIfAbsent((int) (offset * ranges / 4294967296L), range -> new long[4]);
+                sums[0]++;
+                sums[1] += row.getQuantity();
+                sums[2] += InventoryItem.hashOf(row.getName());
+                sums[3] += offset % 65536 * row.getQuantity();
+            }
+            return checksums;
+        });
+        lenient().when(readModelLoader.loadSkuHashRange(anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+            int lo = invocation.getArgument(0);
+            int hi = invocation.getArgument(1);
+            Consumer<InventoryProjection> sink = invocation.getArgument(2);
+            int count = 0;
+            for (InventoryProjection row : databaseRows) {
+                int skuHash = InventoryItem.hashOf(row.getSku());
+                if (skuHash >= lo && skuHash <= hi) {
+                    sink.accept(row);
+                    count++;
+                }
+            }
+            rowsReadByRange.addAndGet(count);
+            return count;
+        });
+        lenient().when(readModelLoader.loadBySkus(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> skus = invocation.getArgument(0);
+            return databaseRows.stream().filter(row -> skus.contains(row.getSku())).toList();
+        });
+
+        for (int i = 0; i < 200; i++) {
+            databaseRows.add(row("SKU" + i, "Item " + i, i));
+        }
+        queryService.loadInitialData();
+    }
+
+    private static InventoryProjection row(String sku, String name, int quantity) {
+        return new InventoryProjection() {
+            public String getSku() { return sku; }
+            public String getName() { return name; }
+            public Integer getQuantity() { return quantity; }
+        };
+    }
+
+    private ReadModelReconciler reconciler(long repairGraceMs) {
+        return new ReadModelReconciler(queryService, readModelLoader, meterRegistry, 16, 2, 0, repairGraceMs);
+    }
+
+    @Test
+    void reconcile_ShouldNotDrillIntoRangesWhenChecksumsMatch() {
+        // Act
+        int drift = reconciler(0).reconcile();
+
+        // Assert
+        assertEquals(0, drift);
+        verify(readModelLoader, never()).loadBySkus(anyCollection());
+        verify(readModelLoader, never()).loadSkuHashRange(anyInt(), anyInt(), any());
+        verify(readModelLoader).backfillRowHashes(anyInt());
+        assertEquals(0, meterRegistry.get("inventory_readmodel_reconcile_ranges_differing").gauge().value());
+    }
+
+    @Test
+    void reconcile_ShouldRepairMismatchedMissingAndPhantomEntries() throws InterruptedException {
+        // Arrange: lost update on SKU5, SKU500 never reached the read model, SKU7 no longer exists
+        databaseRows.set(5, row("SKU5", "Item 5", 42));
+        databaseRows.add(row("SKU500", "Item 500", 9));
+        databaseRows.remove(7);
+        Thread.sleep(5);
+
+        // Act
+        int drift = reconciler(0).reconcile();
+
+        // Assert
+        assertEquals(3, drift);
+        int differing = (int) meterRegistry.get("inventory_readmodel_reconcile_ranges_differing").gauge().value();
+        assertTrue(differing >= 1 && differing <= 3);
+        verify(readModelLoader, times(differing)).loadSkuHashRange(anyInt(), anyInt(), any());
+        assertTrue(rowsReadByRange.get() < databaseRows.size(), "only the differing ranges are read");
+        assertEquals(42, queryService.getBySku("SKU5").getQuantity());
+        assertEquals(9, queryService.getBySku("SKU500").getQuantity());
+        assertNull(queryService.getBySku("SKU7"));
+        assertEquals(1, meterRegistry.get("inventory_readmodel_reconcile_drift_total").tag("kind", "mismatch").counter().count());
+        assertEquals(1, meterRegistry.get("inventory_readmodel_reconcile_drift_total").tag("kind", "missing").counter().count());
+        assertEquals(1, meterRegistry.get("inventory_readmodel_reconcile_drift_total").tag("kind", "phantom").counter().count());
+        assertEquals(0, reconciler(0).reconcile());
+    }
+
+    @Test
+    void rangeBounds_ShouldTileTheSkuHashSpace() {
+        // Arrange
+        ReadModelReconciler reconciler = new ReadModelReconciler(queryService, readModelLoader, meterRegistry, 7, 2, 0, 0);
+
+        // Assert: contiguous intervals from Integer.MIN_VALUE to Integer.MAX_VALUE, matching rangeOf
+        assertEquals(Integer.MIN_VALUE, reconciler.lowestHash(0));
+        assertEquals(Integer.MAX_VALUE, reconciler.highestHash(6));
+        for (int range = 0; range < 6; range++) {
+            assertEquals(reconciler.highestHash(range) + 1, reconciler.lowestHash(range + 1));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            String sku = "SKU" + i;
+            int range = reconciler.rangeOf(sku);
+            int skuHash = InventoryItem.hashOf(sku);
+            assertTrue(skuHash >= reconciler.lowestHash(range) && skuHash <= reconciler.highestHash(range), sku);
+        }
+    }
+
+    @Test
+    void reconcile_ShouldLeaveEntriesTouchedByRecentEvents() {
+        // Arrange: an event already applied a value the DB scan does not see yet
+        queryService.handleStockUpdated(new StockUpdatedEvent("SKU3", 77));
+
+        // Act
+        int drift = reconciler(60_000).reconcile();
+
+        // Assert
+        assertEquals(0, drift);
+        assertEquals(77, queryService.getBySku("SKU3").getQuantity());
+    }
+}
@@ -0,0 +1,88 @@
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.query.model.InventoryView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadModelStatsTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private final ReadModelStats stats = new ReadModelStats();
+
+    @Test
+    void report_TracksEntriesBytesAndTimestampRange() {
+        // Arrange
+        InventoryView first = new InventoryView("SKU1", "Camiseta", 5, T0);
+        InventoryView second = new InventoryView("SKU2", "Pantalón", 3, T0.plusMinutes(5));
+        stats.onAdded(first);
+        stats.onAdded(second);
+
+        // Act
+        LocalDateTime before = first.getLastUpdated();
+        first.setLastUpdated(T0.plusMinutes(10));
+        stats.onChanged(first.getName(), before, first);
+        ReadModelStats.Report report = stats.report(7, 0);
+
+        // Assert
+        assertEquals(2, report.entries());
+        assertEquals(2 * ReadModelStats.ENTRY_OVERHEAD_BYTES + ReadModelStats.stringBytes("SKU1")
+                + ReadModelStats.stringBytes("Camiseta") + ReadModelStats.stringBytes("SKU2")
+                + ReadModelStats.stringBytes("Pantalón"), report.estimatedBytes());
+        assertEquals(T0.plusMinutes(5), report.oldestLastUpdated());
+        assertEquals(T0.plusMinutes(10), report.newestLastUpdated());
+        assertEquals(7, report.lastAppliedSequence());
+
+        stats.onRemoved(first);
+        stats.onRemoved(second);
+        ReadModelStats.Report empty = stats.report(7, 0);
+        assertEquals(0, empty.entries());
+        assertEquals(0, empty.estimatedBytes());
+        assertNull(empty.oldestLastUpdated());
+        assertNull(empty.newestLastUpdated());
+    }
+
+    @Test
+    void report_CountsPlaceholdersUntilTheirNameIsFilledIn() {
+        // Arrange
+        InventoryView placeholder = new InventoryView("SKU1", ReadModelStats.PLACEHOLDER_NAME, 5, T0);
+        stats.onAdded(placeholder);
+        stats.onAdded(new InventoryView("SKU2", "Camiseta", 3, T0));
+        stats.onAdded(new InventoryView("SKU3", "Pantalón", 3, T0));
+        stats.onAdded(new InventoryView("SKU4", "Zapatilla", 3, T0));
+        assertEquals(25.0, stats.report(0, 0).placeholderPercent());
+
+        // Act
+        placeholder.setName("Gorra");
+        stats.onChanged(ReadModelStats.PLACEHOLDER_NAME, T0, placeholder);
+
+        // Assert
+        ReadModelStats.Report report = stats.report(0, 0);
+        assertEquals(0, report.placeholderEntries());
+        assertEquals(0.0, report.placeholderPercent());
+    }
+
+    @Test
+    void report_AveragesEventsOverCompleteSecondsOfTheWindow() {
+        // Arrange: 20 events per second for 12 seconds, then 5 in the current (incomplete) second
+        long base = TimeUnit.SECONDS.toNanos(1_000);
+        for (int second = 0; second < 12; second++) {
+            for (int i = 0; i < 20; i++) {
+                stats.onEventApplied(base + TimeUnit.SECONDS.toNanos(second) + i);
+            }
+        }
+        long now = base + TimeUnit.SECONDS.toNanos(12) + 500;
+        for (int i = 0; i < 5; i++) {
+            stats.onEventApplied(now);
+        }
+
+        // Act & Assert
+        assertEquals(20.0, stats.report(0, now).eventsAppliedPerSecond());
+        // Idle for longer than the window
+        assertEquals(0.0, stats.report(0, now + TimeUnit.SECONDS.toNanos(30)).eventsAppliedPerSecond());
+    }
+}
@@ -0,0 +1,146 @@
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.events.ReservationCancelledEvent;
+import com.meli.inventory.events.ReservationConfirmedEvent;
+import com.meli.inventory.events.ReservationCreatedEvent;
+import com.meli.inventory.model.entities.Reservation.ReservationStatus;
+import com.meli.inventory.model.projections.StoreReservationTotals;
+import com.meli.inventory.model.repositories.ReservationHistoryRepository;
+import com.meli.inventory.model.repositories.ReservationRepository;
+import com.meli.inventory.query.model.StoreReservationView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StoreReservationQueryServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationHistoryRepository historyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StoreReservationQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new StoreReservationQueryService(reservationRepository, historyRepository, meterRegistry, 0);
+    }
+
+    @Test
+    void handleReservationEvent_ShouldTrackReservedAndConfirmedPerStore() {
+        // Act
+        service.handleReservationEvent(new ReservationCreatedEvent(1L, "SKU1", "STORE1", 5));
+        service.handleReservationEvent(new ReservationCreatedEvent(2L, "SKU1", "STORE1", 3));
+        service.handleReservationEvent(new ReservationCreatedEvent(3L, "SKU1", "STORE2", 2));
+        service.handleReservationEvent(new ReservationConfirmedEvent(1L, "SKU1", "STORE1", 5));
+        service.handleReservationEvent(new ReservationCancelledEvent(2L, "SKU1", "STORE1", 3));
+
+        // Assert
+        StoreReservationView store1 = service.getByStore("STORE1").get(0);
+        assertEquals(0, store1.getReservedQuantity());
+        assertEquals(5, store1.getConfirmedQuantity());
+        assertEquals(2, service.getBySku("SKU1").size());
+        assertTrue(service.getByStore("UNKNOWN").isEmpty());
+    }
+
+    @Test
+    void handleReservationEvent_OutOfOrder_ShouldConverge() {
+        service.handleReservationEvent(new ReservationConfirmedEvent(1L, "SKU1", "STORE1", 5));
+        service.handleReservationEvent(new ReservationCreatedEvent(1L, "SKU1", "STORE1", 5));
+
+        StoreReservationView view = service.getByStore("STORE1").get(0);
+        assertEquals(0, view.getReservedQuantity());
+        assertEquals(5, view.getConfirmedQuantity());
+    }
+
+    @Test
+    void handleReservationEvent_NegativeQuantity_ShouldBeCountedAndServedAsZero() {
+        // Act: the cancel of a reservation is dispatched before its create
+        service.handleReservationEvent(new ReservationCancelledEvent(1L, "SKU1", "STORE1", 5));
+        int whileAhead = service.getByStore("STORE1").get(0).getReservedQuantity();
+        service.handleReservationEvent(new ReservationCreatedEvent(1L, "SKU1", "STORE1", 5));
+
+        // Assert
+        assertEquals(0, whileAhead);
+        assertEquals(1.0, meterRegistry.counter("store_reservations_negative_total").count());
+        assertEquals(0, service.getBySku("SKU1").get(0).getReservedQuantity());
+    }
+
+    @Test
+    void loadInitialData_ShouldServeExistingReservationsBeforeTheirEvents() {
+        // Arrange: reservations created before a restart
+        when(reservationRepository.sumQuantitiesByStoreAndSku(any())).thenReturn(List.of(
+                totals("STORE1", "SKU1", ReservationStatus.PENDING, 5),
+                totals("STORE1", "SKU1", ReservationStatus.CONFIRMED, 2)));
+        assertFalse(service.isLoaded());
+
+        // Act
+        service.loadInitialData();
+        service.handleReservationEvent(new ReservationCancelledEvent(1L, "SKU1", "STORE1", 5));
+
+        // Assert
+        assertTrue(service.isLoaded());
+        StoreReservationView view = service.getByStore("STORE1").get(0);
+        assertEquals(0, view.getReservedQuantity());
+        assertEquals(2, view.getConfirmedQuantity());
+        assertEquals(0.0, meterRegistry.counter("store_reservations_negative_total").count());
+        assertEquals(0.0, meterRegistry.counter("store_reservations_drift_total").count(), "loading is not drift");
+    }
+
+    @Test
+    void verifyAgainstDatabase_ShouldCountAndRepairDrift() {
+        // Arrange: the in-memory view missed a cancel and never saw STORE2
+        service.handleReservationEvent(new ReservationCreatedEvent(1L, "SKU1", "STORE1", 5));
+        when(reservationRepository.sumQuantitiesByStoreAndSku(any())).thenReturn(List.of(
+                totals("STORE2", "SKU1", ReservationStatus.CONFIRMED, 4)));
+
+        // Act
+        int drift = service.verifyAgainstDatabase();
+
+        // Assert
+        assertEquals(2, drift);
+        assertEquals(0, service.getByStore("STORE1").get(0).getReservedQuantity());
+        assertEquals(4, service.getByStore("STORE2").get(0).getConfirmedQuantity());
+        assertEquals(0, service.verifyAgainstDatabase());
+    }
+
+    @Test
+    void verifyAgainstDatabase_ArchivedConfirmations_ShouldNotCountAsDrift() {
+        // Arrange: 3 units still active, 5 already moved to reservation_history
+        service.handleReservationEvent(new ReservationConfirmedEvent(1L, "SKU1", "STORE1", 5));
+        service.handleReservationEvent(new ReservationCreatedEvent(1L, "SKU1", "STORE1", 5));
+        service.handleReservationEvent(new ReservationConfirmedEvent(2L, "SKU1", "STORE1", 3));
+        service.handleReservationEvent(new ReservationCreatedEvent(2L, "SKU1", "STORE1", 3));
+        when(reservationRepository.sumQuantitiesByStoreAndSku(any())).thenReturn(List.of(
+                totals("STORE1", "SKU1", ReservationStatus.CONFIRMED, 3)));
+        when(historyRepository.sumQuantitiesByStoreAndSku(any())).thenReturn(List.of(
+                totals("STORE1", "SKU1", ReservationStatus.CONFIRMED, 5)));
+
+        // Act & Assert
+        assertEquals(0, service.verifyAgainstDatabase());
+        assertEquals(8, service.getByStore("STORE1").get(0).getConfirmedQuantity());
+    }
+
+    private static StoreReservationTotals totals(String storeId, String sku, ReservationStatus status, long quantity) {
+        return new StoreReservationTotals() {
+            public String getStoreId() { return storeId; }
+            public String getSku() { return sku; }
+            public ReservationStatus getStatus() { return status; }
+            public Long getQuantity() { return quantity; }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.meli.inventory.query.service;
+
+import com.meli.inventory.events.StoreStockUpdatedEvent;
+import com.meli.inventory.query.model.InventoryView;
+import com.meli.inventory.query.model.StoreStockView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StoreStockQueryServiceTest {
+
+    @Mock
+    private ReadModelLoader readModelLoader;
+
+    @Mock
+    private InventoryQueryService inventoryQueryService;
+
+    private StoreStockQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StoreStockQueryService(readModelLoader, inventoryQueryService);
+    }
+
+    @Test
+    void getBySku_ShouldSplitAggregatedQuantityAcrossStores() {
+        // Arrange
+        when(inventoryQueryService.getBySku("SKU1"))
+                .thenReturn(new InventoryView("SKU1", "Item", 30, LocalDateTime.now()));
+        service.handleStoreStockUpdated(event("STORE1", 10, 1L));
+        service.handleStoreStockUpdated(event("STORE2", 5, 2L));
+
+        // Act
+        StoreStockView view = service.getBySku("SKU1");
+
+        // Assert
+        assertEquals(30, view.getTotalQuantity());
+        assertEquals(15, view.getUnallocatedQuantity());
+        assertEquals(Map.of("STORE1", 10, "STORE2", 5), view.getStores());
+    }
+
+    @Test
+    void handleStoreStockUpdated_OutOfOrder_ShouldKeepNewestSequence() {
+        // Arrange
+        when(inventoryQueryService.getBySku("SKU1"))
+                .thenReturn(new InventoryView("SKU1", "Item", 10, LocalDateTime.now()));
+
+        // Act
+        service.handleStoreStockUpdated(event("STORE1", 4, 7L));
+        service.handleStoreStockUpdated(event("STORE1", 9, 3L));
+
+        // Assert
+        assertEquals(4, service.getBySku("SKU1").getStores().get("STORE1"));
+    }
+
+    @Test
+    void getBySku_UnknownSku_ShouldReturnNull() {
+        assertNull(service.getBySku("UNKNOWN"));
+    }
+
+    private StoreStockUpdatedEvent event(String storeId, int quantity, long sequence) {
+        StoreStockUpdatedEvent event = mock(StoreStockUpdatedEvent.class);
+        when(event.getSku()).thenReturn("SKU1");
+        when(event.getStoreId()).thenReturn(storeId);
+        when(event.getNewQuantity()).thenReturn(quantity);
+        when(event.getSequence()).thenReturn(sequence);
+        return event;
+    }
+}
@@ -0,0 +1,93 @@
+package com.meli.inventory.query.snapshot;
+
+import com.meli.inventory.query.model.InventoryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadModelSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotFile;
+    private ReadModelSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = tempDir.resolve("read-model.snapshot");
+        store = new ReadModelSnapshotStore(true, snapshotFile.toString());
+    }
+
+    @Test
+    void writeThenRead_ShouldRoundTripViewsAndSequence() throws Exception {
+        // Arrange
+        LocalDateTime updated = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant takenAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<InventoryView> views = List.of(
+                new InventoryView("SKU1", "Demo Product", 50, updated),
+                new InventoryView("SKU-ñ", null, 0, null));
+
+        // Act
+        store.write(views, 123L, takenAt);
+        Optional<ReadModelSnapshot> snapshot = store.read();
+
+        // Assert
+        assertTrue(snapshot.isPresent());
+        assertEquals(123L, snapshot.get().lastSequence());
+        assertEquals(takenAt, snapshot.get().takenAt());
+        assertEquals(views, snapshot.get().views());
+    }
+
+    @Test
+    void read_WhenFileIsCorrupted_ShouldReturnEmpty() throws Exception {
+        store.write(List.of(new InventoryView("SKU1", "Demo Product", 50, LocalDateTime.now())), 1L, Instant.now());
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(snapshotFile, bytes);
+
+        assertTrue(store.read().isEmpty());
+    }
+
+    @Test
+    void read_WhenFileIsTruncated_ShouldReturnEmpty() throws Exception {
+        store.write(List.of(new InventoryView("SKU1", "Demo Product", 50, LocalDateTime.now())), 1L, Instant.now());
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        Files.write(snapshotFile, Arrays.copyOf(bytes, 10));
+
+        assertTrue(store.read().isEmpty());
+    }
+
+    @Test
+    void read_WhenFormatVersionIsUnknown_ShouldReturnEmpty() throws Exception {
+        store.write(List.of(), 1L, Instant.now());
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        ByteBuffer.wrap(bytes).putShort(Integer.BYTES, (short) 99);
+        // Keep the checksum valid so only the version check can reject it
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Integer.BYTES);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - Integer.BYTES, (int) crc.getValue());
+        Files.write(snapshotFile, bytes);
+
+        assertTrue(store.read().isEmpty());
+    }
+
+    @Test
+    void read_WhenDisabledOrMissing_ShouldReturnEmpty() {
+        assertTrue(store.read().isEmpty());
+        assertTrue(new ReadModelSnapshotStore(false, snapshotFile.toString()).read().isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package com.meli.inventory.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimpleAuthFilterTest {
+
+    private final ConfiguredCredentialStore store = new ConfiguredCredentialStore("admin:admin123,ops:s3cr:et");
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final SimpleAuthFilter filter = new SimpleAuthFilter((username, password) -> {
+        verifications.incrementAndGet();
+        return store.verify(username, password);
+    }, new SimpleMeterRegistry(), 100, 60_000);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static String basic(String credentials) {
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse call(String path, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void validCredentialsShouldBeVerifiedOnceAndThenServedFromCache() throws Exception {
+        // Act
+        MockHttpServletResponse first = call("/api/v1/inventory", basic("admin:admin123"));
+        MockHttpServletResponse second = call("/api/v1/inventory", basic("admin:admin123"));
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(1, verifications.get());
+        assertEquals("admin", SecurityContextHolder.getContext().getAuthentication().getName());
+        assertTrue(SecurityContextHolder.getContext().getAuthentication().isAuthenticated());
+    }
+
+    @Test
+    void invalidCredentialsShouldBeRejectedEveryTimeWithoutBeingCached() throws Exception {
+        // Act
+        MockHttpServletResponse wrongPassword = call("/api/v1/inventory", basic("admin:wrong"));
+        MockHttpServletResponse again = call("/api/v1/inventory", basic("admin:wrong"));
+        MockHttpServletResponse unknownUser = call("/api/v1/inventory", basic("nobody:admin123"));
+        MockHttpServletResponse notBase64 = call("/api/v1/inventory", "Basic %%%");
+        MockHttpServletResponse missing = call("/api/v1/inventory", null);
+
+        // Assert
+        assertEquals(401, wrongPassword.getStatus());
+        assertEquals(401, again.getStatus());
+        assertEquals(401, unknownUser.getStatus());
+        assertEquals(401, notBase64.getStatus());
+        assertEquals(401, missing.getStatus());
+        assertEquals("Unauthorized", missing.getContentAsString());
+        assertEquals(3, verifications.get());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void publicPathsShouldSkipAuthentication() throws Exception {
+        // Act & Assert
+        assertEquals(200, call("/actuator/health", null).getStatus());
+        assertEquals(200, call("/swagger-ui/index.html", null).getStatus());
+        assertEquals(401, call("/actuatorish", null).getStatus());
+        assertEquals(0, verifications.get());
+    }
+
+    @Test
+    void credentialStoreShouldSplitPasswordAtFirstColonOnly() {
+        // Act & Assert
+        assertEquals(Optional.of("ops"), store.verify("ops", "s3cr:et".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(Optional.empty(), store.verify("ops", "s3cr".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(Optional.empty(), store.verify("nobody", new byte[0]));
+    }
+}